@@ -0,0 +1,105 @@
+/*
+* Copyright 2024 original authors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.grails.gradle
+
+import groovy.json.JsonSlurper
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.Internal
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Task that compares the JSON results of a JMH run with a baseline produced by an earlier run and fails
+ * if the score of any benchmark present in both regressed by more than the configured threshold.
+ *
+ * @since 7.0.0
+ */
+abstract class JmhBaselineComparisonTask extends DefaultTask {
+
+    /**
+     * The JMH results in JSON format
+     */
+    @InputFile
+    abstract RegularFileProperty getResults()
+
+    /**
+     * The baseline results in JSON format. The comparison is skipped if the file doesn't exist
+     */
+    @Internal
+    abstract RegularFileProperty getBaseline()
+
+    /**
+     * The maximum allowed regression as a fraction, e.g. 0.10 for 10%
+     */
+    @Input
+    abstract Property<Double> getThreshold()
+
+    @TaskAction
+    void compare() {
+        File baselineFile = baseline.get().asFile
+        if (!baselineFile.exists()) {
+            logger.lifecycle("No JMH baseline found at ${baselineFile}, skipping comparison")
+            return
+        }
+
+        Map<String, Map> current = readResults(results.get().asFile)
+        Map<String, Map> previous = readResults(baselineFile)
+        double allowed = threshold.get()
+
+        List<String> regressions = []
+        current.each { String key, Map result ->
+            Map base = previous[key]
+            if (base == null) {
+                return
+            }
+            double score = result.score as double
+            double baseScore = base.score as double
+            if (baseScore == 0d) {
+                return
+            }
+            // throughput modes report operations per time unit, all other modes report time per operation
+            boolean higherIsBetter = result.mode == 'thrpt'
+            double change = higherIsBetter ? (baseScore - score) / baseScore : (score - baseScore) / baseScore
+            String line = String.format('%s: %.3f -> %.3f %s (%+.1f%%)', key, baseScore, score, result.unit, -change * 100)
+            if (change > allowed) {
+                regressions << line
+            }
+            else {
+                logger.lifecycle(line)
+            }
+        }
+
+        if (regressions) {
+            throw new GradleException("The following benchmarks regressed by more than ${(allowed * 100) as int}%:\n  ${regressions.join('\n  ')}")
+        }
+    }
+
+    private static Map<String, Map> readResults(File file) {
+        Map<String, Map> results = [:]
+        for (Object entry in (List) new JsonSlurper().parse(file)) {
+            Map run = (Map) entry
+            Map params = (Map) run.params ?: [:]
+            String key = run.benchmark.toString() + (params ? params.sort().toString() : '')
+            Map metric = (Map) run.primaryMetric
+            results[key] = [score: metric.score, unit: metric.scoreUnit, mode: run.mode]
+        }
+        return results
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import grails.web.mime.MimeType
+import groovy.transform.CompileStatic
+import org.grails.web.mime.DefaultAcceptHeaderParser
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks parsing typical browser and API client Accept headers with {@link DefaultAcceptHeaderParser}
+ *
+ * @since 7.0
+ */
+@CompileStatic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+class AcceptHeaderParserBenchmark {
+
+    static final Map<String, String> HEADERS = [
+            browser: 'text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8',
+            api    : 'application/json',
+            xml    : 'text/xml, application/xml;q=0.9, application/hal+xml;q=0.9, */*;q=0.1'
+    ]
+
+    @Param(['browser', 'api', 'xml'])
+    public String client
+
+    DefaultAcceptHeaderParser parser
+    String header
+
+    @Setup
+    void setup() {
+        parser = new DefaultAcceptHeaderParser([
+                MimeType.ALL, MimeType.FORM, MimeType.MULTIPART_FORM, MimeType.HTML, MimeType.XHTML, MimeType.XML,
+                MimeType.JSON, MimeType.TEXT_XML, MimeType.TEXT_JSON, MimeType.HAL_JSON,
+                new MimeType('application/hal+xml', 'xml')
+        ] as MimeType[])
+        header = HEADERS[client]
+    }
+
+    @Benchmark
+    MimeType[] parse() {
+        parser.parse(header)
+    }
+}
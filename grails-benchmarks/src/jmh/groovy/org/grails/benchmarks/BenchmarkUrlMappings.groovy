@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import grails.web.mapping.UrlMappings
+import grails.web.mapping.UrlMappingsFactory
+import groovy.transform.CompileStatic
+
+/**
+ * Creates synthetic URL mappings for benchmarks
+ *
+ * @since 7.0
+ */
+class BenchmarkUrlMappings {
+
+    /**
+     * Creates a holder with the given number of controller mappings, each mapping has a collection, a show and an edit URI.
+     * A default convention based mapping is appended last
+     *
+     * @param count The number of controllers to map
+     * @return The holder
+     */
+    @CompileStatic
+    static UrlMappings create(int count) {
+        new UrlMappingsFactory().create(mappings(count))
+    }
+
+    static Closure mappings(int count) {
+        return {
+            for (int i = 0; i < count; i++) {
+                String controllerName = "resource$i"
+                "/api/$controllerName"(controller: controllerName, action: 'index', method: 'GET')
+                "/api/$controllerName"(controller: controllerName, action: 'save', method: 'POST')
+                "/api/$controllerName/$id"(controller: controllerName, action: 'show')
+                "/api/$controllerName/$id/edit"(controller: controllerName, action: 'edit')
+            }
+            "/$controller/$action?/$id?(.$format)?"()
+            "/"(view: '/index')
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import grails.databinding.SimpleDataBinder
+import grails.databinding.SimpleMapDataBindingSource
+import groovy.transform.CompileStatic
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks binding maps to objects with {@link SimpleDataBinder}
+ *
+ * @since 7.0
+ */
+@CompileStatic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+class DataBinderBenchmark {
+
+    @Param(['1', '100'])
+    public int addressCount
+
+    SimpleDataBinder binder = new SimpleDataBinder()
+    Map<String, Object> source
+
+    @Setup
+    void setup() {
+        List<Map<String, Object>> addresses = []
+        for (int i = 0; i < addressCount; i++) {
+            addresses << ([street: "Street $i".toString(), city: 'St. Louis', zip: '63101'] as Map<String, Object>)
+        }
+        source = [firstName: 'Jeff', lastName: 'Brown', age: '42', active: 'true', addresses: addresses] as Map<String, Object>
+    }
+
+    @Benchmark
+    BenchmarkPerson bind() {
+        BenchmarkPerson person = new BenchmarkPerson()
+        binder.bind(person, new SimpleMapDataBindingSource(source))
+        person
+    }
+}
+
+@CompileStatic
+class BenchmarkPerson {
+    String firstName
+    String lastName
+    Integer age
+    boolean active
+    List<BenchmarkAddress> addresses
+}
+
+@CompileStatic
+class BenchmarkAddress {
+    String street
+    String city
+    String zip
+}
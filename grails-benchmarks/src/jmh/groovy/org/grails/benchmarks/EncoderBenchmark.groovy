@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import groovy.transform.CompileStatic
+import org.grails.encoder.StreamingEncoder
+import org.grails.encoder.impl.BasicJSONEncoder
+import org.grails.encoder.impl.HTMLEncoder
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks the character replacement encoders on mostly safe and on escape heavy input
+ *
+ * @since 7.0
+ */
+@CompileStatic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+class EncoderBenchmark {
+
+    @Param(['plain', 'markup'])
+    public String input
+
+    StreamingEncoder htmlEncoder = new HTMLEncoder()
+    StreamingEncoder jsonEncoder = new BasicJSONEncoder()
+    String text
+
+    @Setup
+    void setup() {
+        String fragment = input == 'markup' ? '<a href="/books?id=1&sort=\'title\'">"Book" \\ title</a>\n' : 'The quick brown fox jumps over the lazy dog. '
+        text = fragment * 50
+    }
+
+    @Benchmark
+    Object encodeHtml() {
+        htmlEncoder.encode(text)
+    }
+
+    @Benchmark
+    Object encodeJson() {
+        jsonEncoder.encode(text)
+    }
+
+    @Benchmark
+    Writer encodeHtmlToWriter() {
+        StringWriter writer = new StringWriter(text.length() * 2)
+        ((HTMLEncoder) htmlEncoder).encodeToWriter(text, 0, text.length(), writer, null)
+        writer
+    }
+}
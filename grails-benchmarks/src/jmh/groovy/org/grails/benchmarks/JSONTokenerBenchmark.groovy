@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import groovy.transform.CompileStatic
+import org.grails.web.json.JSONTokener
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks parsing JSON documents with {@link JSONTokener}
+ *
+ * @since 7.0
+ */
+@CompileStatic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+class JSONTokenerBenchmark {
+
+    @Param(['1', '1000'])
+    public int elements
+
+    String json
+
+    @Setup
+    void setup() {
+        StringBuilder builder = new StringBuilder('[')
+        for (int i = 0; i < elements; i++) {
+            if (i > 0) {
+                builder.append(',')
+            }
+            builder.append('{"id":').append(i)
+                   .append(',"title":"The Stand \\u00e9","price":12.5,"tags":["horror","fiction"],"author":{"name":"Stephen King","alive":true}}')
+        }
+        json = builder.append(']').toString()
+    }
+
+    @Benchmark
+    Object nextValue() {
+        new JSONTokener(json).nextValue()
+    }
+}
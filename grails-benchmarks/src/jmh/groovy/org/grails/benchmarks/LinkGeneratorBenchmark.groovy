@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import grails.web.mapping.UrlMappingsHolder
+import groovy.transform.CompileStatic
+import org.grails.web.mapping.CachingLinkGenerator
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks link generation with {@link CachingLinkGenerator}
+ *
+ * @since 7.0
+ */
+@CompileStatic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+class LinkGeneratorBenchmark {
+
+    @Param(['100'])
+    public int mappingCount
+
+    CachingLinkGenerator linkGenerator
+    long counter
+
+    @Setup
+    void setup() {
+        linkGenerator = new CachingLinkGenerator('http://localhost', null)
+        linkGenerator.urlMappingsHolder = (UrlMappingsHolder) BenchmarkUrlMappings.create(mappingCount)
+    }
+
+    @Benchmark
+    String linkCached() {
+        linkGenerator.link(controller: 'resource1', action: 'show', id: 1, params: [sort: 'name', order: 'asc'])
+    }
+
+    @Benchmark
+    String linkUncached() {
+        linkGenerator.link(controller: 'resource1', action: 'show', id: counter++, params: [sort: 'name', order: 'asc'])
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import groovy.transform.CompileStatic
+import org.grails.buffer.StreamCharBuffer
+import org.grails.encoder.DefaultEncodingStateRegistry
+import org.grails.encoder.StreamingEncoderWriter
+import org.grails.encoder.impl.HTMLEncoder
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks writing to, encoding into and writing out of a {@link StreamCharBuffer}
+ *
+ * @since 7.0
+ */
+@CompileStatic
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+class StreamCharBufferBenchmark {
+
+    @Param(['100', '10000'])
+    public int writes
+
+    String fragment = '<div class="item">Some text & more text</div>'
+    StreamCharBuffer filled
+
+    @Setup
+    void setup() {
+        filled = write(new StreamCharBuffer())
+    }
+
+    @Benchmark
+    StreamCharBuffer write() {
+        write(new StreamCharBuffer())
+    }
+
+    @Benchmark
+    StreamCharBuffer writeEncoded() {
+        StreamCharBuffer buffer = new StreamCharBuffer()
+        Writer writer = new StreamingEncoderWriter(buffer.writer, new HTMLEncoder(), new DefaultEncodingStateRegistry())
+        for (int i = 0; i < writes; i++) {
+            writer.write(fragment)
+        }
+        buffer
+    }
+
+    @Benchmark
+    Writer writeTo() {
+        filled.writeTo(new StringWriter(filled.size()))
+    }
+
+    @Benchmark
+    String readToString() {
+        filled.toString()
+    }
+
+    private StreamCharBuffer write(StreamCharBuffer buffer) {
+        Writer writer = buffer.writer
+        for (int i = 0; i < writes; i++) {
+            writer.write(fragment)
+        }
+        buffer
+    }
+}
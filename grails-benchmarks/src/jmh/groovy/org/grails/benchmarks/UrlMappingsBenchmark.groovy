@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.benchmarks
+
+import grails.web.mapping.UrlCreator
+import grails.web.mapping.UrlMapping
+import grails.web.mapping.UrlMappingInfo
+import grails.web.mapping.UrlMappings
+import groovy.transform.CompileStatic
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmarks forward and reverse URL mapping lookups of {@link org.grails.web.mapping.DefaultUrlMappingsHolder}
+ *
+ * @since 7.0
+ */
+@CompileStatic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+class UrlMappingsBenchmark {
+
+    @Param(['10', '100', '1000', '5000'])
+    public int mappingCount
+
+    UrlMappings urlMappings
+    String cachedUri
+    long counter
+
+    @Setup
+    void setup() {
+        urlMappings = BenchmarkUrlMappings.create(mappingCount)
+        cachedUri = "/api/resource${mappingCount - 1}/1"
+    }
+
+    @Benchmark
+    UrlMappingInfo[] matchAllCached() {
+        urlMappings.matchAll(cachedUri, 'GET', UrlMapping.ANY_VERSION)
+    }
+
+    @Benchmark
+    UrlMappingInfo[] matchAllUncached() {
+        // a distinct id for every invocation defeats the match cache
+        urlMappings.matchAll("/api/resource${mappingCount - 1}/${counter++}".toString(), 'GET', UrlMapping.ANY_VERSION)
+    }
+
+    @Benchmark
+    UrlMappingInfo[] matchAllUnmapped() {
+        urlMappings.matchAll("/unmapped/path/${counter++}".toString(), 'GET', UrlMapping.ANY_VERSION)
+    }
+
+    @Benchmark
+    UrlCreator getReverseMapping() {
+        urlMappings.getReverseMapping("resource${mappingCount - 1}".toString(), 'show', [id: 1])
+    }
+}
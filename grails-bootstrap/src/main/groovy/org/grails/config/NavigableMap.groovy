@@ -111,24 +111,38 @@ class NavigableMap implements Map<String, Object>, Cloneable {
 
     @Override
     Object put(String key, Object value) {
+        rootConfig.modified()
         delegateMap.put(key, value)
     }
 
     @Override
     Object remove(Object key) {
+        rootConfig.modified()
         delegateMap.remove key
     }
 
     @Override
     void putAll(Map<? extends String, ? extends Object> m) {
+        rootConfig.modified()
         delegateMap.putAll m
     }
 
     @Override
     void clear() {
+        rootConfig.modified()
         delegateMap.clear()
     }
 
+    /**
+     * Called on the root map whenever it or one of its nested maps is modified, and once after each merge. Must be cheap,
+     * since it is called for every entry that is put.
+     *
+     * @since 7.0
+     */
+    protected void modified() {
+        // no-op
+    }
+
     @Override
     Set<String> keySet() {
         delegateMap.keySet()
@@ -146,6 +160,8 @@ class NavigableMap implements Map<String, Object>, Cloneable {
 
     public void merge(Map sourceMap, boolean parseFlatKeys=false) {
         mergeMaps(this, "", this, sourceMap, parseFlatKeys)
+        // values of lists and plain nested maps are merged without going through put()
+        rootConfig.modified()
     }
 
     private void mergeMaps(NavigableMap rootMap,
@@ -364,6 +380,7 @@ class NavigableMap implements Map<String, Object>, Cloneable {
     
     public void setProperty(String name, Object value) {
         mergeMapEntry(rootConfig, dottedPath, this, name, value, false, true)
+        rootConfig.modified()
     }
     
     public Object navigate(String... path) {
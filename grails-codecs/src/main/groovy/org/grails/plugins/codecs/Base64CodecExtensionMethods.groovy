@@ -37,6 +37,22 @@ class Base64CodecExtensionMethods {
         return new String(Base64.encodeBase64(theTarget.toString().getBytes("UTF-8")))
     }
 
+    // Writes the encoding of the content of streams, files and buffers to the writer in chunks
+    static Writer encodeAsBase64Content(theTarget, Writer out) {
+        if (theTarget != null && !(theTarget instanceof NullObject)) {
+            CodecStreamUtils.withInputStream(theTarget) { InputStream input -> CodecStreamUtils.encodeBase64(input, out) }
+        }
+        return out
+    }
+
+    // Writes the encoding of the content of streams, files and buffers to the stream in chunks
+    static OutputStream encodeAsBase64Content(theTarget, OutputStream out) {
+        if (theTarget != null && !(theTarget instanceof NullObject)) {
+            CodecStreamUtils.withInputStream(theTarget) { InputStream input -> CodecStreamUtils.encodeBase64(input, out) }
+        }
+        return out
+    }
+
     static decodeBase64(theTarget) {
         if (theTarget == null || theTarget instanceof NullObject) {
             return null
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.plugins.codecs
+
+import groovy.transform.CompileStatic
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Writes the Base64 and hex encoding of data to a Writer or OutputStream in chunks, so that the encoding of large
+ * streams and files doesn't have to be held in memory.
+ *
+ * @since 7.0
+ */
+@CompileStatic
+abstract class CodecStreamUtils {
+
+    // a multiple of 3, so that only the last chunk is padded
+    static final int BASE64_CHUNK_SIZE = 3 * 2730
+
+    private static final char[] HEX_DIGITS = '0123456789abcdef'.toCharArray()
+
+    /**
+     * Calls the closure with a stream of the bytes of the target. Streams are read as they are and aren't closed,
+     * files are read incrementally, lists and arrays are coerced to bytes and other objects are encoded with UTF-8.
+     */
+    static <T> T withInputStream(Object target, Closure<T> closure) {
+        if (target instanceof InputStream) {
+            return closure.call((InputStream) target)
+        }
+        if (target instanceof File || target instanceof Path) {
+            Path path = target instanceof File ? ((File) target).toPath() : (Path) target
+            return Files.newInputStream(path).withCloseable(closure)
+        }
+        byte[] bytes
+        if (target instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) target).duplicate()
+            bytes = new byte[buffer.remaining()]
+            buffer.get(bytes)
+        }
+        else if (target instanceof Collection || target.getClass().isArray()) {
+            bytes = DigestUtils.toBytes(target)
+        }
+        else {
+            bytes = target.toString().getBytes(StandardCharsets.UTF_8)
+        }
+        return closure.call(new ByteArrayInputStream(bytes))
+    }
+
+    static void encodeBase64(InputStream input, Writer out) {
+        encodeBase64Chunks(input) { byte[] encoded, int length ->
+            out.write(new String(encoded, 0, length, StandardCharsets.US_ASCII))
+        }
+    }
+
+    static void encodeBase64(InputStream input, OutputStream out) {
+        encodeBase64Chunks(input) { byte[] encoded, int length ->
+            out.write(encoded, 0, length)
+        }
+    }
+
+    private static void encodeBase64Chunks(InputStream input, Closure<?> sink) {
+        Base64.Encoder encoder = Base64.getEncoder()
+        byte[] buffer = new byte[BASE64_CHUNK_SIZE]
+        byte[] encoded = new byte[BASE64_CHUNK_SIZE.intdiv(3) * 4]
+        int length
+        while ((length = fill(input, buffer)) > 0) {
+            byte[] chunk = length == buffer.length ? buffer : Arrays.copyOf(buffer, length)
+            sink.call(encoded, encoder.encode(chunk, encoded))
+        }
+    }
+
+    static void encodeHex(InputStream input, Writer out) {
+        byte[] buffer = new byte[DigestUtils.BUFFER_SIZE]
+        char[] chars = new char[buffer.length * 2]
+        int length
+        while ((length = input.read(buffer)) != -1) {
+            out.write(chars, 0, encodeHexChars(buffer, length, chars))
+        }
+    }
+
+    static void encodeHex(InputStream input, OutputStream out) {
+        byte[] buffer = new byte[DigestUtils.BUFFER_SIZE]
+        char[] chars = new char[buffer.length * 2]
+        byte[] encoded = new byte[chars.length]
+        int length
+        while ((length = input.read(buffer)) != -1) {
+            int count = encodeHexChars(buffer, length, chars)
+            for (int i = 0; i < count; i++) {
+                encoded[i] = (byte) chars[i]
+            }
+            out.write(encoded, 0, count)
+        }
+    }
+
+    /**
+     * @return The lower case hex encoding of the bytes
+     */
+    static String encodeHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2]
+        return new String(chars, 0, encodeHexChars(bytes, bytes.length, chars))
+    }
+
+    private static int encodeHexChars(byte[] bytes, int length, char[] chars) {
+        int j = 0
+        for (int i = 0; i < length; i++) {
+            int b = bytes[i]
+            chars[j++] = HEX_DIGITS[(b & 0xF0) >> 4]
+            chars[j++] = HEX_DIGITS[b & 0x0F]
+        }
+        return j
+    }
+
+    /**
+     * Reads until the buffer is full or the end of the stream is reached
+     *
+     * @return The number of bytes read
+     */
+    private static int fill(InputStream input, byte[] buffer) {
+        int total = 0
+        int read
+        while (total < buffer.length && (read = input.read(buffer, total, buffer.length - total)) != -1) {
+            total += read
+        }
+        return total
+    }
+}
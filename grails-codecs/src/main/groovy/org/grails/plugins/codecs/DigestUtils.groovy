@@ -15,29 +15,139 @@
  */
 package org.grails.plugins.codecs
 
+import groovy.transform.CompileStatic
+
+import java.lang.reflect.Array
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
 import java.security.MessageDigest
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentMap
 
+@CompileStatic
 abstract class DigestUtils {
 
+    static final int BUFFER_SIZE = 8192
+
+    // MessageDigest instances aren't thread safe but are expensive to look up, so each thread reuses its own
+    private static final ConcurrentMap<String, ThreadLocal<MessageDigest>> DIGESTS = new ConcurrentHashMap<>()
+
+    /**
+     * @return A reset MessageDigest for the given algorithm that may only be used by the current thread
+     */
+    static MessageDigest getDigest(String algorithm) {
+        ThreadLocal<MessageDigest> digests = DIGESTS.get(algorithm)
+        if (digests == null) {
+            // fail for unknown algorithms before a ThreadLocal is registered for them
+            MessageDigest.getInstance(algorithm)
+            digests = DIGESTS.computeIfAbsent(algorithm) { String name ->
+                ThreadLocal.withInitial { MessageDigest.getInstance(name) }
+            }
+        }
+        MessageDigest md = digests.get()
+        md.reset()
+        return md
+    }
+
     // Digest byte[], any list/array or string into a byte[]
-    static digest(String algorithm, data) {
+    static byte[] digest(String algorithm, Object data) {
         if (data == null) {
             return null
         }
+        if (data instanceof byte[]) {
+            return digest(algorithm, (byte[]) data)
+        }
+        if (data instanceof Collection || data.getClass().isArray()) {
+            return digest(algorithm, toBytes(data))
+        }
+        // This probably needs to use the thread's Locale encoding
+        return digest(algorithm, data.toString().getBytes(StandardCharsets.UTF_8))
+    }
 
-        def md = MessageDigest.getInstance(algorithm)
-        def src
-        if (data instanceof Byte[] || data instanceof byte[]) {
-            src = data
+    /**
+     * Digests the contents of streams, files, paths and buffers, other data like {@link #digest(String, Object)}
+     */
+    static byte[] digestContent(String algorithm, Object data) {
+        if (data instanceof InputStream) {
+            return digest(algorithm, (InputStream) data)
+        }
+        if (data instanceof File) {
+            return digest(algorithm, (File) data)
+        }
+        if (data instanceof Path) {
+            return digest(algorithm, (Path) data)
         }
-        else if (data instanceof List || data.getClass().isArray()) {
-            src = new byte[data.size()]
-            data.eachWithIndex { v, i -> src[i] = v }
+        if (data instanceof ByteBuffer) {
+            return digest(algorithm, (ByteBuffer) data)
+        }
+        return digest(algorithm, data)
+    }
+
+    static byte[] digest(String algorithm, byte[] data) {
+        getDigest(algorithm).digest(data)
+    }
+
+    /**
+     * Digests the remaining bytes of the stream, which isn't closed
+     */
+    static byte[] digest(String algorithm, InputStream data) {
+        MessageDigest md = getDigest(algorithm)
+        byte[] buffer = new byte[BUFFER_SIZE]
+        int read
+        while ((read = data.read(buffer)) != -1) {
+            md.update(buffer, 0, read)
         }
-        else {
-            src = data.toString().getBytes("UTF-8")
+        return md.digest()
+    }
+
+    /**
+     * Digests the contents of the file
+     */
+    static byte[] digest(String algorithm, File data) {
+        digest(algorithm, data.toPath())
+    }
+
+    /**
+     * Digests the contents of the file
+     */
+    static byte[] digest(String algorithm, Path data) {
+        Files.newInputStream(data).withCloseable { InputStream input ->
+            digest(algorithm, input)
         }
-        md.update(src) // This probably needs to use the thread's Locale encoding
+    }
+
+    /**
+     * Digests the remaining bytes of the buffer without changing its position
+     */
+    static byte[] digest(String algorithm, ByteBuffer data) {
+        MessageDigest md = getDigest(algorithm)
+        md.update(data.duplicate())
         return md.digest()
     }
+
+    /**
+     * Coerces the elements of a list or array to bytes
+     */
+    static byte[] toBytes(Object data) {
+        if (data instanceof byte[]) {
+            return (byte[]) data
+        }
+        if (data instanceof Collection) {
+            Collection<?> collection = (Collection<?>) data
+            byte[] bytes = new byte[collection.size()]
+            int i = 0
+            for (Object element in collection) {
+                bytes[i++] = element as byte
+            }
+            return bytes
+        }
+        int length = Array.getLength(data)
+        byte[] bytes = new byte[length]
+        for (int i = 0; i < length; i++) {
+            bytes[i] = Array.get(data, i) as byte
+        }
+        return bytes
+    }
 }
@@ -27,10 +27,14 @@ class HexCodecExtensionMethods {
             return null
         }
 
-        def result = new StringBuilder()
         if (theTarget instanceof String) {
             theTarget = theTarget.getBytes("UTF-8")
         }
+        if (theTarget instanceof byte[]) {
+            return CodecStreamUtils.encodeHex((byte[]) theTarget)
+        }
+
+        def result = new StringBuilder()
         theTarget.each() {
             result << HexCodecExtensionMethods.HEXDIGITS[(it & 0xF0) >> 4]
             result << HexCodecExtensionMethods.HEXDIGITS[it & 0x0F]
@@ -38,6 +42,22 @@ class HexCodecExtensionMethods {
         return result.toString()
     }
 
+    // Writes the encoding of the content of streams, files and buffers to the writer in chunks
+    static Writer encodeAsHexContent(theTarget, Writer out) {
+        if (theTarget != null && !(theTarget instanceof NullObject)) {
+            CodecStreamUtils.withInputStream(theTarget) { InputStream input -> CodecStreamUtils.encodeHex(input, out) }
+        }
+        return out
+    }
+
+    // Writes the encoding of the content of streams, files and buffers to the stream in chunks
+    static OutputStream encodeAsHexContent(theTarget, OutputStream out) {
+        if (theTarget != null && !(theTarget instanceof NullObject)) {
+            CodecStreamUtils.withInputStream(theTarget) { InputStream input -> CodecStreamUtils.encodeHex(input, out) }
+        }
+        return out
+    }
+
     static decodeHex(theTarget) {
         if (!theTarget) return null
 
@@ -15,8 +15,10 @@
  */
 package org.grails.plugins.codecs
 
+import groovy.transform.CompileStatic
 import org.codehaus.groovy.runtime.NullObject
 
+@CompileStatic
 class MD5BytesCodecExtensionMethods {
     // Returns the byte[] of the digest, taken from UTF-8 of the string representation
     // or the raw data coerced to bytes
@@ -27,6 +29,14 @@ class MD5BytesCodecExtensionMethods {
         DigestUtils.digest("MD5", theTarget)
     }
 
+    // Returns the byte[] of the digest of the contents of a stream, file, path or buffer
+    static encodeAsMD5ContentBytes(theTarget) {
+        if(theTarget == null || theTarget instanceof NullObject) {
+            return null
+        }
+        DigestUtils.digestContent("MD5", theTarget)
+    }
+
     static decodeMD5Bytes(theTarget) {
         throw new UnsupportedOperationException("Cannot decode MD5 hashes")
     }
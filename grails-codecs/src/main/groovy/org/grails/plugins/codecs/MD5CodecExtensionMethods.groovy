@@ -22,6 +22,11 @@ class MD5CodecExtensionMethods {
         theTarget.encodeAsMD5Bytes()?.encodeAsHex()
     }
 
+    // Returns the hex encoded digest of the contents of a stream, file, path or buffer
+    static encodeAsMD5Content(theTarget) {
+        theTarget.encodeAsMD5ContentBytes()?.encodeAsHex()
+    }
+
     static decodeMD5(theTarget) {
         throw new UnsupportedOperationException("Cannot decode MD5 hashes")
     }
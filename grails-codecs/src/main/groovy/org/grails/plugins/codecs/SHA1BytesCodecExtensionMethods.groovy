@@ -15,8 +15,10 @@
  */
 package org.grails.plugins.codecs
 
+import groovy.transform.CompileStatic
 import org.codehaus.groovy.runtime.NullObject
 
+@CompileStatic
 class SHA1BytesCodecExtensionMethods {
     // Returns the byte[] of the digest
     static encodeAsSHA1Bytes(theTarget) {
@@ -26,6 +28,14 @@ class SHA1BytesCodecExtensionMethods {
         DigestUtils.digest("SHA-1", theTarget)
     }
 
+    // Returns the byte[] of the digest of the contents of a stream, file, path or buffer
+    static encodeAsSHA1ContentBytes(theTarget) {
+        if(theTarget == null || theTarget instanceof NullObject) {
+            return null
+        }
+        DigestUtils.digestContent("SHA-1", theTarget)
+    }
+
     static decodeSHA1Bytes(theTarget) {
         throw new UnsupportedOperationException("Cannot decode SHA-1 hashes")
     }
@@ -26,6 +26,14 @@ class SHA1CodecExtensionMethods {
         theTarget.encodeAsSHA1Bytes().encodeAsHex()
     }
 
+    // Returns the hex encoded digest of the contents of a stream, file, path or buffer
+    static encodeAsSHA1Content(theTarget) {
+        if(theTarget == null || theTarget instanceof NullObject) {
+            return null
+        }
+        theTarget.encodeAsSHA1ContentBytes()?.encodeAsHex()
+    }
+
     static decodeSHA1(theTarget) {
         throw new UnsupportedOperationException("Cannot decode SHA-1 hashes")
     }
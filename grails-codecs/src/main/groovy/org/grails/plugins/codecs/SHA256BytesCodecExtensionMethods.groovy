@@ -15,8 +15,10 @@
  */
 package org.grails.plugins.codecs
 
+import groovy.transform.CompileStatic
 import org.codehaus.groovy.runtime.NullObject
 
+@CompileStatic
 class SHA256BytesCodecExtensionMethods {
     // Returns the byte[] of the digest
     static encodeAsSHA256Bytes(theTarget) {
@@ -26,6 +28,14 @@ class SHA256BytesCodecExtensionMethods {
         DigestUtils.digest("SHA-256", theTarget)
     }
 
+    // Returns the byte[] of the digest of the contents of a stream, file, path or buffer
+    static encodeAsSHA256ContentBytes(theTarget) {
+        if(theTarget == null || theTarget instanceof NullObject) {
+            return null
+        }
+        DigestUtils.digestContent("SHA-256", theTarget)
+    }
+
     static decodeSHA256Bytes(theTarget) {
         throw new UnsupportedOperationException("Cannot decode SHA-256 hashes")
     }
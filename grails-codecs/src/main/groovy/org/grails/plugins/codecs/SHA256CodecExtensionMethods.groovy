@@ -26,6 +26,14 @@ class SHA256CodecExtensionMethods extends DigestUtils {
         theTarget.encodeAsSHA256Bytes()?.encodeAsHex()
     }
 
+    // Returns the hex encoded digest of the contents of a stream, file, path or buffer
+    static encodeAsSHA256Content(theTarget) {
+        if(theTarget == null || theTarget instanceof NullObject) {
+            return null
+        }
+        theTarget.encodeAsSHA256ContentBytes()?.encodeAsHex()
+    }
+
     static decodeSHA256(theTarget) {
         throw new UnsupportedOperationException("Cannot decode SHA-256 hashes")
     }
@@ -60,4 +60,33 @@ class Base64CodecTests {
         assertEquals "dGVzdA==", "test".encodeAsBase64()
         assertEquals "test", new String("dGVzdA==".decodeBase64())
     }
+
+    @Test
+    void testEncodeContentToWriterAndStream() {
+        byte[] data = new byte[100001]
+        new Random(42).nextBytes(data)
+        String expectedResult = data.encodeAsBase64()
+
+        StringWriter writer = new StringWriter()
+        assertSame(writer, new ByteArrayInputStream(data).encodeAsBase64Content(writer))
+        assertEquals(expectedResult, writer.toString())
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        assertSame(out, data.encodeAsBase64Content(out))
+        assertEquals(expectedResult, out.toString('US-ASCII'))
+
+        assertEquals('SGVsbG8gV29ybGQh', 'Hello World!'.encodeAsBase64Content(new StringWriter()).toString())
+        assertEquals('', null.encodeAsBase64Content(new StringWriter()).toString())
+    }
+
+    @Test
+    void testEncodeFilesByStringRepresentationOrContent() {
+        File file = File.createTempFile('base64', '.txt')
+        file.deleteOnExit()
+        file.text = 'Hello World!'
+
+        assertEquals(file.toString().encodeAsBase64(), file.encodeAsBase64())
+        assertEquals('SGVsbG8gV29ybGQh', file.encodeAsBase64Content(new StringWriter()).toString())
+        assertEquals('SGVsbG8gV29ybGQh', file.toPath().encodeAsBase64Content(new StringWriter()).toString())
+    }
 }
@@ -36,4 +36,33 @@ class HexCodecTests {
         assertIterableEquals([65, 32, 66, 32, 67, 32, 68, 32, 69], [65, 32, 66, 32, 67, 32, 68, 32, 69].encodeAsHex().decodeHex().toList())
         assertIterableEquals([65, 32, 66, 32, 67, 32, 68, 32, 69], 'A B C D E'.encodeAsHex().decodeHex().toList())
     }
+
+    @Test
+    void testEncodeContentToWriterAndStream() {
+        byte[] data = new byte[20000]
+        new Random(42).nextBytes(data)
+        String expectedResult = data.toList().encodeAsHex()
+
+        assertEquals(expectedResult, data.encodeAsHex())
+
+        StringWriter writer = new StringWriter()
+        new ByteArrayInputStream(data).encodeAsHexContent(writer)
+        assertEquals(expectedResult, writer.toString())
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        data.encodeAsHexContent(out)
+        assertEquals(expectedResult, out.toString('US-ASCII'))
+
+        assertEquals('412042204320442045', 'A B C D E'.encodeAsHexContent(new StringWriter()).toString())
+    }
+
+    @Test
+    void testEncodeContentOfFiles() {
+        File file = File.createTempFile('hex', '.txt')
+        file.deleteOnExit()
+        file.text = 'A B C D E'
+
+        assertEquals('412042204320442045', file.encodeAsHexContent(new StringWriter()).toString())
+        assertEquals('412042204320442045', file.toPath().encodeAsHexContent(new StringWriter()).toString())
+    }
 }
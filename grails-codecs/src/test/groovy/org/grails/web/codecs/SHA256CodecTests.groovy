@@ -2,6 +2,8 @@ package org.grails.web.codecs
 
 import org.junit.jupiter.api.Test
 
+import java.nio.ByteBuffer
+
 import static org.junit.jupiter.api.Assertions.*
 
 class SHA256CodecTests {
@@ -28,4 +30,45 @@ class SHA256CodecTests {
             [1,2,3,4,5].decodeSHA256()
         })
     }
+
+    @Test
+    void testEncodeContentOfStreamsFilesAndBuffers() {
+        def expectedResult = '7f83b1657ff1fc53b92dc18148a1d65dfc2d4b1fa3d677284addd200126d9069'
+        byte[] data = 'Hello World!'.getBytes('UTF-8')
+        File file = File.createTempFile('sha256', '.txt')
+        file.deleteOnExit()
+        file.bytes = data
+        ByteBuffer buffer = ByteBuffer.wrap(data)
+
+        assertEquals(expectedResult, new ByteArrayInputStream(data).encodeAsSHA256Content())
+        assertEquals(expectedResult, file.encodeAsSHA256Content())
+        assertEquals(expectedResult, file.toPath().encodeAsSHA256Content())
+        assertEquals(expectedResult, buffer.encodeAsSHA256Content())
+        assertEquals(0, buffer.position())
+        assertEquals(expectedResult, 'Hello World!'.encodeAsSHA256Content())
+        assertArrayEquals(data.encodeAsSHA256Bytes(), file.encodeAsSHA256ContentBytes())
+        assertNull null.encodeAsSHA256Content()
+
+        // the digest of the current thread is reset before it is reused
+        assertEquals(expectedResult, 'Hello World!'.encodeAsSHA256())
+    }
+
+    @Test
+    void testEncodeFilesByStringRepresentation() {
+        File file = File.createTempFile('sha256', '.txt')
+        file.deleteOnExit()
+        file.text = 'Hello World!'
+
+        assertEquals(file.toString().encodeAsSHA256(), file.encodeAsSHA256())
+        assertEquals(file.toPath().toString().encodeAsSHA256(), file.toPath().encodeAsSHA256())
+        assertArrayEquals(file.toString().encodeAsSHA256Bytes(), file.encodeAsSHA256Bytes())
+    }
+
+    @Test
+    void testEncodeContentOfLargeStream() {
+        byte[] data = new byte[100000]
+        new Random(42).nextBytes(data)
+
+        assertEquals(data.encodeAsSHA256(), new ByteArrayInputStream(data).encodeAsSHA256Content())
+    }
 }
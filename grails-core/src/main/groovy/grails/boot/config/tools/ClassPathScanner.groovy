@@ -29,11 +29,15 @@ import org.springframework.core.io.support.ResourcePatternResolver
 import org.springframework.util.ClassUtils
 
 import java.lang.annotation.Annotation
+import java.util.stream.Collectors
+import java.util.stream.Stream
 
 /**
  * Used to scan for classes on the classpath in the most efficient manner possible.
  *
- * WARNING: Classpath scanning can be expensive! Use with care.
+ * WARNING: Classpath scanning can be expensive! Use with care. If the index generated at compile time
+ * ({@link #SCAN_INDEX_LOCATION}) is available, {@link #scanIndex(java.lang.Class, java.util.Collection, groovy.lang.Closure)}
+ * avoids reading class files altogether.
  *
  * @author Graeme Rocher
  * @since 3.1.12
@@ -43,6 +47,18 @@ import java.lang.annotation.Annotation
 class ClassPathScanner {
     private static final List DEFAULT_IGNORED_ROOT_PACKAGES = ['com', 'org', 'net', 'co', 'java', 'javax', 'jakarta', 'groovy']
 
+    /**
+     * The location of the index of annotated classes, relative to the classpath root, that is generated when
+     * compiling a Grails project. Each line maps the name of a class to the comma separated names of its annotations.
+     *
+     * @since 7.0
+     */
+    public static final String SCAN_INDEX_LOCATION = 'META-INF/grails/scan-index'
+
+    /**
+     * The minimum number of class files, below which they are read on the calling thread
+     */
+    private static final int PARALLEL_SCAN_THRESHOLD = 64
 
     /**
      * Scans for classes relative to the given class
@@ -152,6 +168,83 @@ class ClassPathScanner {
         return classes
     }
 
+    /**
+     * Finds classes using the index generated at compile time in the classpath root of the given class, without
+     * reading any class files. Entries for classes that no longer exist are ignored.
+     *
+     * @param applicationClass The class, usually the Application class
+     * @param packageNames The package names to include
+     * @param annotationFilter The filter
+     * @return The classes or null if there is no index for the classpath root of the application class
+     * @since 7.0
+     */
+    Set<Class> scanIndex(Class applicationClass, Collection<String> packageNames, Closure<Boolean> annotationFilter = { String annotation -> annotation.startsWith('grails.') }) {
+        Properties index = loadScanIndex(applicationClass)
+        if (index == null) {
+            return null
+        }
+
+        List<String> packagePrefixes = []
+        boolean includeDefaultPackage = false
+        for (String pkg in packageNames.unique()) {
+            if (pkg == null || ignoredRootPackages().contains(pkg)) {
+                continue
+            }
+            if (pkg == "") {
+                includeDefaultPackage = true
+            }
+            else {
+                packagePrefixes << (pkg + '.')
+            }
+        }
+
+        ClassLoader classLoader = applicationClass.getClassLoader()
+        Set<Class> classes = []
+        for (String className in index.stringPropertyNames()) {
+            boolean included = className.indexOf('.') == -1 ? includeDefaultPackage : packagePrefixes.any { String prefix -> className.startsWith(prefix) }
+            if (!included) {
+                continue
+            }
+            if (index.getProperty(className).tokenize(',').any(annotationFilter)) {
+                try {
+                    classes << classLoader.loadClass(className)
+                }
+                catch (ClassNotFoundException e) {
+                    log.debug("Ignoring class [{}] from the scan index that could not be loaded", className)
+                }
+            }
+        }
+        return classes
+    }
+
+    /**
+     * Loads the index generated at compile time from the classpath root of the given class
+     *
+     * @param applicationClass The class, usually the Application class
+     * @return The index or null if there is none
+     * @since 7.0
+     */
+    protected Properties loadScanIndex(Class applicationClass) {
+        URL indexUrl
+        try {
+            indexUrl = new URL(IOUtils.findRootResource(applicationClass), SCAN_INDEX_LOCATION)
+        }
+        catch (IllegalStateException | MalformedURLException e) {
+            return null
+        }
+        try {
+            Properties index = new Properties()
+            indexUrl.withInputStream { InputStream input ->
+                index.load(input)
+            }
+            return index
+        }
+        catch (IOException e) {
+            // no index, the project wasn't compiled with the Grails compiler extensions
+            return null
+        }
+    }
+
     /**
      * Whether the given resource is excluded
      *
@@ -171,19 +264,29 @@ class ClassPathScanner {
     }
 
     private void scanUsingPattern(ResourcePatternResolver resourcePatternResolver, String pattern, ClassLoader classLoader, Closure<Boolean> annotationFilter, Set<Class> classes) {
-        def resources = resourcePatternResolver.getResources(pattern)
-        for (Resource res in resources) {
-            // ignore closures / inner classes
-            if (!isExcluded(res)) {
-                def reader = new AnnotationMetadataReader(res, classLoader)
-                def metadata = reader.annotationMetadata
-                if (metadata.annotationTypes.any(annotationFilter)) {
-                    classes << classLoader.loadClass(reader.classMetadata.className)
-                }
-            }
+        Resource[] resources = resourcePatternResolver.getResources(pattern)
+        // reading the class files is independent, so larger projects read them in parallel and only load the matches
+        Stream<Resource> stream = Arrays.stream(resources)
+        if (resources.length >= PARALLEL_SCAN_THRESHOLD) {
+            stream = stream.parallel()
+        }
+        List<String> classNames = stream
+                // ignore closures / inner classes
+                .filter { Resource res -> !isExcluded(res) }
+                .map { Resource res -> readClassNameIfMatches(res, classLoader, annotationFilter) }
+                .filter { String className -> className != null }
+                .collect(Collectors.toList())
+        for (String className in classNames) {
+            classes << classLoader.loadClass(className)
         }
     }
 
+    private static String readClassNameIfMatches(Resource res, ClassLoader classLoader, Closure<Boolean> annotationFilter) {
+        def reader = new AnnotationMetadataReader(res, classLoader)
+        def metadata = reader.annotationMetadata
+        return metadata.annotationTypes.any(annotationFilter) ? reader.classMetadata.className : null
+    }
+
 
     @CompileStatic
     @InheritConstructors
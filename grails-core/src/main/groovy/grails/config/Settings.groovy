@@ -153,6 +153,48 @@ interface Settings {
      */
     String WEB_LINK_GENERATOR_USE_CACHE = "grails.web.linkGenerator.useCache"
 
+    /**
+     * The maximum number of links cached by the link generator
+     */
+    String WEB_LINK_GENERATOR_CACHE_MAXIMUM_SIZE = "grails.web.linkGenerator.cache.maximumSize"
+
+    /**
+     * The maximum total length of the links cached by the link generator, takes precedence over the maximum size
+     */
+    String WEB_LINK_GENERATOR_CACHE_MAXIMUM_WEIGHT = "grails.web.linkGenerator.cache.maximumWeight"
+
+    /**
+     * Whether to record the statistics of the link cache, defaults to true if Micrometer is on the classpath
+     */
+    String WEB_LINK_GENERATOR_CACHE_RECORD_STATS = "grails.web.linkGenerator.cache.recordStats"
+
+    /**
+     * Whether to record the duration of the phases of dispatching requests as Micrometer timers
+     */
+    String WEB_DISPATCH_METRICS_ENABLED = "grails.web.dispatch.metrics.enabled"
+
+    /**
+     * Whether actions annotated with {@code @CachedResponse} answer conditional requests and store responses
+     */
+    String WEB_RESPONSE_CACHE_ENABLED = "grails.web.responseCache.enabled"
+
+    /**
+     * The maximum total size in bytes of the response bodies stored for actions annotated with {@code @CachedResponse}
+     */
+    String WEB_RESPONSE_CACHE_MAXIMUM_WEIGHT = "grails.web.responseCache.maximumWeight"
+
+    /**
+     * Whether the request context (the {@code GrailsWebRequest} and the locale) is inherited by threads started while
+     * handling a request, for example virtual threads when {@code spring.threads.virtual.enabled} is set. Defaults to
+     * false, since threads that outlive the request would then access a completed request
+     */
+    String WEB_REQUEST_CONTEXT_INHERITABLE = "grails.web.requestContext.inheritable"
+
+    /**
+     * Whether to bind the connection pools of the data sources to Micrometer, defaults to true if Micrometer is on the classpath
+     */
+    String DATASOURCE_METRICS_ENABLED = "grails.dataSource.metrics.enabled"
+
     /**
      * The path to the Grails servlet. Defaults to '/'
      */
@@ -1,6 +1,7 @@
 package org.grails.compiler.injection
 
 import grails.artefact.Artefact
+import grails.boot.config.tools.ClassPathScanner
 import grails.compiler.ast.ClassInjector
 import grails.core.ArtefactHandler
 import grails.io.IOUtils
@@ -15,8 +16,11 @@ import groovy.xml.MarkupBuilder
 import groovy.xml.StreamingMarkupBuilder
 import org.codehaus.groovy.ast.*
 import org.codehaus.groovy.ast.expr.ConstantExpression
+import org.codehaus.groovy.ast.expr.Expression
+import org.codehaus.groovy.ast.expr.PropertyExpression
 import org.codehaus.groovy.control.CompilationUnit
 import org.codehaus.groovy.control.CompilePhase
+import org.codehaus.groovy.control.Phases
 import org.codehaus.groovy.control.SourceUnit
 import org.codehaus.groovy.transform.ASTTransformation
 import org.codehaus.groovy.transform.GroovyASTTransformation
@@ -25,6 +29,8 @@ import org.grails.io.support.AntPathMatcher
 import org.grails.io.support.GrailsResourceUtils
 import org.grails.io.support.UrlResource
 
+import java.lang.annotation.Retention
+import java.lang.annotation.RetentionPolicy
 import java.lang.reflect.Modifier
 
 /**
@@ -40,6 +46,7 @@ class GlobalGrailsClassInjectorTransformation implements ASTTransformation, Comp
     public static final ClassNode ARTEFACT_HANDLER_CLASS = ClassHelper.make("grails.core.ArtefactHandler")
     public static final ClassNode APPLICATION_CONTEXT_COMMAND_CLASS = ClassHelper.make("grails.dev.commands.ApplicationCommand")
     public static final ClassNode TRAIT_INJECTOR_CLASS = ClassHelper.make("grails.compiler.traits.TraitInjector")
+    private static final ClassNode RETENTION_CLASS_NODE = ClassHelper.make(Retention)
 
     @Override
     void visit(ASTNode[] nodes, SourceUnit source) {
@@ -133,6 +140,8 @@ class GlobalGrailsClassInjectorTransformation implements ASTTransformation, Comp
             }
         }
 
+        addScanIndexEntries(classes, compilationTargetDirectory)
+
         // now create or update grails-plugin.xml
         // first check if plugin.xml exists
         pluginXmlFile.parentFile.mkdirs()
@@ -182,6 +191,119 @@ class GlobalGrailsClassInjectorTransformation implements ASTTransformation, Comp
         return false
     }
 
+    /**
+     * Collects the index entries of the given classes. The index is written once all source units of the compilation
+     * have been transformed, since it would otherwise be rewritten for each of them.
+     */
+    protected void addScanIndexEntries(Collection<ClassNode> classes, File compilationTargetDirectory) {
+        collectScanIndexEntries(classes, scanIndexEntries)
+        if (scanIndexDirectory != null) {
+            return
+        }
+        scanIndexDirectory = compilationTargetDirectory
+        if (compilationUnit == null) {
+            writePendingScanIndex()
+        }
+        else {
+            compilationUnit.addNewPhaseOperation({ SourceUnit sourceUnit ->
+                writePendingScanIndex()
+            } as CompilationUnit.ISourceUnitOperation, Phases.CLASS_GENERATION)
+        }
+    }
+
+    private void writePendingScanIndex() {
+        if (scanIndexDirectory != null && !scanIndexEntries.isEmpty()) {
+            updateScanIndex(scanIndexEntries, scanIndexDirectory)
+            scanIndexEntries.clear()
+        }
+    }
+
+    /**
+     * Collects the names of the annotations retained in the class files of the given classes for the index read by
+     * {@link ClassPathScanner#scanIndex}. Classes without annotations are mapped to null so that their previous entries
+     * are removed.
+     *
+     * @param classes The classes of a source unit
+     * @param entries The entries to add to
+     */
+    static void collectScanIndexEntries(Collection<ClassNode> classes, Map<String, String> entries) {
+        for (ClassNode classNode in classes) {
+            String classNodeName = classNode.name
+            // the scanner ignores closures, inner classes and compiled views
+            if (classNodeName.contains('$') || classNode.nameWithoutPackage.startsWith('gsp_') || classNodeName.endsWith('_gson')) {
+                continue
+            }
+
+            Set<String> annotationNames = new LinkedHashSet<>()
+            for (AnnotationNode annotationNode in classNode.annotations) {
+                if (isRetainedInClassFile(annotationNode)) {
+                    annotationNames << annotationNode.classNode.name
+                }
+            }
+            entries.put(classNodeName, annotationNames ? annotationNames.join(',') : null)
+        }
+    }
+
+    /**
+     * Updates the index read by {@link ClassPathScanner#scanIndex} with the given entries. Entries of classes that
+     * weren't compiled and whose class files no longer exist, because their sources were deleted, are removed.
+     *
+     * @param entries The annotation names by class name, null to remove the entry of a class
+     * @param compilationTargetDirectory The directory the classes are compiled to
+     */
+    static void updateScanIndex(Map<String, String> entries, File compilationTargetDirectory) {
+        File indexFile = new File(compilationTargetDirectory, ClassPathScanner.SCAN_INDEX_LOCATION)
+        Properties index = new Properties()
+        boolean indexExists = indexFile.exists()
+        if (indexExists) {
+            indexFile.withInputStream { InputStream input ->
+                index.load(input)
+            }
+        }
+
+        boolean changed = false
+        for (String className in index.stringPropertyNames()) {
+            if (!entries.containsKey(className) && !new File(compilationTargetDirectory, className.replace('.', '/') + '.class').exists()) {
+                index.remove(className)
+                changed = true
+            }
+        }
+        for (Map.Entry<String, String> entry in entries) {
+            if (entry.value != index.getProperty(entry.key)) {
+                if (entry.value) {
+                    index.setProperty(entry.key, entry.value)
+                }
+                else {
+                    index.remove(entry.key)
+                }
+                changed = true
+            }
+        }
+
+        if (changed || !indexExists) {
+            indexFile.parentFile.mkdirs()
+            // sorted and without a timestamp so that the build output is reproducible
+            indexFile.withWriter("UTF-8") { Writer writer ->
+                writer.write("# Grails Scan Index\n")
+                for (String className in index.stringPropertyNames().sort()) {
+                    writer.write("${className}=${index.getProperty(className)}\n")
+                }
+            }
+        }
+    }
+
+    private static boolean isRetainedInClassFile(AnnotationNode annotationNode) {
+        // the retention flags of the node are only populated when the class is generated
+        for (AnnotationNode retention in annotationNode.classNode.getAnnotations(RETENTION_CLASS_NODE)) {
+            Expression value = retention.getMember('value')
+            if (value instanceof PropertyExpression) {
+                return ((PropertyExpression) value).propertyAsString != RetentionPolicy.SOURCE.name()
+            }
+        }
+        // annotations without a retention policy are retained in the class file
+        return true
+    }
+
     private static void loadFromFile(Properties props, File factoriesFile) {
         if (factoriesFile.exists()) {
             Properties fileProps = new Properties()
@@ -359,4 +481,7 @@ class GlobalGrailsClassInjectorTransformation implements ASTTransformation, Comp
     public static final ClassNode ARTEFACT_CLASS_NODE = new ClassNode(Artefact.class)
 
     CompilationUnit compilationUnit
+
+    private final Map<String, String> scanIndexEntries = new HashMap<>()
+    private File scanIndexDirectory
 }
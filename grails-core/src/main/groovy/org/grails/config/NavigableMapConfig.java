@@ -26,6 +26,8 @@ import org.springframework.core.convert.ConversionException;
 import org.springframework.core.convert.support.ConfigurableConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.IdentityHashMap;
@@ -36,10 +38,16 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A {@link Config} implementation that operates against a {@link org.grails.config.NavigableMap}
  *
+ * Immutable values resolved by {@link #getProperty(String, Class, Object)} are memoised per key and target type, so
+ * that repeated lookups skip the navigation and conversion. The memoised values are discarded whenever the
+ * configuration is modified.
+ *
  * @deprecated This class behavior is related to {@link org.grails.config.NavigableMap} which will be removed in future. Use {@link grails.config.Config} instead.
  * @author Graeme Rocher
  * @since 3.0
@@ -47,8 +55,14 @@ import java.util.StringTokenizer;
 @Deprecated
 public abstract class NavigableMapConfig implements Config {
     protected static final Logger LOG = LoggerFactory.getLogger(NavigableMapConfig.class);
+    private static final Object UNRESOLVED = new Object();
+    private static final int MAX_RESOLVED_VALUES = 4096;
+
     protected ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
     protected ConfigurableConversionService conversionService = new DefaultConversionService();
+    // incremented on each modification, the memoised values of an older generation are discarded on the next lookup
+    private final AtomicLong generation = new AtomicLong();
+    private volatile ResolvedValues resolvedValues = new ResolvedValues(0);
     protected NavigableMap configMap = new NavigableMap() {
         @Override
         protected Object mergeMapEntry(NavigableMap targetMap, String sourceKey, Object newValue) {
@@ -57,8 +71,40 @@ public abstract class NavigableMapConfig implements Config {
             }
             return super.mergeMapEntry(targetMap, sourceKey, newValue);
         }
+
+        @Override
+        protected void modified() {
+            clearResolvedValues();
+        }
     };
 
+    /**
+     * Discards the memoised property values, which is done automatically whenever the configuration is modified
+     *
+     * @since 7.0
+     */
+    protected void clearResolvedValues() {
+        generation.incrementAndGet();
+    }
+
+    private ResolvedValues getResolvedValues(long currentGeneration) {
+        ResolvedValues current = resolvedValues;
+        if (current.generation != currentGeneration) {
+            current = new ResolvedValues(currentGeneration);
+            resolvedValues = current;
+        }
+        return current;
+    }
+
+    private static final class ResolvedValues {
+        final long generation;
+        final Map<Class<?>, Map<String, Object>> valuesByType = new ConcurrentHashMap<>();
+
+        ResolvedValues(long generation) {
+            this.generation = generation;
+        }
+    }
+
     @Override
     public int hashCode() {
         return configMap.hashCode();
@@ -213,6 +259,40 @@ public abstract class NavigableMapConfig implements Config {
 
     @Override
     public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
+        if (key == null) {
+            return convertValueIfNecessary(findValue(null), targetType, defaultValue);
+        }
+        // read before the value is looked up, so that a value found during a modification isn't kept afterwards
+        long currentGeneration = generation.get();
+        Map<String, Object> resolvedForType = getResolvedValues(currentGeneration).valuesByType.computeIfAbsent(targetType, type -> new ConcurrentHashMap<>());
+        Object resolved = resolvedForType.get(key);
+        if (resolved == null) {
+            Object value = findValue(key);
+            if (value == null) {
+                resolved = UNRESOLVED;
+            }
+            else {
+                resolved = convertValueIfNecessary(value, targetType, null);
+                // failed conversions and mutable values, such as maps, are resolved again for each caller
+                if (resolved == null || !isImmutable(resolved)) {
+                    return resolved != null ? (T) resolved : defaultValue;
+                }
+            }
+            if (resolvedForType.size() < MAX_RESOLVED_VALUES) {
+                resolvedForType.put(key, resolved);
+            }
+        }
+        return resolved == UNRESOLVED ? defaultValue : (T) resolved;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum ||
+                value instanceof Class || value instanceof Integer || value instanceof Long || value instanceof Double ||
+                value instanceof Float || value instanceof Short || value instanceof Byte ||
+                value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    private Object findValue(String key) {
         Object value = findInSystemEnvironment(key);
         if (value == null) {
             value = getValueWithDotNotatedKeySupport(configMap, key);
@@ -220,8 +300,7 @@ public abstract class NavigableMapConfig implements Config {
         if (value == null) {
             value = configMap.get(key);
         }
-
-        return convertValueIfNecessary(value, targetType, defaultValue);
+        return value;
     }
 
     private Object findInSystemEnvironment(String key) {
@@ -147,6 +147,7 @@ public class PropertySourcesConfig extends NavigableMapConfig {
 
     public void setConversionService(ConfigurableConversionService conversionService) {
         this.conversionService = conversionService;
+        clearResolvedValues();
     }
 
     @Override
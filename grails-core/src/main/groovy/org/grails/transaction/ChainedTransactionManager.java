@@ -96,7 +96,7 @@ public class ChainedTransactionManager implements PlatformTransactionManager {
 		MultiTransactionStatus mts = new MultiTransactionStatus(transactionManagers.get(0));
 
 		if (!synchronizationManager.isSynchronizationActive() && canCreateTransaction(definition)) {
-			synchronizationManager.initSynchronization();
+			synchronizationManager.initSynchronization(definition);
 			mts.setNewSynchronization();
 		}
 
@@ -15,6 +15,7 @@
  */
 package org.grails.transaction;
 
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
@@ -30,9 +31,14 @@ enum SpringTransactionSynchronizationManager implements SynchronizationManager {
 
 	/*
 	 * (non-Javadoc)
-	 * @see org.grails.transaction.SynchronizationManager#initSynchronization()
+	 * @see org.grails.transaction.SynchronizationManager#initSynchronization(org.springframework.transaction.TransactionDefinition)
 	 */
-	public void initSynchronization() {
+	public void initSynchronization(TransactionDefinition definition) {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(
+				definition.getIsolationLevel() != TransactionDefinition.ISOLATION_DEFAULT ? definition.getIsolationLevel() : null);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(definition.isReadOnly());
+		TransactionSynchronizationManager.setCurrentTransactionName(definition.getName());
 		TransactionSynchronizationManager.initSynchronization();
 	}
 
@@ -16,6 +16,8 @@
 
 package org.grails.transaction;
 
+import org.springframework.transaction.TransactionDefinition;
+
 /**
  * Strategy interface to allow providing a dedicated synchronization mechanism.
  * 
@@ -26,7 +28,13 @@ package org.grails.transaction;
  */
 interface SynchronizationManager {
 
-	void initSynchronization();
+	/**
+	 * Initializes synchronization for a new transaction and exposes the transaction's characteristics, such as whether
+	 * it is read-only, for the current thread.
+	 *
+	 * @param definition the definition of the transaction
+	 */
+	void initSynchronization(TransactionDefinition definition);
 
 	boolean isSynchronizationActive();
 
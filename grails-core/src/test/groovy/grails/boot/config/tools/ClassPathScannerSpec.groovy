@@ -27,6 +27,38 @@ class ClassPathScannerSpec extends Specification {
         results.size() == 1
         results.contains(Foo)
     }
+
+    void "Test classpath scanner with a scan index"() {
+        given:"a scanner with an index"
+        Properties index = new Properties()
+        index.setProperty(Foo.name, "grails.persistence.Entity,groovy.transform.Generated")
+        index.setProperty(Application.name, "groovy.transform.Generated")
+        index.setProperty("grails.boot.config.tools.Removed", "grails.persistence.Entity")
+        index.setProperty("other.Bar", "grails.persistence.Entity")
+        ClassPathScanner scanner = new ClassPathScanner() {
+            @Override
+            protected Properties loadScanIndex(Class applicationClass) {
+                index
+            }
+        }
+
+        when:"the index is used"
+        def results = scanner.scanIndex(Application, ["grails.boot.config.tools"])
+
+        then:"classes with matching annotations in the packages are returned and missing classes are ignored"
+        results == [Foo] as Set
+
+        when:"the index is used with an annotation filter"
+        results = scanner.scanIndex(Application, ["grails.boot.config.tools"]) { String annotation -> annotation == "groovy.transform.Generated" }
+
+        then:"the filter is applied to the indexed annotations"
+        results == [Foo, Application] as Set
+    }
+
+    void "Test classpath scanner without a scan index"() {
+        expect:"no index to be found for classes that weren't compiled as project sources"
+        new ClassPathScanner().scanIndex(Application, ["grails.boot.config.tools"]) == null
+    }
 }
 
 class Application {
@@ -104,4 +104,70 @@ class FooGrailsPlugin {
             xml.resources.resource.size() == 2
             xml.resources.resource.text() == "FooBar"
     }
+
+    void "Test that the scan index records the annotations retained in the class files"() {
+        given:"classes compiled to the canonicalization phase"
+            File targetDirectory = File.createTempDir()
+            File indexFile = new File(targetDirectory, "META-INF/grails/scan-index")
+            List<ClassNode> classNodes = []
+            CompilationUnit cu = new CompilationUnit(new GroovyClassLoader())
+            cu.addSource("Foo.groovy", '''
+package test
+
+@groovy.transform.CompileStatic
+@groovy.transform.Generated
+class Foo {
+    static class Inner {}
+}
+
+class Bar {}
+''')
+            cu.addPhaseOperation(new CompilationUnit.PrimaryClassNodeOperation() {
+                @Override
+                void call(SourceUnit source, GeneratorContext context, ClassNode cn) throws CompilationFailedException {
+                    classNodes << cn
+                }
+            }, Phases.CANONICALIZATION)
+            cu.compile(Phases.CANONICALIZATION)
+
+        when:"the index is generated"
+            Map<String, String> entries = [:]
+            GlobalGrailsClassInjectorTransformation.collectScanIndexEntries(classNodes, entries)
+            GlobalGrailsClassInjectorTransformation.updateScanIndex(entries, targetDirectory)
+            Properties index = new Properties()
+            indexFile.withInputStream { index.load(it) }
+
+        then:"only top level classes with annotations are recorded, without source retained annotations"
+            index.stringPropertyNames() == ["test.Foo"] as Set
+            index.getProperty("test.Foo") == "groovy.transform.Generated"
+
+        when:"the annotations of a class are removed and the index is updated"
+            classNodes.find { it.name == "test.Foo" }.annotations.clear()
+            entries.clear()
+            GlobalGrailsClassInjectorTransformation.collectScanIndexEntries(classNodes, entries)
+            GlobalGrailsClassInjectorTransformation.updateScanIndex(entries, targetDirectory)
+            index = new Properties()
+            indexFile.withInputStream { index.load(it) }
+
+        then:"the entry is removed"
+            index.isEmpty()
+    }
+
+    void "Test that the scan index entries of deleted classes are removed"() {
+        given:"an index with entries for a class that still exists and for a deleted class"
+            File targetDirectory = File.createTempDir()
+            File indexFile = new File(targetDirectory, "META-INF/grails/scan-index")
+            indexFile.parentFile.mkdirs()
+            indexFile.text = "test.Deleted=grails.artefact.Artefact\ntest.Existing=grails.artefact.Artefact\n"
+            new File(targetDirectory, "test").mkdirs()
+            new File(targetDirectory, "test/Existing.class").bytes = new byte[0]
+
+        when:"the index is updated with the entries of another class"
+            GlobalGrailsClassInjectorTransformation.updateScanIndex([("test.Foo"): "groovy.transform.Generated"], targetDirectory)
+            Properties index = new Properties()
+            indexFile.withInputStream { index.load(it) }
+
+        then:"the entry of the deleted class is removed"
+            index.stringPropertyNames() == ["test.Existing", "test.Foo"] as Set
+    }
 }
@@ -52,6 +52,63 @@ class PropertySourcesConfigSpec extends Specification {
             !config.empty.value
     }
 
+    void "Test that resolved property values are discarded when the config is modified"() {
+        given:"A PropertySourcesConfig instance"
+            def config = new PropertySourcesConfig([grails: [views: [default: [codec: 'html']]], port: '8080'])
+
+        expect:"The values to be resolved and converted"
+            config.getProperty('grails.views.default.codec', String) == 'html'
+            config.getProperty('port', Integer) == 8080
+            config.getProperty('missing', String, 'fallback') == 'fallback'
+
+        when:"A nested value is changed"
+            config.grails.views.default.codec = 'none'
+
+        then:"The new value is returned"
+            config.getProperty('grails.views.default.codec', String) == 'none'
+
+        when:"Values are merged"
+            config.merge([port: 9090, missing: 'present'])
+
+        then:"The merged values are returned"
+            config.getProperty('port', Integer) == 9090
+            config.getProperty('missing', String, 'fallback') == 'present'
+
+        when:"A nested value is removed"
+            config.grails.views.default.codec = null
+
+        then:"The value is no longer resolved"
+            config.getProperty('grails.views.default.codec', String, 'fallback') == 'fallback'
+    }
+
+    void "Test that resolved property values are discarded when nested plain maps are merged"() {
+        given:"A PropertySourcesConfig instance with a value in a plain nested map"
+            def config = new PropertySourcesConfig()
+            config.merge(['datasources[books].url': 'jdbc:h2:mem:a'])
+
+        expect:"The value to be resolved"
+            config.getProperty('datasources.books.url', String) == 'jdbc:h2:mem:a'
+
+        when:"The value of the plain nested map is merged"
+            config.merge(['datasources[books].url': 'jdbc:h2:mem:b'])
+
+        then:"The new value is returned"
+            config.getProperty('datasources.books.url', String) == 'jdbc:h2:mem:b'
+    }
+
+    void "Test that mutable property values are not shared between callers"() {
+        given:"A PropertySourcesConfig instance"
+            def config = new PropertySourcesConfig([grails: [cors: [allowedOrigins: ['a']]]])
+
+        when:"A map value is retrieved and modified"
+            Map first = config.getProperty('grails.cors', Map)
+            first.put('allowedOrigins', ['b'])
+
+        then:"Other callers are unaffected"
+            config.getProperty('grails.cors', Map).allowedOrigins == ['a']
+            !first.is(config.getProperty('grails.cors', Map))
+    }
+
     @Issue("https://github.com/grails/grails-spring-security-core/issues/724")
     void "Test accessing a NavigableMap property as Map class"() {
         given:
@@ -153,7 +153,7 @@ public class ChainedTransactionManagerTests {
 
 		private boolean synchronizationActive;
 
-		public void initSynchronization() {
+		public void initSynchronization(TransactionDefinition definition) {
 			synchronizationActive = true;
 		}
 
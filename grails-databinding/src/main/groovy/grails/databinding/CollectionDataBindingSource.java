@@ -15,12 +15,26 @@
  */
 package grails.databinding;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * @see DataBindingSource
  * @since 3.0
  */
-public interface CollectionDataBindingSource {
+public interface CollectionDataBindingSource extends Iterable<DataBindingSource> {
     List<DataBindingSource> getDataBindingSources();
+
+    /**
+     * Iterates over the data binding sources. Implementations that read their elements lazily may only
+     * support iterating once, binders should prefer this method over {@link #getDataBindingSources()}
+     * so that such sources don't have to be materialised.
+     *
+     * @return An iterator over the data binding sources
+     * @since 7.0
+     */
+    @Override
+    default Iterator<DataBindingSource> iterator() {
+        return getDataBindingSources().iterator();
+    }
 }
@@ -23,6 +23,8 @@ import groovy.transform.CompileStatic
 import groovy.transform.TypeCheckingMode
 import groovy.xml.slurpersupport.GPathResult
 import org.codehaus.groovy.reflection.CachedMethod
+import org.codehaus.groovy.runtime.InvokerHelper
+import org.grails.databinding.BindingPlan
 import org.grails.databinding.ClosureValueConverter
 import org.grails.databinding.ClosureValueInitializer
 import org.grails.databinding.IndexedPropertyReferenceDescriptor
@@ -35,7 +37,9 @@ import java.lang.reflect.Array
 import java.lang.reflect.Field
 import java.lang.reflect.Modifier
 import java.lang.reflect.ParameterizedType
+import java.lang.reflect.Type
 import java.security.ProtectionDomain
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * A data binder that will bind nested Maps to an object.
@@ -88,6 +92,8 @@ class SimpleDataBinder implements DataBinder {
 
     int autoGrowCollectionLimit = 256
 
+    protected final Map<Class, BindingPlan> bindingPlans = new ConcurrentHashMap<Class, BindingPlan>()
+
     SimpleDataBinder() {
         registerStructuredEditor Date, new StructuredDateBindingEditor()
         registerStructuredEditor java.sql.Date, new StructuredSqlDateBindingEditor()
@@ -211,8 +217,84 @@ class SimpleDataBinder implements DataBinder {
         doBind obj, source, filter, whiteList, blackList, listener, null
     }
 
+    /**
+     * Clears the cached binding plans, for example after classes have been reloaded
+     *
+     * @since 7.0
+     */
+    void clearBindingPlans() {
+        bindingPlans.clear()
+    }
+
+    /**
+     * Returns the binding plan for the given class, creating it if there is none or if the meta class
+     * registered for the class changed since it was created
+     *
+     * @param clazz The class being bound to
+     * @return The binding plan
+     * @since 7.0
+     */
+    protected BindingPlan getBindingPlan(Class clazz) {
+        MetaClass metaClass = GroovySystem.metaClassRegistry.getMetaClass(clazz)
+        BindingPlan plan = bindingPlans.get(clazz)
+        if (plan == null || !plan.targetMetaClass.is(metaClass)) {
+            plan = createBindingPlan(clazz, metaClass)
+            bindingPlans.put(clazz, plan)
+        }
+        plan
+    }
+
+    /**
+     * Resolves the binding metadata of every property declared by the meta class
+     *
+     * @param clazz The class being bound to
+     * @param metaClass The meta class of clazz
+     * @return The binding plan
+     * @since 7.0
+     */
+    protected BindingPlan createBindingPlan(Class clazz, MetaClass metaClass) {
+        Map<String, BindingPlan.PropertyBinding> properties = new HashMap<String, BindingPlan.PropertyBinding>()
+        for (MetaProperty declared in metaClass.properties) {
+            // use the same instance the meta class hands out for lookups by name
+            MetaProperty metaProperty = metaClass.getMetaProperty(declared.name)
+            if (metaProperty == null) {
+                continue
+            }
+            Field field = getField(clazz, metaProperty.name)
+            Class referencedType = null
+            boolean referencedTypeResolved = true
+            Annotation bindUsing = null
+            Annotation bindingFormat = null
+            Annotation bindInitializer = null
+            if (field != null) {
+                Type genericType = field.genericType
+                if (genericType instanceof ParameterizedType) {
+                    ParameterizedType pt = (ParameterizedType) genericType
+                    Type[] arguments = pt.actualTypeArguments
+                    Type argument = Map.isAssignableFrom((Class) pt.rawType) ? arguments[1] : arguments[0]
+                    if (argument instanceof Class) {
+                        referencedType = (Class) argument
+                    } else {
+                        referencedTypeResolved = false
+                    }
+                }
+                bindUsing = field.getAnnotation(BindUsing)
+                bindingFormat = field.getAnnotation(BindingFormat)
+                bindInitializer = field.getAnnotation(BindInitializer)
+            }
+            properties.put(metaProperty.name, new BindingPlan.PropertyBinding(metaProperty, field, isOkToBind(metaProperty, null, null),
+                    referencedType, referencedTypeResolved, bindUsing, bindingFormat, bindInitializer))
+        }
+        new BindingPlan(clazz, metaClass, clazz.getAnnotation(BindUsing), properties)
+    }
+
     protected void doBind(obj, DataBindingSource source, String filter, List whiteList, List blackList, DataBindingListener listener, errors) {
 
+        // the plan can't be used for instances that carry their own meta class
+        BindingPlan plan = getBindingPlan(obj.getClass())
+        if (!plan.targetMetaClass.is(InvokerHelper.getMetaClass(obj))) {
+            plan = null
+        }
         def keys = source.getPropertyNames()
         for (String key in keys) {
             if (!filter || key.startsWith(filter + '.')) {
@@ -220,10 +302,12 @@ class SimpleDataBinder implements DataBinder {
                 if (filter) {
                     propName = key[(1+filter.size())..-1]
                 }
-                def metaProperty = obj.metaClass.getMetaProperty propName
+                BindingPlan.PropertyBinding binding = plan?.getPropertyBinding(propName)
+                def metaProperty = binding != null ? binding.metaProperty : obj.metaClass.getMetaProperty(propName)
 
                 if (metaProperty) { // normal property
-                    if (isOkToBind(metaProperty, whiteList, blackList)) {
+                    boolean okToBind = binding != null ? binding.bindable && isOkToBind(propName, whiteList, blackList) : isOkToBind(metaProperty, whiteList, blackList)
+                    if (okToBind) {
                         def val = source[key]
                         try {
                             def converter = getValueConverter(obj, metaProperty.name)
@@ -239,7 +323,8 @@ class SimpleDataBinder implements DataBinder {
                 } else {
                     def descriptor = getIndexedPropertyReferenceDescriptor propName
                     if (descriptor) { // indexed property
-                        metaProperty = obj.metaClass.getMetaProperty descriptor.propertyName
+                        binding = plan?.getPropertyBinding(descriptor.propertyName)
+                        metaProperty = binding != null ? binding.metaProperty : obj.metaClass.getMetaProperty(descriptor.propertyName)
                         if (metaProperty && isOkToBind(metaProperty, whiteList, blackList)) {
                             def val = source.getPropertyValue key
                             processIndexedProperty obj, metaProperty, descriptor, val, source, listener, errors
@@ -273,6 +358,10 @@ class SimpleDataBinder implements DataBinder {
 
     protected IndexedPropertyReferenceDescriptor getIndexedPropertyReferenceDescriptor(propName) {
         IndexedPropertyReferenceDescriptor descriptor
+        if (propName instanceof String && ((String) propName).indexOf('[') == -1) {
+            // can't match INDEXED_PROPERTY_REGEX
+            return descriptor
+        }
         def matcher = propName =~ INDEXED_PROPERTY_REGEX
         if (matcher) {
             def indexedPropertyName = matcher.group(1)
@@ -408,6 +497,10 @@ class SimpleDataBinder implements DataBinder {
     
     
     protected Class<?> getReferencedTypeForCollectionInClass(String propertyName, Class clazz) {
+        BindingPlan.PropertyBinding binding = getBindingPlan(clazz).getPropertyBinding(propertyName)
+        if (binding != null && binding.referencedTypeResolved) {
+            return binding.referencedType
+        }
         Class referencedType
         def field = getField(clazz, propertyName)
         if(field) {
@@ -530,9 +623,10 @@ class SimpleDataBinder implements DataBinder {
     protected ValueConverter getValueConverterForField(obj, String propName) {
         ValueConverter converter
         try {
-            def field = getField(obj.getClass(), propName)
+            BindingPlan.PropertyBinding binding = getBindingPlan(obj.getClass()).getPropertyBinding(propName)
+            def field = binding != null ? binding.field : getField(obj.getClass(), propName)
             if (field) {
-                def annotation = field.getAnnotation(BindUsing)
+                def annotation = binding != null ? binding.bindUsing : field.getAnnotation(BindUsing)
                 if (annotation) {
                     def valueClass = getValueOfBindUsing(annotation)
                     if (Closure.isAssignableFrom(valueClass)) {
@@ -540,7 +634,7 @@ class SimpleDataBinder implements DataBinder {
                         converter = new ClosureValueConverter(converterClosure: closure.curry(obj), targetType: field.type)
                     }
                 } else {
-                    annotation = field.getAnnotation(BindingFormat)
+                    annotation = binding != null ? binding.bindingFormat : field.getAnnotation(BindingFormat)
                     if (annotation) {
                         converter = getFormattedConverter field, getFormatString(annotation)
                     }
@@ -575,8 +669,7 @@ class SimpleDataBinder implements DataBinder {
 
     protected ValueConverter getValueConverterForClass(obj, String propName) {
         ValueConverter converter
-        def objClass = obj.getClass()
-        def annotation = objClass.getAnnotation(BindUsing)
+        def annotation = getBindingPlan(obj.getClass()).bindUsing
         if (annotation) {
             def valueClass = getValueOfBindUsing(annotation)
             if (BindingHelper.isAssignableFrom(valueClass)) {
@@ -764,9 +857,10 @@ class SimpleDataBinder implements DataBinder {
     protected ValueInitializer getValueInitializerForField(obj, String propName) {
         ValueInitializer initializer
         try {
-            def field = getField(obj.getClass(), propName)
+            BindingPlan.PropertyBinding binding = getBindingPlan(obj.getClass()).getPropertyBinding(propName)
+            def field = binding != null ? binding.field : getField(obj.getClass(), propName)
             if (field) {
-                def annotation = field.getAnnotation(BindInitializer)
+                def annotation = binding != null ? binding.bindInitializer : field.getAnnotation(BindInitializer)
                 if (annotation) {
                     def valueClass = getValueOfBindInitializer(annotation)
                     if (Closure.isAssignableFrom(valueClass)) {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.databinding
+
+import groovy.transform.CompileStatic
+
+import java.lang.annotation.Annotation
+import java.lang.reflect.Field
+
+/**
+ * Immutable binding metadata for a class, resolved once so that repeated binding to instances of the class
+ * doesn't have to repeat the meta property, field, annotation and generic type lookups for every property.
+ *
+ * A plan is only valid for the {@link MetaClass} it was created from, binders are expected to discard it once the
+ * class is reloaded or its meta class is replaced.
+ *
+ * @since 7.0
+ * @see grails.databinding.SimpleDataBinder
+ */
+@CompileStatic
+class BindingPlan {
+
+    final Class type
+    final MetaClass targetMetaClass
+
+    /**
+     * The {@link grails.databinding.BindUsing} annotation of the class itself, if any
+     */
+    final Annotation bindUsing
+
+    private final Map<String, PropertyBinding> properties
+
+    BindingPlan(Class type, MetaClass metaClass, Annotation bindUsing, Map<String, PropertyBinding> properties) {
+        this.type = type
+        this.targetMetaClass = metaClass
+        this.bindUsing = bindUsing
+        this.properties = Collections.unmodifiableMap(new HashMap<String, PropertyBinding>(properties))
+    }
+
+    /**
+     * @param propertyName The name of the property
+     * @return The binding metadata for the property or null if the meta class didn't declare the property when the plan was created
+     */
+    PropertyBinding getPropertyBinding(String propertyName) {
+        properties.get(propertyName)
+    }
+
+    /**
+     * @return The names of the properties covered by this plan
+     */
+    Set<String> getPropertyNames() {
+        properties.keySet()
+    }
+
+    /**
+     * Binding metadata for a single property
+     */
+    @CompileStatic
+    static class PropertyBinding {
+
+        final String name
+        final MetaProperty metaProperty
+
+        /**
+         * The field backing the property, possibly declared by a super class, or null if there is none
+         */
+        final Field field
+
+        /**
+         * Whether the property may be bound at all, regardless of any include or exclude lists
+         */
+        final boolean bindable
+
+        /**
+         * The element type of a collection or the value type of a map, only meaningful if {@link #referencedTypeResolved} is true
+         */
+        final Class referencedType
+
+        /**
+         * False if the generic type of the field could not be resolved to a class, in which case binders fall back to reflection
+         */
+        final boolean referencedTypeResolved
+
+        final Annotation bindUsing
+        final Annotation bindingFormat
+        final Annotation bindInitializer
+
+        PropertyBinding(MetaProperty metaProperty, Field field, boolean bindable, Class referencedType, boolean referencedTypeResolved,
+                        Annotation bindUsing, Annotation bindingFormat, Annotation bindInitializer) {
+            this.name = metaProperty.name
+            this.metaProperty = metaProperty
+            this.field = field
+            this.bindable = bindable
+            this.referencedType = referencedType
+            this.referencedTypeResolved = referencedTypeResolved
+            this.bindUsing = bindUsing
+            this.bindingFormat = bindingFormat
+            this.bindInitializer = bindInitializer
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.databinding.xml;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A compact, immutable XML element read with StAX, holding only what data binding needs: the local names and values
+ * of the attributes that aren't in a namespace, the child elements and, for elements without child elements, the text.
+ *
+ * <p>Text is handled like {@link groovy.xml.XmlSlurper} does by default: text that consists of whitespace only is
+ * ignored and other text isn't trimmed. Comments and processing instructions are ignored. DTDs and external entities
+ * aren't supported.</p>
+ *
+ * @since 7.0
+ * @see XmlElementMap
+ */
+public final class XmlElement {
+
+    private static final String[] NO_ATTRIBUTES = new String[0];
+    private static final XmlElement[] NO_CHILDREN = new XmlElement[0];
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final String name;
+    private final String[] attributes;
+    private final String text;
+    private final XmlElement[] children;
+    private volatile Map<String, List<XmlElement>> childrenByName;
+
+    private XmlElement(String name, String[] attributes, String text, XmlElement[] children) {
+        this.name = name;
+        this.attributes = attributes;
+        this.text = text;
+        this.children = children;
+    }
+
+    /**
+     * Reads the root element of an XML document
+     *
+     * @param reader The document
+     * @return The root element
+     * @throws XMLStreamException If the document isn't well-formed
+     */
+    public static XmlElement parse(Reader reader) throws XMLStreamException {
+        XMLStreamReader xmlReader = createXMLStreamReader(reader);
+        try {
+            while (xmlReader.next() != XMLStreamConstants.START_ELEMENT) {
+                // skip the prolog
+            }
+            return read(xmlReader);
+        }
+        finally {
+            xmlReader.close();
+        }
+    }
+
+    /**
+     * Reads the element the given reader is positioned at, the reader is left positioned at its end element
+     *
+     * @param xmlReader A reader positioned at a start element
+     * @return The element
+     * @throws XMLStreamException If the document isn't well-formed
+     */
+    public static XmlElement read(XMLStreamReader xmlReader) throws XMLStreamException {
+        String name = xmlReader.getLocalName();
+        String[] attributes = readAttributes(xmlReader);
+        List<XmlElement> children = null;
+        StringBuilder text = null;
+        StringBuilder chunk = new StringBuilder();
+        while (true) {
+            int event = xmlReader.next();
+            switch (event) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    chunk.append(xmlReader.getTextCharacters(), xmlReader.getTextStart(), xmlReader.getTextLength());
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    text = appendChunk(text, chunk);
+                    if (children == null) {
+                        children = new ArrayList<>();
+                    }
+                    children.add(read(xmlReader));
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    text = appendChunk(text, chunk);
+                    if (children != null) {
+                        // the text of elements with child elements isn't bound
+                        return new XmlElement(name, attributes, "", children.toArray(NO_CHILDREN));
+                    }
+                    return new XmlElement(name, attributes, text != null ? text.toString() : "", NO_CHILDREN);
+                default:
+                    // comments and processing instructions
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Creates a reader for a document that doesn't support DTDs and external entities
+     *
+     * @param reader The document
+     * @return The reader
+     * @throws XMLStreamException If the reader couldn't be created
+     */
+    public static XMLStreamReader createXMLStreamReader(Reader reader) throws XMLStreamException {
+        return INPUT_FACTORY.createXMLStreamReader(reader);
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static String[] readAttributes(XMLStreamReader xmlReader) {
+        int count = xmlReader.getAttributeCount();
+        if (count == 0) {
+            return NO_ATTRIBUTES;
+        }
+        String[] attributes = new String[count * 2];
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            String namespace = xmlReader.getAttributeNamespace(i);
+            if (namespace == null || namespace.isEmpty()) {
+                attributes[length++] = xmlReader.getAttributeLocalName(i);
+                attributes[length++] = xmlReader.getAttributeValue(i);
+            }
+        }
+        return length == attributes.length ? attributes : Arrays.copyOf(attributes, length);
+    }
+
+    private static StringBuilder appendChunk(StringBuilder text, StringBuilder chunk) {
+        if (chunk.length() == 0) {
+            return text;
+        }
+        if (!isWhitespace(chunk)) {
+            if (text == null) {
+                text = new StringBuilder(chunk.length());
+            }
+            text.append(chunk);
+        }
+        chunk.setLength(0);
+        return text;
+    }
+
+    private static boolean isWhitespace(CharSequence chars) {
+        for (int i = 0, length = chars.length(); i < length; i++) {
+            // the same characters as String.trim()
+            if (chars.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The local name of the element
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param localName The local name of an attribute
+     * @return The value of the attribute or null if the element doesn't have the attribute
+     */
+    public String getAttribute(String localName) {
+        for (int i = 0; i < attributes.length; i += 2) {
+            if (attributes[i].equals(localName)) {
+                return attributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The text of an element without child elements, otherwise an empty String
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return Whether the element has child elements
+     */
+    public boolean hasChildren() {
+        return children.length > 0;
+    }
+
+    /**
+     * @return The child elements in document order
+     */
+    public List<XmlElement> getChildren() {
+        return Collections.unmodifiableList(Arrays.asList(children));
+    }
+
+    /**
+     * @param localName The local name of the child elements
+     * @return The child elements with the given name in document order
+     */
+    public List<XmlElement> getChildren(String localName) {
+        if (children.length == 0) {
+            return Collections.emptyList();
+        }
+        Map<String, List<XmlElement>> index = childrenByName;
+        if (index == null) {
+            index = new LinkedHashMap<>();
+            for (XmlElement child : children) {
+                index.computeIfAbsent(child.name, k -> new ArrayList<>(1)).add(child);
+            }
+            childrenByName = index;
+        }
+        List<XmlElement> matches = index.get(localName);
+        return matches != null ? Collections.unmodifiableList(matches) : Collections.emptyList();
+    }
+
+    @Override
+    public String toString() {
+        return "<" + name + ">";
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.databinding.xml;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only {@link Map} view of an {@link XmlElement} with the same keys and values as {@link GPathResultMap}, for
+ * binding XML that was read with StAX instead of being parsed into a {@link groovy.xml.slurpersupport.GPathResult}.
+ *
+ * <p>Child elements are looked up through the index of the element instead of being filtered on every access.</p>
+ *
+ * @since 7.0
+ */
+public class XmlElementMap implements Map<String, Object> {
+
+    private static final String ID = "id";
+
+    protected final XmlElement element;
+    protected final String id;
+    private Set<String> propertyNames;
+
+    public XmlElementMap(XmlElement element) {
+        this.element = element;
+        String idAttribute = element.getAttribute(ID);
+        this.id = idAttribute != null && !idAttribute.isEmpty() ? idAttribute : null;
+    }
+
+    /**
+     * @return The element of this map
+     */
+    public XmlElement getElement() {
+        return element;
+    }
+
+    /**
+     * @param child A child element
+     * @return The key of the given child element
+     */
+    protected String getPropertyName(XmlElement child) {
+        return child.getName();
+    }
+
+    private Set<String> getPropertyNames() {
+        Set<String> names = propertyNames;
+        if (names == null) {
+            names = new LinkedHashSet<>();
+            for (XmlElement child : element.getChildren()) {
+                names.add(getPropertyName(child));
+            }
+            propertyNames = names;
+        }
+        return names;
+    }
+
+    @Override
+    public int size() {
+        return getPropertyNames().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (ID.equals(key)) {
+            return id != null || !element.getChildren(ID).isEmpty();
+        }
+        return key != null && !element.getChildren(key.toString()).isEmpty();
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (ID.equals(key) && id != null) {
+            return id;
+        }
+        if (!(key instanceof CharSequence)) {
+            return null;
+        }
+        List<XmlElement> value = element.getChildren(key.toString());
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (value.size() > 1) {
+            List<Object> list = new ArrayList<>(value.size());
+            for (XmlElement child : value) {
+                String childId = child.getAttribute(ID);
+                if ((childId != null && !childId.isEmpty()) || child.hasChildren()) {
+                    list.add(new XmlElementMap(child));
+                }
+                else {
+                    list.add(child.getText());
+                }
+            }
+            return list;
+        }
+        XmlElement child = value.get(0);
+        if (!child.hasChildren()) {
+            String childId = child.getAttribute(ID);
+            if (childId != null && !childId.isEmpty()) {
+                Map<String, Object> idMap = new LinkedHashMap<>();
+                idMap.put(ID, childId);
+                return idMap;
+            }
+            return child.getText();
+        }
+        return new XmlElementMap(child);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keys = new LinkedHashSet<>(getPropertyNames());
+        if (id != null) {
+            keys.add(ID);
+        }
+        return keys;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Set<Entry<String, Object>> entries = new LinkedHashSet<>();
+        for (String name : getPropertyNames()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(name, get(name)));
+        }
+        if (id != null) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(ID, id));
+        }
+        return entries;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        throw new UnsupportedOperationException();
+    }
+}
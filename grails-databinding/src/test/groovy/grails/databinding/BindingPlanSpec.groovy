@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package grails.databinding
+
+import org.grails.databinding.BindingPlan
+import spock.lang.Specification
+
+class BindingPlanSpec extends Specification {
+
+    void 'Test that the binding plan for a class is created once and reused'() {
+        given:
+        def binder = new SimpleDataBinder()
+
+        when:
+        binder.bind(new PlannedPerson(), new SimpleMapDataBindingSource(name: 'Jeff'))
+        BindingPlan plan = binder.bindingPlans[PlannedPerson]
+        def person = new PlannedPerson()
+        binder.bind(person, new SimpleMapDataBindingSource(name: 'Graeme', birthDate: '11151969', 'nicknames[0]': 'G', _active: ''))
+
+        then:
+        plan != null
+        binder.bindingPlans[PlannedPerson].is(plan)
+        person.name == 'Graeme'
+        person.birthDate.format('MMddyyyy') == '11151969'
+        person.nicknames == ['G']
+        !person.active
+    }
+
+    void 'Test the metadata resolved by a binding plan'() {
+        given:
+        def binder = new SimpleDataBinder()
+
+        when:
+        BindingPlan plan = binder.getBindingPlan(PlannedPerson)
+
+        then:
+        plan.getPropertyBinding('name').bindable
+        plan.getPropertyBinding('nicknames').referencedType == String
+        plan.getPropertyBinding('addresses').referencedType == Integer
+        plan.getPropertyBinding('birthDate').bindingFormat instanceof BindingFormat
+        plan.getPropertyBinding('upperName').bindUsing instanceof BindUsing
+        !plan.getPropertyBinding('class')?.bindable
+        !plan.getPropertyBinding('metaClass')?.bindable
+    }
+
+    void 'Test that a binding plan is recreated when the meta class of the class is replaced'() {
+        given:
+        def binder = new SimpleDataBinder()
+        binder.bind(new PlannedPerson(), new SimpleMapDataBindingSource(name: 'Jeff'))
+        BindingPlan plan = binder.bindingPlans[PlannedPerson]
+
+        when:
+        GroovySystem.metaClassRegistry.removeMetaClass(PlannedPerson)
+        def person = new PlannedPerson()
+        binder.bind(person, new SimpleMapDataBindingSource(name: 'Graeme'))
+
+        then:
+        !binder.bindingPlans[PlannedPerson].is(plan)
+        person.name == 'Graeme'
+
+        when:
+        binder.clearBindingPlans()
+
+        then:
+        binder.bindingPlans.isEmpty()
+    }
+
+    void 'Test binding to an instance with its own meta class'() {
+        given:
+        def binder = new SimpleDataBinder()
+        def person = new PlannedPerson()
+        def emc = new ExpandoMetaClass(PlannedPerson, false, true)
+        emc.initialize()
+        person.metaClass = emc
+
+        when:
+        binder.bind(person, new SimpleMapDataBindingSource(name: 'Jeff', upperName: 'jeff'))
+
+        then:
+        person.name == 'Jeff'
+        person.upperName == 'JEFF'
+    }
+}
+
+class PlannedPerson {
+    String name
+    boolean active = true
+    List<String> nicknames
+    Map<String, Integer> addresses
+
+    @BindingFormat('MMddyyyy')
+    Date birthDate
+
+    @BindUsing({ obj, source -> source['upperName']?.toUpperCase() })
+    String upperName
+}
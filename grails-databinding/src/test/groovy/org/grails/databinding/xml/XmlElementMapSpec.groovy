@@ -0,0 +1,137 @@
+/* Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.databinding.xml
+
+import groovy.xml.XmlSlurper
+import spock.lang.Specification
+
+import javax.xml.stream.XMLStreamException
+
+class XmlElementMapSpec extends Specification {
+
+    void 'Test nested elements'() {
+        given:
+        def xml = parse('''
+<person>
+   <name>John Doe</name>
+   <locations>
+      <location>
+         <shippingAddress>foo</shippingAddress>
+         <billingAddress>bar</billingAddress>
+      </location>
+      <location>
+         <shippingAddress>foo2</shippingAddress>
+         <billingAddress>bar2</billingAddress>
+      </location>
+   </locations>
+</person>
+''')
+        when:
+        def person = new XmlElementMap(xml)
+
+        then:
+        person.size() == 2
+        person.name == 'John Doe'
+        person.locations instanceof Map
+        person.locations.size() == 1
+        person.locations.location instanceof List
+        person.locations.location.size() == 2
+        person.locations.location[0].shippingAddress == 'foo'
+        person.locations.location[1].billingAddress == 'bar2'
+    }
+
+    void 'Test id attributes'() {
+        given:
+        def xml = parse('''
+<music>
+    <band id="4">
+        <name>Thin Lizzy</name>
+        <members>
+            <member id="1"><name>Phil</name></member>
+            <member><name>John</name></member>
+        </members>
+    </band>
+    <label id="7" />
+</music>
+''')
+
+        when:
+        def map = new XmlElementMap(xml)
+
+        then:
+        map.band.id == '4'
+        map.band.name == 'Thin Lizzy'
+        map.band.members.member[0].containsKey 'id'
+        map.band.members.member[0].keySet() == ['id', 'name'] as Set
+        !map.band.members.member[1].containsKey('id')
+        map.band.members.member[1].id == null
+        map.label.id == '7'
+    }
+
+    void 'Test the map is equivalent to GPathResultMap'() {
+        given:
+        def text = '''
+<sports xmlns:o="urn:other">
+    <country>USA</country>
+    <baseball o:id="5">
+        <team>Cardinals</team>
+        <team>  Cubs </team>
+        <equipment><bats><material>wood</material></bats></equipment>
+        <empty/>
+    </baseball>
+    <note>a &amp; b <![CDATA[<c>]]></note>
+</sports>
+'''
+        def gpathMap = new GPathResultMap(new XmlSlurper().parseText(text))
+
+        when:
+        def map = new XmlElementMap(parse(text))
+
+        then:
+        map.size() == gpathMap.size()
+        map.keySet() == gpathMap.keySet()
+        map.country == gpathMap.country
+        map.baseball.keySet() == gpathMap.baseball.keySet()
+        map.baseball.team == gpathMap.baseball.team
+        map.baseball.equipment.bats.material == gpathMap.baseball.equipment.bats.material
+        map.baseball.empty == gpathMap.baseball.empty
+        map.baseball.id == gpathMap.baseball.id
+        map.note == gpathMap.note
+    }
+
+    void 'Test empty Map'() {
+        when:
+        def map = new XmlElementMap(parse('<root>\n</root>'))
+
+        then:
+        map.isEmpty()
+        !map.containsKey('foo')
+        map.size() == 0
+    }
+
+    void 'Test DTDs are rejected'() {
+        when:
+        parse('''<?xml version="1.0"?>
+<!DOCTYPE person [<!ENTITY secret SYSTEM "file:///etc/passwd">]>
+<person><name>&secret;</name></person>''')
+
+        then:
+        thrown XMLStreamException
+    }
+
+    private static XmlElement parse(String text) {
+        XmlElement.parse(new StringReader(text))
+    }
+}
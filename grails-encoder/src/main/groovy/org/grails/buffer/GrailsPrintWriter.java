@@ -161,7 +161,7 @@ public class GrailsPrintWriter extends Writer implements GrailsWrappedWriter, En
      * @see #checkError()
      */
     @Override
-    public synchronized void flush() {
+    public void flush() {
         if (trouble) {
             return;
         }
@@ -17,6 +17,7 @@ package org.grails.encoder;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.lang.reflect.Method;
 import java.util.List;
 
 import org.grails.charsequences.CharSequences;
@@ -33,16 +34,101 @@ import org.grails.encoder.StreamingEncoder;
  * Implements the {@link StreamingEncoder} interface that enables efficient
  * streaming encoding
  *
+ * Subclasses can opt in to a table driven fast path by implementing
+ * {@link #getPreviousCharSensitiveCharacters()}. The replacements for the first
+ * {@value #REPLACEMENT_TABLE_SIZE} characters are then resolved once and runs of
+ * characters that don't need escaping are written with a single call.
+ *
  * @author Lari Hotari
  * @since 2.3
  */
 public abstract class AbstractCharReplacementEncoder implements Encoder, StreamingEncoder, EncodesToWriter {
+    /**
+     * The number of characters covered by the replacement table
+     */
+    protected static final int REPLACEMENT_TABLE_SIZE = 256;
+    private static final char[] PREVIOUS_CHAR_SENSITIVE = new char[0];
+    private static final ReplacementTable NOT_SUPPORTED = new ReplacementTable(null, null);
+
     protected CodecIdentifier codecIdentifier;
+    private volatile ReplacementTable replacementTable;
 
     public AbstractCharReplacementEncoder(CodecIdentifier codecIdentifier) {
         this.codecIdentifier = codecIdentifier;
     }
 
+    /**
+     * Returns the characters for which {@link #escapeCharacter(char, char)} depends on the previous character.
+     * Returning a non-null value enables the table driven fast path, which calls escapeCharacter for every other
+     * character below {@link #REPLACEMENT_TABLE_SIZE} only once. The fast path isn't used if a subclass overrides
+     * escapeCharacter without also overriding this method.
+     *
+     * @return the characters that depend on the previous character, null to disable the fast path
+     * @since 7.0
+     */
+    protected char[] getPreviousCharSensitiveCharacters() {
+        return null;
+    }
+
+    /**
+     * @return the replacement table, null if the fast path isn't supported
+     */
+    private ReplacementTable getReplacementTable() {
+        ReplacementTable table = replacementTable;
+        if (table == null) {
+            table = createReplacementTable();
+            replacementTable = table;
+        }
+        return table != NOT_SUPPORTED ? table : null;
+    }
+
+    private ReplacementTable createReplacementTable() {
+        char[] previousCharSensitive = supportsReplacementTable() ? getPreviousCharSensitiveCharacters() : null;
+        if (previousCharSensitive == null) {
+            return NOT_SUPPORTED;
+        }
+        char[][] chars = new char[REPLACEMENT_TABLE_SIZE][];
+        String[] strings = new String[REPLACEMENT_TABLE_SIZE];
+        for (int ch = 0; ch < REPLACEMENT_TABLE_SIZE; ch++) {
+            String escaped = escapeCharacter((char) ch, (char) 0);
+            strings[ch] = escaped;
+            chars[ch] = escaped != null ? escaped.toCharArray() : null;
+        }
+        for (char ch : previousCharSensitive) {
+            if (ch < REPLACEMENT_TABLE_SIZE) {
+                chars[ch] = PREVIOUS_CHAR_SENSITIVE;
+                strings[ch] = null;
+            }
+        }
+        return new ReplacementTable(chars, strings);
+    }
+
+    private boolean supportsReplacementTable() {
+        // the class that opted in has to be aware of the escapeCharacter implementation that is actually used
+        Class<?> escapeCharacterOwner = findDeclaringClass("escapeCharacter", char.class, char.class);
+        Class<?> optInOwner = findDeclaringClass("getPreviousCharSensitiveCharacters");
+        return optInOwner != AbstractCharReplacementEncoder.class && escapeCharacterOwner != null && optInOwner != null
+                && escapeCharacterOwner.isAssignableFrom(optInOwner);
+    }
+
+    private Class<?> findDeclaringClass(String name, Class<?>... parameterTypes) {
+        for (Class<?> c = getClass(); c != null; c = c.getSuperclass()) {
+            try {
+                Method method = c.getDeclaredMethod(name, parameterTypes);
+                return method.getDeclaringClass();
+            }
+            catch (NoSuchMethodException e) {
+                // continue with the super class
+            }
+        }
+        return null;
+    }
+
+    private char[] lookupReplacement(char ch, char previousChar) {
+        String escaped = escapeCharacter(ch, previousChar);
+        return escaped != null ? escaped.toCharArray() : null;
+    }
+
     /**
      * Escape the character, return null if no replacement has to be made
      *
@@ -93,6 +179,11 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
             return str;
         }
 
+        ReplacementTable table = getReplacementTable();
+        if (table != null) {
+            return escapeCharSequence(str, table.chars);
+        }
+
         StringBuilder sb = null;
         int n = str.length(), i;
         int startPos = -1;
@@ -127,13 +218,70 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
             return str;
         }
     }
-    
+
+    private Object escapeCharSequence(CharSequence str, char[][] table) {
+        StringBuilder sb = null;
+        int n = str.length();
+        int startPos = 0;
+        for (int i = 0; i < n; i++) {
+            char ch = str.charAt(i);
+            char[] replacement = ch < REPLACEMENT_TABLE_SIZE ? table[ch] : PREVIOUS_CHAR_SENSITIVE;
+            if (replacement == null) {
+                continue;
+            }
+            if (replacement == PREVIOUS_CHAR_SENSITIVE && (replacement = lookupReplacement(ch, i > 0 ? str.charAt(i - 1) : (char) 0)) == null) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(n * 110 / 100);
+            }
+            if (i > startPos) {
+                sb.append(str, startPos, i);
+            }
+            sb.append(replacement);
+            startPos = i + 1;
+        }
+        if (sb == null) {
+            return str;
+        }
+        if (n > startPos) {
+            sb.append(str, startPos, n);
+        }
+        return sb.toString();
+    }
+
     @Override
     public void encodeToWriter(CharSequence str, int off, int len, Writer writer, EncodingState encodingState) throws IOException {
         if (str == null || len <= 0) {
             return;
         }
         int n = Math.min(str.length(), off + len);
+        ReplacementTable replacementTable = getReplacementTable();
+        if (replacementTable != null) {
+            char[][] table = replacementTable.chars;
+            int startPos = off;
+            for (int i = off; i < n; i++) {
+                char ch = str.charAt(i);
+                char[] replacement = ch < REPLACEMENT_TABLE_SIZE ? table[ch] : PREVIOUS_CHAR_SENSITIVE;
+                if (replacement == null) {
+                    continue;
+                }
+                if (replacement == PREVIOUS_CHAR_SENSITIVE && (replacement = lookupReplacement(ch, i > off ? str.charAt(i - 1) : (char) 0)) == null) {
+                    continue;
+                }
+                if (i > startPos) {
+                    CharSequences.writeCharSequence(writer, str, startPos, i);
+                }
+                if (replacement.length > 0) {
+                    writer.write(replacement);
+                }
+                startPos = i + 1;
+            }
+            if (n > startPos) {
+                CharSequences.writeCharSequence(writer, str, startPos, n);
+            }
+            return;
+        }
         int i;
         int startPos = -1;
         char prevChar = (char)0;
@@ -165,6 +313,32 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
             return;
         }
         int n = Math.min(buf.length, off + len);
+        ReplacementTable replacementTable = getReplacementTable();
+        if (replacementTable != null) {
+            char[][] table = replacementTable.chars;
+            int startPos = off;
+            for (int i = off; i < n; i++) {
+                char ch = buf[i];
+                char[] replacement = ch < REPLACEMENT_TABLE_SIZE ? table[ch] : PREVIOUS_CHAR_SENSITIVE;
+                if (replacement == null) {
+                    continue;
+                }
+                if (replacement == PREVIOUS_CHAR_SENSITIVE && (replacement = lookupReplacement(ch, i > off ? buf[i - 1] : (char) 0)) == null) {
+                    continue;
+                }
+                if (i > startPos) {
+                    writer.write(buf, startPos, i - startPos);
+                }
+                if (replacement.length > 0) {
+                    writer.write(replacement);
+                }
+                startPos = i + 1;
+            }
+            if (n > startPos) {
+                writer.write(buf, startPos, n - startPos);
+            }
+            return;
+        }
         int i;
         int startPos = -1;
         char prevChar = (char)0;
@@ -204,6 +378,34 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
             return;
         }
         int n = Math.min(str.length(), off + len);
+        ReplacementTable replacementTable = getReplacementTable();
+        if (replacementTable != null) {
+            char[][] table = replacementTable.chars;
+            String[] strings = replacementTable.strings;
+            int startPos = off;
+            for (int i = off; i < n; i++) {
+                char ch = str.charAt(i);
+                char[] replacement = ch < REPLACEMENT_TABLE_SIZE ? table[ch] : PREVIOUS_CHAR_SENSITIVE;
+                if (replacement == null) {
+                    continue;
+                }
+                String escaped = replacement == PREVIOUS_CHAR_SENSITIVE ? escapeCharacter(ch, i > off ? str.charAt(i - 1) : (char) 0) : strings[ch];
+                if (escaped == null) {
+                    continue;
+                }
+                if (i > startPos) {
+                    appender.appendEncoded(thisInstance, encodingState, str, startPos, i - startPos);
+                }
+                if (escaped.length() > 0) {
+                    appender.appendEncoded(thisInstance, encodingState, escaped, 0, escaped.length());
+                }
+                startPos = i + 1;
+            }
+            if (n > startPos) {
+                appender.appendEncoded(thisInstance, encodingState, str, startPos, n - startPos);
+            }
+            return;
+        }
         int i;
         int startPos = -1;
         char prevChar = (char)0;
@@ -256,4 +458,17 @@ public abstract class AbstractCharReplacementEncoder implements Encoder, Streami
     public CodecIdentifier getCodecIdentifier() {
         return codecIdentifier;
     }
+
+    /**
+     * The precomputed replacements of the characters below {@link #REPLACEMENT_TABLE_SIZE}
+     */
+    private static final class ReplacementTable {
+        final char[][] chars;
+        final String[] strings;
+
+        ReplacementTable(char[][] chars, String[] strings) {
+            this.chars = chars;
+            this.strings = strings;
+        }
+    }
 }
@@ -18,8 +18,15 @@ package org.grails.encoder;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ChainedEncoder implements Encoder, StreamingEncoder {
+    private static final int MAX_INTERNED_CHAINS = 1024;
+    // chained encoders are immutable, the same instance is returned for the same encoders so that the codec identifier
+    // and the per thread appender chain aren't created again every time a chain is used
+    private static final ConcurrentMap<ChainKey, ChainedEncoder> INTERNED_CHAINS = new ConcurrentHashMap<ChainKey, ChainedEncoder>();
+
     private final StreamingEncoder[] encoders;
     private final CodecIdentifier combinedCodecIdentifier;
     private final boolean safe;
@@ -83,8 +90,33 @@ public class ChainedEncoder implements Encoder, StreamingEncoder {
                     }
                 }
             }
-            return new ChainedEncoder(encoders, safe != null ? safe : false);
+            return intern(encoders.toArray(new StreamingEncoder[encoders.size()]), safe != null ? safe : false);
+        }
+    }
+
+    private static ChainedEncoder intern(StreamingEncoder[] encoders, boolean safe) {
+        ChainKey key = new ChainKey(encoders, safe);
+        ChainedEncoder chainedEncoder = INTERNED_CHAINS.get(key);
+        if (chainedEncoder == null) {
+            if (INTERNED_CHAINS.size() >= MAX_INTERNED_CHAINS) {
+                // the encoders are replaced when codecs are reloaded, drop the chains of the previous instances
+                INTERNED_CHAINS.clear();
+            }
+            chainedEncoder = new ChainedEncoder(encoders, safe);
+            ChainedEncoder previous = INTERNED_CHAINS.putIfAbsent(key, chainedEncoder);
+            if (previous != null) {
+                chainedEncoder = previous;
+            }
         }
+        return chainedEncoder;
+    }
+
+    /**
+     * Removes the chained encoders that have been created by {@link #createFor(List, Boolean)}, for example after
+     * the codecs were reloaded
+     */
+    public static void clearInternedChains() {
+        INTERNED_CHAINS.clear();
     }
 
     protected CombinedCodecIdentifier createCodecIdentifier(StreamingEncoder[] encoders) {
@@ -153,4 +185,48 @@ public class ChainedEncoder implements Encoder, StreamingEncoder {
     public void markEncoded(CharSequence string) {
         
     }
+
+    /**
+     * Identifies a chain by the identity of its encoders
+     */
+    private static final class ChainKey {
+        private final StreamingEncoder[] encoders;
+        private final boolean safe;
+        private final int hash;
+
+        ChainKey(StreamingEncoder[] encoders, boolean safe) {
+            this.encoders = encoders;
+            this.safe = safe;
+            int h = Boolean.hashCode(safe);
+            for (StreamingEncoder encoder : encoders) {
+                h = 31 * h + System.identityHashCode(encoder);
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChainKey)) {
+                return false;
+            }
+            ChainKey other = (ChainKey) o;
+            if (hash != other.hash || safe != other.safe || encoders.length != other.encoders.length) {
+                return false;
+            }
+            for (int i = 0; i < encoders.length; i++) {
+                if (encoders[i] != other.encoders[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -44,8 +44,25 @@ public class ChainedEncoders {
         return streamingEncoders;
     }
 
+    /**
+     * Like {@link #toStreamingEncoders(List)} but returns the list itself if all of the encoders are streaming
+     * encoders that should be applied, which is the case for the encoders of an encoded buffer
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static List<StreamingEncoder> asStreamingEncoders(List<Encoder> encoders) {
+        if(encoders == null || encoders.isEmpty()) {
+            return null;
+        }
+        for(Encoder encoder : encoders) {
+            if(!(encoder instanceof StreamingEncoder) || !shouldApplyEncoder((StreamingEncoder)encoder)) {
+                return toStreamingEncoders(encoders);
+            }
+        }
+        return (List)encoders;
+    }
+
     public static void chainEncode(StreamEncodeable streamEncodeable, EncodedAppender appender, List<Encoder> encoders) throws IOException {
-        List<StreamingEncoder> streamingEncoders = toStreamingEncoders(encoders);
+        List<StreamingEncoder> streamingEncoders = asStreamingEncoders(encoders);
         if(streamingEncoders != null) {
             chainStreamingEncode(streamEncodeable, appender, streamingEncoders);
         } else {
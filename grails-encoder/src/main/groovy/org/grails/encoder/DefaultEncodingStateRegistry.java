@@ -17,80 +17,138 @@ package org.grails.encoder;
 
 import org.grails.encoder.impl.BasicCodecLookup;
 import org.grails.encoder.impl.NoneEncoder;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * default implementation of {@link EncodingStateRegistry}
  *
+ * <p>Encoded char sequences are tracked by identity in an open addressing table of weak references keyed by a
+ * primitive long that combines their content and identity hash codes, so that a char sequence whose content changed
+ * after it was registered is no longer considered to be encoded. The encoders a char sequence was registered with are
+ * kept as a bit set of indices into the encoders seen by this registry. Entries are removed once their char sequence
+ * has been garbage collected, so the registry stays bounded by the number of reachable encoded values.</p>
+ *
+ * <p>Like before, instances are bound to a single request and are not thread-safe.</p>
+ *
  * @author Lari Hotari
  * @since 2.3
  */
 public final class DefaultEncodingStateRegistry implements EncodingStateRegistry {
-    private static final Logger LOG = LoggerFactory.getLogger(DefaultEncodingStateRegistry.class);
-    private Map<Encoder, Map<Long, WeakReference<CharSequence>>> encodedCharSequencesForEncoder = new HashMap<>();
     public static final StreamingEncoder NONE_ENCODER = BasicCodecLookup.NONE_ENCODER;
 
-    private long calculateKey(CharSequence charSequence) {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReferenceQueue<CharSequence> staleReferences = new ReferenceQueue<>();
+    private Encoder[] encoders = new Encoder[4];
+    private EncodingState[] singleEncoderStates = new EncodingState[4];
+    private int encoderCount;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private EncodedReference[] references = new EncodedReference[INITIAL_CAPACITY];
+    private int size;
+
+    private static long calculateKey(CharSequence charSequence) {
         int contentHashCode = charSequence.hashCode();
         int identityHashCode = System.identityHashCode(charSequence);
         // encode both content hash code and identity hash code into a single long value
         return (((long) contentHashCode) << 32) | (identityHashCode & 0xffffffffL);
     }
 
-    private Map<Long, WeakReference<CharSequence>> getEncodedCharSequencesForEncoder(Encoder encoder) {
-        Map<Long, WeakReference<CharSequence>> encodedCharSequences = encodedCharSequencesForEncoder.get(encoder);
-        if (encodedCharSequences == null) {
-            encodedCharSequences = new HashMap<>();
-            encodedCharSequencesForEncoder.put(encoder, encodedCharSequences);
+    private static int slotFor(long key, int mask) {
+        int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private EncodedReference find(CharSequence charSequence) {
+        long key = calculateKey(charSequence);
+        int mask = references.length - 1;
+        for (int i = slotFor(key, mask); ; i = (i + 1) & mask) {
+            EncodedReference reference = references[i];
+            if (reference == null) {
+                return null;
+            }
+            if (keys[i] == key && reference.get() == charSequence) {
+                return reference;
+            }
         }
-        return encodedCharSequences;
+    }
+
+    private int indexOf(Encoder encoder) {
+        for (int i = 0; i < encoderCount; i++) {
+            Encoder candidate = encoders[i];
+            if (candidate == encoder || candidate.equals(encoder)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int register(Encoder encoder) {
+        int index = indexOf(encoder);
+        if (index == -1) {
+            if (encoderCount == encoders.length) {
+                encoders = Arrays.copyOf(encoders, encoderCount * 2);
+                singleEncoderStates = Arrays.copyOf(singleEncoderStates, encoderCount * 2);
+            }
+            index = encoderCount++;
+            encoders[index] = encoder;
+        }
+        return index;
     }
 
     /* (non-Javadoc)
      * @see EncodingStateRegistry#getEncodingStateFor(java.lang.CharSequence)
      */
     public EncodingState getEncodingStateFor(CharSequence string) {
-        Long key = calculateKey(string);
-        Set<Encoder> result = null;
-        for (Map.Entry<Encoder, Map<Long, WeakReference<CharSequence>>> entry : encodedCharSequencesForEncoder.entrySet()) {
-            WeakReference<CharSequence> charSequenceReference = entry.getValue().get(key);
-            if (charSequenceReference != null && string == charSequenceReference.get()) {
-                if (result == null) {
-                    result = Collections.singleton(entry.getKey());
-                } else {
-                    if (result.size() == 1) {
-                        result = new HashSet<Encoder>(result);
-                    }
-                    result.add(entry.getKey());
-                }
+        EncodedReference reference = find(string);
+        if (reference == null) {
+            return EncodingStateImpl.UNDEFINED_ENCODING_STATE;
+        }
+        int single = reference.singleEncoderIndex();
+        if (single > -1) {
+            EncodingState state = singleEncoderStates[single];
+            if (state == null) {
+                state = new EncodingStateImpl(encoders[single], null);
+                singleEncoderStates[single] = state;
             }
+            return state;
         }
-        return result != null ? new EncodingStateImpl(result, null) : EncodingStateImpl.UNDEFINED_ENCODING_STATE;
+        return new EncodingStateImpl(new EncoderSet(encoders, reference.mask, reference.overflowMasks), null);
     }
 
     /* (non-Javadoc)
      * @see EncodingStateRegistry#isEncodedWith(Encoder, java.lang.CharSequence)
      */
     public boolean isEncodedWith(Encoder encoder, CharSequence string) {
-        return getEncodedCharSequencesForEncoder(encoder).containsKey(calculateKey(string));
+        int index = indexOf(encoder);
+        if (index == -1) {
+            return false;
+        }
+        EncodedReference reference = find(string);
+        return reference != null && reference.contains(index);
     }
 
     /* (non-Javadoc)
      * @see EncodingStateRegistry#registerEncodedWith(Encoder, java.lang.CharSequence)
      */
     public void registerEncodedWith(Encoder encoder, CharSequence escaped) {
-        WeakReference<CharSequence> previousValue = getEncodedCharSequencesForEncoder(encoder).put(calculateKey(escaped), new WeakReference<>(escaped));
-        if (previousValue != null && previousValue.get() != escaped) {
-            LOG.warn("Hash collision for encoded value between '{}' and '{}', encoder is {}", escaped, previousValue.get(), encoder);
+        expungeStaleReferences();
+        int index = register(encoder);
+        EncodedReference reference = find(escaped);
+        if (reference == null) {
+            if ((size + 1) * 2 > references.length) {
+                resize(references.length * 2);
+            }
+            reference = new EncodedReference(escaped, calculateKey(escaped), staleReferences);
+            insert(reference);
         }
+        reference.add(index);
     }
 
     /* (non-Javadoc)
@@ -98,8 +156,80 @@ public final class DefaultEncodingStateRegistry implements EncodingStateRegistry
      */
     public boolean shouldEncodeWith(Encoder encoderToApply, CharSequence string) {
         if (isNoneEncoder(encoderToApply)) return false;
-        EncodingState encodingState = getEncodingStateFor(string);
-        return shouldEncodeWith(encoderToApply, encodingState);
+        EncodedReference reference = find(string);
+        if (reference == null) {
+            return true;
+        }
+        // same as shouldEncodeWith(Encoder, EncodingState) without creating the encoding state
+        for (int i = 0; i < encoderCount; i++) {
+            if (reference.contains(i) && isPreviousEncoderSafeOrEqual(encoderToApply, encoders[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of char sequences currently tracked by this registry
+     */
+    int size() {
+        return size;
+    }
+
+    private void insert(EncodedReference reference) {
+        int mask = references.length - 1;
+        int i = slotFor(reference.key, mask);
+        while (references[i] != null) {
+            i = (i + 1) & mask;
+        }
+        references[i] = reference;
+        keys[i] = reference.key;
+        size++;
+    }
+
+    private void resize(int capacity) {
+        EncodedReference[] previous = references;
+        references = new EncodedReference[capacity];
+        keys = new long[capacity];
+        size = 0;
+        for (EncodedReference reference : previous) {
+            // references that were already cleared are dropped, they are ignored once they are dequeued
+            if (reference != null && reference.get() != null) {
+                insert(reference);
+            }
+        }
+    }
+
+    private void expungeStaleReferences() {
+        Reference<? extends CharSequence> stale;
+        while ((stale = staleReferences.poll()) != null) {
+            EncodedReference reference = (EncodedReference) stale;
+            int mask = references.length - 1;
+            for (int i = slotFor(reference.key, mask); references[i] != null; i = (i + 1) & mask) {
+                if (references[i] == reference) {
+                    removeAt(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void removeAt(int slot) {
+        // backward shift deletion keeps the probe sequences intact without tombstones
+        int mask = references.length - 1;
+        int free = slot;
+        references[free] = null;
+        size--;
+        for (int i = (free + 1) & mask; references[i] != null; i = (i + 1) & mask) {
+            int home = slotFor(keys[i], mask);
+            boolean reachable = free <= i ? (home > free && home <= i) : (home > free || home <= i);
+            if (!reachable) {
+                references[free] = references[i];
+                keys[free] = keys[i];
+                references[i] = null;
+                free = i;
+            }
+        }
     }
 
     /**
@@ -136,4 +266,109 @@ public final class DefaultEncodingStateRegistry implements EncodingStateRegistry
         return previousEncoder == encoderToApply || !encoderToApply.isApplyToSafelyEncoded() && previousEncoder.isSafe() && encoderToApply.isSafe()
                 || previousEncoder.getCodecIdentifier().isEquivalent(encoderToApply.getCodecIdentifier());
     }
+
+    /**
+     * A weak reference to an encoded char sequence together with the bit set of the encoders it was encoded with
+     */
+    private static final class EncodedReference extends WeakReference<CharSequence> {
+        final long key;
+        long mask;
+        long[] overflowMasks;
+
+        EncodedReference(CharSequence referent, long key, ReferenceQueue<CharSequence> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+
+        void add(int index) {
+            if (index < 64) {
+                mask |= 1L << index;
+                return;
+            }
+            int word = (index >> 6) - 1;
+            if (overflowMasks == null || overflowMasks.length <= word) {
+                overflowMasks = overflowMasks == null ? new long[word + 1] : Arrays.copyOf(overflowMasks, word + 1);
+            }
+            overflowMasks[word] |= 1L << index;
+        }
+
+        boolean contains(int index) {
+            return EncoderSet.contains(mask, overflowMasks, index);
+        }
+
+        int singleEncoderIndex() {
+            if (overflowMasks == null && Long.bitCount(mask) == 1) {
+                return Long.numberOfTrailingZeros(mask);
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * An immutable set of encoders backed by a snapshot of a bit set of encoder indices
+     */
+    private static final class EncoderSet extends AbstractSet<Encoder> {
+        private final Encoder[] encoders;
+        private final long mask;
+        private final long[] overflowMasks;
+        private final int size;
+
+        EncoderSet(Encoder[] encoders, long mask, long[] overflowMasks) {
+            this.encoders = encoders;
+            this.mask = mask;
+            this.overflowMasks = overflowMasks != null ? overflowMasks.clone() : null;
+            int count = Long.bitCount(mask);
+            if (overflowMasks != null) {
+                for (long word : overflowMasks) {
+                    count += Long.bitCount(word);
+                }
+            }
+            this.size = count;
+        }
+
+        static boolean contains(long mask, long[] overflowMasks, int index) {
+            if (index < 64) {
+                return (mask & (1L << index)) != 0;
+            }
+            int word = (index >> 6) - 1;
+            return overflowMasks != null && word < overflowMasks.length && (overflowMasks[word] & (1L << index)) != 0;
+        }
+
+        @Override
+        public Iterator<Encoder> iterator() {
+            return new Iterator<Encoder>() {
+                private int index = advance(0);
+
+                private int advance(int from) {
+                    int limit = 64 * (1 + (overflowMasks != null ? overflowMasks.length : 0));
+                    for (int i = from; i < limit; i++) {
+                        if (contains(mask, overflowMasks, i)) {
+                            return i;
+                        }
+                    }
+                    return -1;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return index != -1;
+                }
+
+                @Override
+                public Encoder next() {
+                    if (index == -1) {
+                        throw new NoSuchElementException();
+                    }
+                    Encoder encoder = encoders[index];
+                    index = advance(index + 1);
+                    return encoder;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
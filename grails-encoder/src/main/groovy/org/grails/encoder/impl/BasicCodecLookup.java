@@ -167,6 +167,7 @@ public class BasicCodecLookup implements CodecLookup, InitializingBean {
     public void reInitialize() {
         encoders.clear(); ;
         decoders.clear();
+        ChainedEncoder.clearInternedChains();
         registerCodecs();
     }
     
@@ -82,6 +82,14 @@ public class BasicJSONEncoder extends AbstractCharReplacementEncoder {
         return null;
     }
 
+    /* (non-Javadoc)
+     * @see AbstractCharReplacementEncoder#getPreviousCharSensitiveCharacters()
+     */
+    @Override
+    protected char[] getPreviousCharSensitiveCharacters() {
+        return new char[] { '/' };
+    }
+
     @Override
     public boolean isApplyToSafelyEncoded() {
         return true;
@@ -83,6 +83,14 @@ public class BasicXMLEncoder extends AbstractCharReplacementEncoder {
       }
       return null;
     }
+
+    /* (non-Javadoc)
+     * @see AbstractCharReplacementEncoder#getPreviousCharSensitiveCharacters()
+     */
+    @Override
+    protected char[] getPreviousCharSensitiveCharacters() {
+        return new char[0];
+    }
     
     @Override
     public final Object encode(Object o) {
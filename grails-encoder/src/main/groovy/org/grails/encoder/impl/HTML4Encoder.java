@@ -64,6 +64,14 @@ public class HTML4Encoder extends AbstractCharReplacementEncoder {
         return replacement != NULL_MARKER ? replacement : null;
     }
 
+    /* (non-Javadoc)
+     * @see AbstractCharReplacementEncoder#getPreviousCharSensitiveCharacters()
+     */
+    @Override
+    protected char[] getPreviousCharSensitiveCharacters() {
+        return new char[0];
+    }
+
     /**
      * Calls Spring's HtmlUtils's private method to convert characters to HTML entities.
      */
@@ -107,6 +107,14 @@ public class JavaScriptEncoder extends AbstractCharReplacementEncoder {
         return null;
     }
 
+    /* (non-Javadoc)
+     * @see AbstractCharReplacementEncoder#getPreviousCharSensitiveCharacters()
+     */
+    @Override
+    protected char[] getPreviousCharSensitiveCharacters() {
+        return new char[] { '\n' };
+    }
+
     @Override
     public boolean isApplyToSafelyEncoded() {
         return true;
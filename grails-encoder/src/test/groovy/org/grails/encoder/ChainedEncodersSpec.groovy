@@ -42,6 +42,20 @@ class ChainedEncodersSpec extends Specification {
             resultStr != unescapedStr
     }
 
+    def "chained encoders should be reused for the same encoders"() {
+        given:
+            def htmlEncoder = new HTMLEncoder()
+            def javaScriptEncoder = new JavaScriptEncoder()
+        when:
+            def chained = ChainedEncoder.createFor([htmlEncoder, javaScriptEncoder] as List<StreamingEncoder>)
+        then:
+            chained instanceof ChainedEncoder
+            chained.is(ChainedEncoder.createFor([htmlEncoder, javaScriptEncoder] as List<StreamingEncoder>))
+            !chained.is(ChainedEncoder.createFor([javaScriptEncoder, htmlEncoder] as List<StreamingEncoder>))
+            !chained.is(ChainedEncoder.createFor([htmlEncoder, new JavaScriptEncoder()] as List<StreamingEncoder>))
+            chained.codecIdentifier.codecName == 'HTMLAndJavaScript'
+    }
+
     def "chaining StreamingEncoders should be possible"() {
         given:
             def encoders = [new HTMLEncoder(), new JavaScriptEncoder()]
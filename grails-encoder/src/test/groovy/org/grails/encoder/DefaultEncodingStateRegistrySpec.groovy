@@ -1,6 +1,7 @@
 package org.grails.encoder
 
 import org.grails.encoder.impl.HTMLEncoder
+import org.grails.encoder.impl.JavaScriptEncoder
 import org.grails.encoder.impl.NoneEncoder
 import spock.lang.Issue
 import spock.lang.Specification
@@ -39,4 +40,107 @@ class DefaultEncodingStateRegistrySpec extends Specification {
         encodingStateRegistry.getEncodingStateFor(string1).getEncoders() == [htmlEncoder] as Set
         encodingStateRegistry.getEncodingStateFor(string2).getEncoders() == [noneEncoder] as Set
     }
+
+    void "encoding state should contain every encoder a value was registered with"() {
+        given:
+        DefaultEncodingStateRegistry encodingStateRegistry = new DefaultEncodingStateRegistry()
+        HTMLEncoder htmlEncoder = new HTMLEncoder()
+        JavaScriptEncoder javaScriptEncoder = new JavaScriptEncoder()
+        def value = new StringBuilder('Hello')
+
+        when:
+        encodingStateRegistry.registerEncodedWith(htmlEncoder, value)
+
+        then:
+        encodingStateRegistry.getEncodingStateFor(value).is(encodingStateRegistry.getEncodingStateFor(value))
+        encodingStateRegistry.isEncodedWith(htmlEncoder, value)
+        !encodingStateRegistry.isEncodedWith(javaScriptEncoder, value)
+        !encodingStateRegistry.shouldEncodeWith(htmlEncoder, value)
+
+        when:
+        encodingStateRegistry.registerEncodedWith(javaScriptEncoder, value)
+
+        then:
+        encodingStateRegistry.getEncodingStateFor(value).getEncoders() == [htmlEncoder, javaScriptEncoder] as Set
+        encodingStateRegistry.isEncodedWith(javaScriptEncoder, value)
+        !encodingStateRegistry.shouldEncodeWith(javaScriptEncoder, value)
+    }
+
+    void "encoding state should be reset when the content of a value changes"() {
+        given:
+        DefaultEncodingStateRegistry encodingStateRegistry = new DefaultEncodingStateRegistry()
+        HTMLEncoder htmlEncoder = new HTMLEncoder()
+        def value = new MutableCharSequence('Hello')
+        encodingStateRegistry.registerEncodedWith(htmlEncoder, value)
+
+        when:
+        value.append(' & hi')
+
+        then:
+        encodingStateRegistry.getEncodingStateFor(value) == EncodingStateImpl.UNDEFINED_ENCODING_STATE
+        encodingStateRegistry.shouldEncodeWith(htmlEncoder, value)
+    }
+
+    void "values that were garbage collected should be removed from the registry"() {
+        given:
+        DefaultEncodingStateRegistry encodingStateRegistry = new DefaultEncodingStateRegistry()
+        HTMLEncoder htmlEncoder = new HTMLEncoder()
+        int count = 10000
+
+        when:
+        for (int i = 0; i < count; i++) {
+            encodingStateRegistry.registerEncodedWith(htmlEncoder, "value_${i}".toString())
+        }
+        for (int attempt = 0; attempt < 50 && encodingStateRegistry.size() >= count; attempt++) {
+            System.gc()
+            Thread.sleep(10)
+            encodingStateRegistry.registerEncodedWith(htmlEncoder, "value_${attempt}".toString())
+        }
+
+        then:
+        encodingStateRegistry.size() < count
+    }
+
+    static class MutableCharSequence implements CharSequence {
+        private final StringBuilder builder
+
+        MutableCharSequence(String value) {
+            builder = new StringBuilder(value)
+        }
+
+        MutableCharSequence append(String value) {
+            builder.append(value)
+            this
+        }
+
+        @Override
+        int length() {
+            builder.length()
+        }
+
+        @Override
+        char charAt(int index) {
+            builder.charAt(index)
+        }
+
+        @Override
+        CharSequence subSequence(int start, int end) {
+            builder.subSequence(start, end)
+        }
+
+        @Override
+        int hashCode() {
+            builder.toString().hashCode()
+        }
+
+        @Override
+        boolean equals(Object obj) {
+            this.is(obj)
+        }
+
+        @Override
+        String toString() {
+            builder.toString()
+        }
+    }
 }
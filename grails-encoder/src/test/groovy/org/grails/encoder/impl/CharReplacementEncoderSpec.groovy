@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.encoder.impl
+
+import org.grails.encoder.AbstractCharReplacementEncoder
+import org.grails.encoder.EncodedAppender
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CharReplacementEncoderSpec extends Specification {
+
+    static final String ALPHABET = "abcXYZ 019<>&'\"\\/\n\r\t\u0000\u001f\u007f   €=-`;:{}[]"
+
+    @Unroll
+    def "table driven encoding should produce the same output as the character loop for #encoderName"() {
+        given:
+            AbstractCharReplacementEncoder legacy = legacyEncoder(encoderClass)
+            AbstractCharReplacementEncoder encoder = encoderClass.newInstance()
+            Random random = new Random(20240101)
+        expect:
+            (0..<500).every {
+                String input = randomString(random, random.nextInt(40))
+                int off = input ? random.nextInt(input.length()) : 0
+                int len = input ? random.nextInt(input.length() - off + 1) : 0
+                encoder.encode(input) == legacy.encode(input) &&
+                    writerEncode(encoder, input, off, len) == writerEncode(legacy, input, off, len) &&
+                    charArrayWriterEncode(encoder, input, off, len) == charArrayWriterEncode(legacy, input, off, len) &&
+                    streamEncode(encoder, input, off, len) == streamEncode(legacy, input, off, len)
+            }
+        where:
+            encoderClass << [HTMLEncoder, HTML4Encoder, BasicXMLEncoder, BasicJSONEncoder, JavaScriptEncoder]
+            encoderName = encoderClass.simpleName
+    }
+
+    def "subclasses overriding escapeCharacter without opting in should keep using their replacements"() {
+        given:
+            def encoder = new HTMLEncoder() {
+                @Override
+                protected String escapeCharacter(char ch, char previousChar) {
+                    ch == 'x' as char ? '[x]' : super.escapeCharacter(ch, previousChar)
+                }
+            }
+            StringWriter writer = new StringWriter()
+        when:
+            encoder.encodeToWriter('x<y', 0, 3, writer, null)
+        then:
+            encoder.encode('x<y') == '[x]&lt;y'
+            writer.toString() == '[x]&lt;y'
+    }
+
+    private static AbstractCharReplacementEncoder legacyEncoder(Class<? extends AbstractCharReplacementEncoder> encoderClass) {
+        switch (encoderClass) {
+            case HTMLEncoder: return new HTMLEncoder() { protected char[] getPreviousCharSensitiveCharacters() { null } }
+            case HTML4Encoder: return new HTML4Encoder() { protected char[] getPreviousCharSensitiveCharacters() { null } }
+            case BasicXMLEncoder: return new BasicXMLEncoder() { protected char[] getPreviousCharSensitiveCharacters() { null } }
+            case BasicJSONEncoder: return new BasicJSONEncoder() { protected char[] getPreviousCharSensitiveCharacters() { null } }
+            default: return new JavaScriptEncoder() { protected char[] getPreviousCharSensitiveCharacters() { null } }
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length)
+        length.times { sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length()))) }
+        sb.toString()
+    }
+
+    private static String writerEncode(AbstractCharReplacementEncoder encoder, String input, int off, int len) {
+        StringWriter writer = new StringWriter()
+        encoder.encodeToWriter(input, off, len, writer, null)
+        writer.toString()
+    }
+
+    private static String charArrayWriterEncode(AbstractCharReplacementEncoder encoder, String input, int off, int len) {
+        StringWriter writer = new StringWriter()
+        encoder.encodeToWriter(input.toCharArray(), off, len, writer, null)
+        writer.toString()
+    }
+
+    private static String streamEncode(AbstractCharReplacementEncoder encoder, String input, int off, int len) {
+        StringBuilder sb = new StringBuilder()
+        EncodedAppender appender = [
+            appendEncoded: { source, state, str, int o, int l ->
+                sb.append(str instanceof char[] ? new String((char[]) str, o, l) : str.toString().substring(o, o + l))
+            }
+        ] as EncodedAppender
+        encoder.encodeToStream(encoder, input, off, len, appender, null)
+        sb.toString()
+    }
+}
@@ -15,7 +15,6 @@
  */
 package grails.artefact.controller.support
 
-import grails.io.IOUtils
 import grails.plugins.GrailsPlugin
 import grails.plugins.GrailsPluginManager
 import grails.util.GrailsStringUtils
@@ -30,9 +29,11 @@ import groovy.transform.Generated
 import groovy.xml.slurpersupport.GPathResult
 import groovy.xml.StreamingMarkupBuilder
 import org.grails.gsp.GroovyPageTemplate
-import org.grails.io.support.SpringIOUtils
+import org.grails.plugins.web.controllers.FileResponseRenderer
 import org.grails.web.json.JSONElement
 import org.grails.web.servlet.mvc.ActionResultTransformer
+import org.grails.web.servlet.mvc.DispatchInstrumentation
+import org.grails.web.servlet.mvc.DispatchPhase
 import org.grails.web.servlet.mvc.GrailsWebRequest
 import org.grails.web.servlet.mvc.exceptions.ControllerExecutionException
 import org.grails.web.servlet.view.CompositeViewResolver
@@ -49,6 +50,7 @@ import org.springframework.web.servlet.View
 
 import jakarta.servlet.http.HttpServletRequest
 import jakarta.servlet.http.HttpServletResponse
+import java.nio.file.Path
 
 import static org.grails.plugins.web.controllers.metaclass.RenderDynamicMethod.*
 /**
@@ -125,6 +127,24 @@ trait ResponseRenderer extends WebAttributes {
      */
     @Generated
     void render(Map argMap, @DelegatesTo(strategy = Closure.DELEGATE_FIRST) Closure closure) {
+        if (!DispatchInstrumentation.isEnabled()) {
+            renderClosureInternal(argMap, closure)
+            return
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.RENDERING)
+        try {
+            renderClosureInternal(argMap, closure)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
+
+    private void renderClosureInternal(Map argMap, Closure closure) {
         GrailsWebRequest webRequest = (GrailsWebRequest)RequestContextHolder.currentRequestAttributes()
         HttpServletResponse response = webRequest.currentResponse
         String explicitSiteMeshLayout = argMap[ARGUMENT_LAYOUT]?.toString() ?: null
@@ -218,6 +238,24 @@ trait ResponseRenderer extends WebAttributes {
      */
     @Generated
     void render(Map argMap) {
+        if (!DispatchInstrumentation.isEnabled()) {
+            renderInternal(argMap)
+            return
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.RENDERING)
+        try {
+            renderInternal(argMap)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
+
+    private void renderInternal(Map argMap) {
         GrailsWebRequest webRequest = (GrailsWebRequest)RequestContextHolder.currentRequestAttributes()
         HttpServletResponse response = webRequest.currentResponse
         String explicitSiteMeshLayout = argMap[ARGUMENT_LAYOUT]?.toString() ?: null
@@ -352,7 +390,7 @@ trait ResponseRenderer extends WebAttributes {
 
             def o = argMap[ARGUMENT_FILE]
             def fnO = argMap[ARGUMENT_FILE_NAME]
-            String fileName = fnO ? fnO.toString() : ((o instanceof File) ? ((File)o).name : null )
+            String fileName = fnO ? fnO.toString() : ((o instanceof File) ? ((File)o).name : (o instanceof Path) ? ((Path)o).fileName?.toString() : null )
             if (o) {
                 boolean hasContentType = applyContentType(response, argMap, null, false)
                 if (fileName) {
@@ -371,18 +409,21 @@ trait ResponseRenderer extends WebAttributes {
                 InputStream input
                 try {
                     if (o instanceof File) {
-                        input = IOUtils.openStream(o)
+                        FileResponseRenderer.renderFile(webRequest.currentRequest, response, ((File)o).toPath(), statusSet)
+                    }
+                    else if (o instanceof Path) {
+                        FileResponseRenderer.renderFile(webRequest.currentRequest, response, (Path)o, statusSet)
                     }
                     else if (o instanceof InputStream) {
                         input = (InputStream)o
+                        FileResponseRenderer.renderStream(response, input)
                     }
                     else if (o instanceof byte[]) {
-                        input = new ByteArrayInputStream((byte[])o)
+                        FileResponseRenderer.renderBytes(response, (byte[])o)
                     }
                     else {
-                        input = IOUtils.openStream(new File(o.toString()))
+                        FileResponseRenderer.renderFile(webRequest.currentRequest, response, new File(o.toString()).toPath(), statusSet)
                     }
-                    SpringIOUtils.copy input, response.getOutputStream()
                 } catch (IOException e) {
                     throw new ControllerExecutionException(
                             "I/O error copying file to response: ${e.message}", e)
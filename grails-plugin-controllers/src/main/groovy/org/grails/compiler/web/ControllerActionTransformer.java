@@ -26,6 +26,7 @@ import grails.util.TypeConvertingMap;
 import grails.validation.Validateable;
 import grails.web.Action;
 import grails.web.RequestParameter;
+import grails.web.controllers.CachedResponse;
 import grails.web.controllers.ControllerMethod;
 import groovy.lang.Closure;
 import groovy.transform.CompilationUnitAware;
@@ -266,11 +267,16 @@ public class ControllerActionTransformer implements GrailsArtefactClassInjector,
                         GrailsASTUtils.error(source, method, message);
                     }
                 }
+                validateCachedResponse(method, source);
                 MethodNode wrapperMethod = convertToMethodAction(classNode, method, source, context);
                 if (wrapperMethod != null) {
                     deferredNewMethods.add(wrapperMethod);
                 }
             }
+            else if (hasAnnotation(method, CachedResponse.class) && !hasAnnotation(method, Action.class) && !isExceptionHandlingMethod(method)) {
+                GrailsASTUtils.error(source, method, "The @CachedResponse annotation can only be applied to controller actions, [" +
+                        method.getName() + "] in [" + classNode.getName() + "] is not an action.");
+            }
         }
         Collection<MethodNode> exceptionHandlerMethods = getExceptionHandlerMethods(classNode, source);
 
@@ -298,6 +304,30 @@ public class ControllerActionTransformer implements GrailsArtefactClassInjector,
         }
     }
 
+    /**
+     * Checks the members of the {@link CachedResponse} annotation of an action, if it has one. The version closure
+     * is compiled to a class by Groovy and instantiated by the {@link org.grails.web.servlet.mvc.ActionResponseCache}
+     * with the controller as its owner.
+     *
+     * @param method The action method
+     * @param source The source unit
+     */
+    protected void validateCachedResponse(final MethodNode method, final SourceUnit source) {
+        for (AnnotationNode annotation : method.getAnnotations(new ClassNode(CachedResponse.class))) {
+            Expression version = annotation.getMember("version");
+            if (version != null && !(version instanceof ClosureExpression)) {
+                GrailsASTUtils.error(source, annotation, "The version of @CachedResponse on action [" + method.getName() +
+                        "] must be a closure, e.g. @CachedResponse(version = { Book.get(params.id)?.version })");
+            }
+            Expression ttl = annotation.getMember("ttl");
+            if (ttl instanceof ConstantExpression && ((ConstantExpression) ttl).getValue() instanceof Number &&
+                    ((Number) ((ConstantExpression) ttl).getValue()).intValue() <= 0) {
+                GrailsASTUtils.error(source, annotation, "The ttl of @CachedResponse on action [" + method.getName() +
+                        "] must be a positive number of seconds");
+            }
+        }
+    }
+
     /**
      * 
      * @param method a potential controller action method
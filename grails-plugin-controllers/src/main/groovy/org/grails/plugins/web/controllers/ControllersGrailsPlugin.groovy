@@ -26,8 +26,10 @@ import org.grails.plugins.web.servlet.context.BootStrapClassRunner
 import org.grails.config.http.GrailsFilters
 import org.grails.web.errors.GrailsExceptionResolver
 import org.grails.web.filters.HiddenHttpMethodFilter
+import org.grails.web.servlet.mvc.ActionResponseCache
 import org.grails.web.servlet.mvc.GrailsDispatcherServlet
 import org.grails.web.servlet.mvc.GrailsWebRequestFilter
+import org.grails.web.servlet.mvc.MicrometerDispatchObserver
 import org.grails.web.servlet.mvc.TokenResponseActionResultTransformer
 import org.grails.web.servlet.view.CompositeViewResolver
 import org.springframework.beans.factory.support.AbstractBeanDefinition
@@ -78,6 +80,10 @@ class ControllersGrailsPlugin extends Plugin {
         int resourcesCachePeriod = config.getProperty(Settings.RESOURCES_CACHE_PERIOD, Integer, 0)
         boolean resourcesEnabled = config.getProperty(Settings.RESOURCES_ENABLED, Boolean, true)
         String resourcesPattern = config.getProperty(Settings.RESOURCES_PATTERN, String, Settings.DEFAULT_RESOURCE_PATTERN)
+        boolean dispatchMetricsEnabled = config.getProperty(Settings.WEB_DISPATCH_METRICS_ENABLED, Boolean, false)
+        boolean responseCacheEnabled = config.getProperty(Settings.WEB_RESPONSE_CACHE_ENABLED, Boolean, true)
+        long responseCacheMaximumWeight = config.getProperty(Settings.WEB_RESPONSE_CACHE_MAXIMUM_WEIGHT, Long, ActionResponseCache.DEFAULT_MAXIMUM_WEIGHT)
+        boolean requestContextInheritable = config.getProperty(Settings.WEB_REQUEST_CONTEXT_INHERITABLE, Boolean, false)
 
         if (!Boolean.parseBoolean(System.getProperty(Settings.SETTING_SKIP_BOOTSTRAP))) {
             bootStrapClassRunner(BootStrapClassRunner)
@@ -85,6 +91,17 @@ class ControllersGrailsPlugin extends Plugin {
 
         tokenResponseActionResultTransformer(TokenResponseActionResultTransformer)
 
+        if (dispatchMetricsEnabled && ClassUtils.isPresent("io.micrometer.core.instrument.MeterRegistry", application.classLoader)) {
+            // registers itself for instrumentation once it is bound to the meter registry
+            grailsDispatchObserver(MicrometerDispatchObserver)
+        }
+
+        if (responseCacheEnabled) {
+            grailsActionResponseCache(ActionResponseCache) {
+                maximumWeight = responseCacheMaximumWeight
+            }
+        }
+
         def catchAllMapping = [Settings.DEFAULT_WEB_SERVLET_PATH]
 
         characterEncodingFilter(FilterRegistrationBean) {
@@ -103,7 +120,9 @@ class ControllersGrailsPlugin extends Plugin {
         }
 
         grailsWebRequestFilter(FilterRegistrationBean) {
-            filter = bean(GrailsWebRequestFilter)
+            filter = bean(GrailsWebRequestFilter) {
+                threadContextInheritable = requestContextInheritable
+            }
             urlPatterns = catchAllMapping
             order = GrailsFilters.GRAILS_WEB_REQUEST_FILTER.order
             dispatcherTypes = EnumSet.of(
@@ -135,7 +154,9 @@ class ControllersGrailsPlugin extends Plugin {
         webMvcConfig(GrailsWebMvcConfigurer, resourcesCachePeriod, resourcesEnabled, resourcesPattern)
 
         // add the dispatcher servlet
-        dispatcherServlet(GrailsDispatcherServlet)
+        dispatcherServlet(GrailsDispatcherServlet) {
+            threadContextInheritable = requestContextInheritable
+        }
         dispatcherServletRegistration(DispatcherServletRegistrationBean, ref("dispatcherServlet"), grailsServletPath) {
             loadOnStartup = 2
             asyncSupported = true
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.plugins.web.controllers;
+
+import grails.web.http.HttpHeaders;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes files, byte arrays and streams to the response for {@code render(file: ...)}.
+ *
+ * <p>Files are transferred with {@link FileChannel#transferTo(long, long, WritableByteChannel)} to a channel over the
+ * output stream of the response, so that only the requested range of the file is read, in chunks. This isn't a
+ * zero-copy transfer, the bytes still pass through the output stream, which keeps filters that wrap the response
+ * working. For GET and HEAD requests without an explicit status, the file's size and last modified time are used to
+ * answer conditional requests ({@code If-None-Match} and {@code If-Modified-Since}) and single byte ranges
+ * ({@code Range} and {@code If-Range}).</p>
+ *
+ * <p>Streams are copied through a small pool of reusable buffers and byte arrays are written directly with their
+ * {@code Content-Length}. The output stream of the response is closed once the body has been written, or writing it
+ * failed.</p>
+ *
+ * @since 7.0
+ */
+public class FileResponseRenderer {
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 16;
+    private static final String BYTES_UNIT = "bytes";
+    private static final String RANGE_PREFIX = BYTES_UNIT + "=";
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private static final BlockingQueue<byte[]> BUFFER_POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    private FileResponseRenderer() {
+    }
+
+    /**
+     * Writes the given file, honouring conditional and range requests unless a status was explicitly set
+     *
+     * @param request The request
+     * @param response The response
+     * @param file The file to write
+     * @param statusSet Whether the status of the response was set explicitly
+     * @throws IOException If the file couldn't be read, was truncated while it was written or the response couldn't be
+     * written
+     */
+    public static void renderFile(HttpServletRequest request, HttpServletResponse response, Path file, boolean statusSet) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            String method = request.getMethod();
+            boolean head = "HEAD".equalsIgnoreCase(method);
+            long start = 0;
+            long end = length - 1;
+
+            if (!statusSet && (head || "GET".equalsIgnoreCase(method))) {
+                String etag = createETag(length, lastModified);
+                response.setHeader(HttpHeaders.ETAG, etag);
+                response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+                response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+
+                if (isNotModified(request, etag, lastModified)) {
+                    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+
+                String range = request.getHeader(HttpHeaders.RANGE);
+                if (range != null && isRangeApplicable(request, etag, lastModified)) {
+                    long[] bounds = parseRange(range, length);
+                    if (bounds == UNSATISFIABLE) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return;
+                    }
+                    if (bounds != null) {
+                        start = bounds[0];
+                        end = bounds[1];
+                        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " " + start + "-" + end + "/" + length);
+                    }
+                }
+            }
+
+            long count = end - start + 1;
+            response.setContentLengthLong(count);
+            if (head || count == 0) {
+                return;
+            }
+
+            try (OutputStream out = response.getOutputStream()) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = start;
+                long remaining = count;
+                while (remaining > 0) {
+                    long transferred = channel.transferTo(position, remaining, target);
+                    if (transferred <= 0) {
+                        // fewer bytes than the Content-Length were written, the client must not take them for the file
+                        throw new EOFException("File [" + file + "] was truncated while it was written, " + remaining + " of " + count + " bytes are missing");
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the given bytes with their {@code Content-Length}
+     *
+     * @param response The response
+     * @param bytes The bytes to write
+     * @throws IOException If the response couldn't be written
+     */
+    public static void renderBytes(HttpServletResponse response, byte[] bytes) throws IOException {
+        response.setContentLength(bytes.length);
+        try (OutputStream out = response.getOutputStream()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Copies the given stream to the response. The stream isn't closed.
+     *
+     * @param response The response
+     * @param input The stream to copy
+     * @throws IOException If the stream couldn't be read or the response couldn't be written
+     */
+    public static void renderStream(HttpServletResponse response, InputStream input) throws IOException {
+        byte[] buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+        try (OutputStream out = response.getOutputStream()) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        finally {
+            BUFFER_POOL.offer(buffer);
+        }
+    }
+
+    /**
+     * Creates a strong entity tag from the size and last modified time of a file
+     *
+     * @param length The size of the file
+     * @param lastModified The last modified time in milliseconds
+     * @return The quoted entity tag
+     */
+    static String createETag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-Modified-Since is ignored when If-None-Match is present, see RFC 9110 section 13.1.3
+            return matchesETag(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = getDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // HTTP dates have a resolution of one second
+        return ifModifiedSince != -1 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong comparison
+            return ifRange.equals(etag);
+        }
+        long date = getDateHeader(request, HttpHeaders.IF_RANGE);
+        return date != -1 && lastModified / 1000 == date / 1000;
+    }
+
+    /**
+     * Uses the weak comparison required for If-None-Match
+     */
+    private static boolean matchesETag(String header, String etag) {
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (stripWeakPrefix(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        }
+        catch (IllegalArgumentException e) {
+            // a malformed date is treated as if the header wasn't sent
+            return -1;
+        }
+    }
+
+    /**
+     * Parses a single byte range. Multiple ranges and malformed headers are ignored, in which case the whole
+     * file is sent, as permitted by RFC 9110.
+     *
+     * @return The inclusive bounds, {@link #UNSATISFIABLE} or null if the range should be ignored
+     */
+    static long[] parseRange(String header, long length) {
+        String range = header.trim();
+        if (!range.regionMatches(true, 0, RANGE_PREFIX, 0, RANGE_PREFIX.length())) {
+            return null;
+        }
+        range = range.substring(RANGE_PREFIX.length()).trim();
+        if (range.indexOf(',') != -1) {
+            return null;
+        }
+        int dash = range.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+        try {
+            String first = range.substring(0, dash).trim();
+            String last = range.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                if (last.isEmpty()) {
+                    return null;
+                }
+                // a suffix range, i.e. the last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            }
+            else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (start < 0 || (!last.isEmpty() && Long.parseLong(last) < start)) {
+                    return null;
+                }
+                if (start >= length) {
+                    return UNSATISFIABLE;
+                }
+            }
+            return new long[] { start, end };
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
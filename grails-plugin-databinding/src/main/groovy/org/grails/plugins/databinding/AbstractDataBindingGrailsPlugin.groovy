@@ -16,6 +16,7 @@
 package org.grails.plugins.databinding
 
 import grails.config.Settings
+import grails.databinding.SimpleDataBinder
 import grails.plugins.Plugin
 import grails.util.GrailsUtil
 import grails.web.databinding.DataBindingUtils
@@ -53,6 +54,7 @@ abstract class AbstractDataBindingGrailsPlugin extends Plugin {
     public static final List<String> DEFAULT_DATE_FORMATS = ['yyyy-MM-dd HH:mm:ss.S',"yyyy-MM-dd'T'HH:mm:ss'Z'","yyyy-MM-dd HH:mm:ss.S z","yyyy-MM-dd'T'HH:mm:ss.SSSX", DEFAULT_JSR310_OFFSET_ZONED_DATE_TIME_FORMAT, DEFAULT_JSR310_OFFSET_TIME_FORMAT, DEFAULT_JSR310_LOCAL_DATE_TIME_FORMAT, DEFAULT_JSR310_LOCAL_DATE_FORMAT, DEFAULT_JSR310_LOCAL_TIME_FORMAT]
 
     def version = GrailsUtil.getGrailsVersion()
+    def observe = ['domainClass', 'controllers']
 
     @Override
     Closure doWithSpring() {{->
@@ -114,4 +116,15 @@ abstract class AbstractDataBindingGrailsPlugin extends Plugin {
         defaultCurrencyConverter CurrencyValueConverter
     }}
 
+    @Override
+    void onChange(Map<String, Object> event) {
+        // the binding plans reference the classes that were bound to before the reload
+        def ctx = applicationContext
+        if (ctx != null && ctx.containsBean(DataBindingUtils.DATA_BINDER_BEAN_NAME)) {
+            def dataBinder = ctx.getBean(DataBindingUtils.DATA_BINDER_BEAN_NAME)
+            if (dataBinder instanceof SimpleDataBinder) {
+                ((SimpleDataBinder) dataBinder).clearBindingPlans()
+            }
+        }
+    }
 }
@@ -52,7 +52,7 @@ class DataSourceConnectionSourcesFactoryBean implements InitializingBean, Factor
 
     @Override
     void afterPropertiesSet() throws Exception {
-        DataSourceConnectionSourceFactory factory = new DataSourceConnectionSourceFactory()
+        DataSourceConnectionSourceFactory factory = new ReplicaDataSourceConnectionSourceFactory(configuration)
         this.connectionSources = ConnectionSourcesInitializer.create(factory, configuration)
         if(applicationContext instanceof ConfigurableApplicationContext) {
             ConfigurableApplicationContext configurableApplicationContext = (ConfigurableApplicationContext)applicationContext
@@ -15,6 +15,7 @@
  */
 package org.grails.plugins.datasource
 
+import grails.config.Settings
 import grails.core.GrailsApplication
 import grails.plugins.Plugin
 import grails.util.Environment
@@ -76,6 +77,11 @@ class DataSourceGrailsPlugin extends Plugin {
             }
         }
 
+        boolean micrometerPresent = ClassUtils.isPresent('io.micrometer.core.instrument.MeterRegistry', application.classLoader)
+        if (micrometerPresent && config.getProperty(Settings.DATASOURCE_METRICS_ENABLED, Boolean, true)) {
+            dataSourcePoolMetrics(DataSourcePoolMetrics)
+        }
+
         if(config.getProperty('dataSource.jmxExport', Boolean, false) && ClassUtils.isPresent('org.apache.tomcat.jdbc.pool.DataSource', getClass().classLoader)) {
             try {
                 def jmxMBeanServer = JmxUtils.locateMBeanServer()
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.plugins.datasource;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.grails.datastore.mapping.core.connections.ConnectionSource;
+import org.grails.datastore.mapping.core.connections.ConnectionSources;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Binds the connection pools of the data sources, i.e. the {@link ConnectionSource connection sources} configured
+ * with {@code dataSource} or {@code dataSources} and any other {@link DataSource} beans, to a Micrometer
+ * {@link MeterRegistry}. HikariCP, Tomcat JDBC and Commons DBCP2 pools are supported.
+ *
+ * <p>The meters follow the names used by Spring Boot and are tagged with the name of the data source, e.g.
+ * {@code dataSource} or {@code dataSource_books}:</p>
+ * <ul>
+ *     <li>{@code jdbc.connections.active}, {@code jdbc.connections.idle}, {@code jdbc.connections.max} and
+ *     {@code jdbc.connections.min}: gauges of the number of connections</li>
+ *     <li>{@code jdbc.connections.pending}: a gauge of the number of threads waiting for a connection, DBCP2 doesn't
+ *     provide it</li>
+ *     <li>{@code jdbc.connections.acquire} and {@code jdbc.connections.usage}: timers of how long it takes to
+ *     obtain a connection and how long connections are used, and {@code jdbc.connections.timeout}: a counter of the
+ *     requests for a connection that timed out</li>
+ * </ul>
+ *
+ * <p>The timers are only available for HikariCP pools that don't have a metrics tracker or registry of their own.
+ * Tomcat JDBC and DBCP2 don't provide a way to observe the acquisition of connections.</p>
+ *
+ * @since 7.0
+ */
+public class DataSourcePoolMetrics implements MeterBinder, ApplicationContextAware {
+
+    public static final String METRIC_PREFIX = "jdbc.connections.";
+
+    /**
+     * The name of the tag containing the name of the data source
+     */
+    public static final String NAME_TAG = "name";
+
+    private static final Log log = LogFactory.getLog(DataSourcePoolMetrics.class);
+    private static final String CONNECTION_SOURCES_BEAN_NAME = "dataSourceConnectionSources";
+    private static final Pattern PROXY_SUFFIX = Pattern.compile("^dataSource(Unproxied|Lazy)");
+
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<String, DataSource> entry : findDataSources().entrySet()) {
+            bindDataSource(registry, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Binds the pool of a single data source
+     *
+     * @param registry The registry
+     * @param name The name of the data source, used as the value of the {@value #NAME_TAG} tag
+     * @param dataSource The data source
+     * @return Whether the data source is a supported pool
+     */
+    public static boolean bindDataSource(MeterRegistry registry, String name, DataSource dataSource) {
+        Tags tags = Tags.of(NAME_TAG, name);
+        ClassLoader classLoader = DataSourcePoolMetrics.class.getClassLoader();
+        try {
+            // the pool classes are only referenced by the nested classes, which are loaded if the pool is present
+            return (ClassUtils.isPresent("com.zaxxer.hikari.HikariDataSource", classLoader) && HikariMetrics.bindTo(registry, tags, dataSource)) ||
+                    (ClassUtils.isPresent("org.apache.tomcat.jdbc.pool.DataSource", classLoader) && TomcatMetrics.bindTo(registry, tags, dataSource)) ||
+                    (ClassUtils.isPresent("org.apache.commons.dbcp2.BasicDataSource", classLoader) && Dbcp2Metrics.bindTo(registry, tags, dataSource));
+        }
+        catch (SQLException | RuntimeException e) {
+            log.warn("Unable to bind the connection pool of data source [" + name + "] to the meter registry", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return The data sources by name, each pool only once
+     */
+    private Map<String, DataSource> findDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        if (applicationContext == null) {
+            return dataSources;
+        }
+        Set<DataSource> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (applicationContext.containsBean(CONNECTION_SOURCES_BEAN_NAME)) {
+            ConnectionSources<?, ?> connectionSources = applicationContext.getBean(CONNECTION_SOURCES_BEAN_NAME, ConnectionSources.class);
+            for (ConnectionSource<?, ?> connectionSource : connectionSources.getAllConnectionSources()) {
+                Object source = connectionSource.getSource();
+                if (source instanceof DataSource) {
+                    String name = ConnectionSource.DEFAULT.equals(connectionSource.getName()) ? "dataSource" : "dataSource_" + connectionSource.getName();
+                    addDataSource(dataSources, seen, name, (DataSource) source);
+                }
+            }
+        }
+        for (Map.Entry<String, DataSource> entry : applicationContext.getBeansOfType(DataSource.class, false, false).entrySet()) {
+            addDataSource(dataSources, seen, PROXY_SUFFIX.matcher(entry.getKey()).replaceFirst("dataSource"), entry.getValue());
+        }
+        return dataSources;
+    }
+
+    /**
+     * Adds the data source unless its pool was already added, the primary and replica data sources of a
+     * {@link ReplicaRoutingDataSource} are added instead of the routing data source itself
+     */
+    private static void addDataSource(Map<String, DataSource> dataSources, Set<DataSource> seen, String name, DataSource dataSource) {
+        DataSource target = unwrapDelegates(dataSource);
+        if (target instanceof ReplicaRoutingDataSource) {
+            ReplicaRoutingDataSource routing = (ReplicaRoutingDataSource) target;
+            addDataSource(dataSources, seen, name, routing.getPrimaryDataSource());
+            for (Map.Entry<String, DataSource> replica : routing.getReplicaDataSources().entrySet()) {
+                addDataSource(dataSources, seen, name + "_" + replica.getKey(), replica.getValue());
+            }
+        }
+        else if (seen.add(target)) {
+            dataSources.putIfAbsent(name, dataSource);
+        }
+    }
+
+    private static DataSource unwrapDelegates(DataSource dataSource) {
+        DataSource current = dataSource;
+        while (current instanceof DelegatingDataSource && !(current instanceof ReplicaRoutingDataSource) &&
+                ((DelegatingDataSource) current).getTargetDataSource() != null) {
+            current = ((DelegatingDataSource) current).getTargetDataSource();
+        }
+        return current;
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) throws SQLException {
+        DataSource target = unwrapDelegates(dataSource);
+        if (type.isInstance(target)) {
+            return type.cast(target);
+        }
+        return target.isWrapperFor(type) ? target.unwrap(type) : null;
+    }
+
+    private static final class HikariMetrics {
+
+        static boolean bindTo(MeterRegistry registry, Tags tags, DataSource target) throws SQLException {
+            HikariDataSource dataSource = unwrap(target, HikariDataSource.class);
+            if (dataSource == null) {
+                return false;
+            }
+            Gauge.builder(METRIC_PREFIX + "active", dataSource, ds -> poolValue(ds, HikariPoolMXBean::getActiveConnections))
+                    .tags(tags).description("Current active connections").register(registry);
+            Gauge.builder(METRIC_PREFIX + "idle", dataSource, ds -> poolValue(ds, HikariPoolMXBean::getIdleConnections))
+                    .tags(tags).description("Number of established but idle connections").register(registry);
+            Gauge.builder(METRIC_PREFIX + "pending", dataSource, ds -> poolValue(ds, HikariPoolMXBean::getThreadsAwaitingConnection))
+                    .tags(tags).description("Number of threads awaiting a connection").register(registry);
+            Gauge.builder(METRIC_PREFIX + "max", dataSource, HikariDataSource::getMaximumPoolSize)
+                    .tags(tags).description("Maximum active connections that can be allocated at the same time").register(registry);
+            Gauge.builder(METRIC_PREFIX + "min", dataSource, HikariDataSource::getMinimumIdle)
+                    .tags(tags).description("Minimum number of idle connections in the pool").register(registry);
+
+            if (dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+                try {
+                    dataSource.setMetricsTrackerFactory(new TrackerFactory(registry, tags));
+                }
+                catch (IllegalStateException e) {
+                    log.debug("Unable to record the acquisition and usage times of the connection pool of data source " + tags, e);
+                }
+            }
+            return true;
+        }
+
+        private static double poolValue(HikariDataSource dataSource, ToIntFunction<HikariPoolMXBean> value) {
+            HikariPoolMXBean pool = dataSource.isClosed() ? null : dataSource.getHikariPoolMXBean();
+            return pool != null ? value.applyAsInt(pool) : 0;
+        }
+    }
+
+    private static final class TrackerFactory implements MetricsTrackerFactory {
+
+        private final MeterRegistry registry;
+        private final Tags tags;
+
+        TrackerFactory(MeterRegistry registry, Tags tags) {
+            this.registry = registry;
+            this.tags = tags;
+        }
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            Timer acquire = Timer.builder(METRIC_PREFIX + "acquire").tags(tags)
+                    .description("Time taken to acquire a connection from the pool").register(registry);
+            Timer usage = Timer.builder(METRIC_PREFIX + "usage").tags(tags)
+                    .description("Time connections are used before they are returned to the pool").register(registry);
+            Counter timeouts = Counter.builder(METRIC_PREFIX + "timeout").tags(tags)
+                    .description("Number of requests for a connection that timed out").register(registry);
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    acquire.record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    usage.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    timeouts.increment();
+                }
+            };
+        }
+    }
+
+    private static final class TomcatMetrics {
+
+        static boolean bindTo(MeterRegistry registry, Tags tags, DataSource target) throws SQLException {
+            org.apache.tomcat.jdbc.pool.DataSource dataSource = unwrap(target, org.apache.tomcat.jdbc.pool.DataSource.class);
+            if (dataSource == null) {
+                return false;
+            }
+            Gauge.builder(METRIC_PREFIX + "active", dataSource, org.apache.tomcat.jdbc.pool.DataSource::getActive)
+                    .tags(tags).description("Current active connections").register(registry);
+            Gauge.builder(METRIC_PREFIX + "idle", dataSource, org.apache.tomcat.jdbc.pool.DataSource::getIdle)
+                    .tags(tags).description("Number of established but idle connections").register(registry);
+            Gauge.builder(METRIC_PREFIX + "pending", dataSource, org.apache.tomcat.jdbc.pool.DataSource::getWaitCount)
+                    .tags(tags).description("Number of threads awaiting a connection").register(registry);
+            Gauge.builder(METRIC_PREFIX + "max", dataSource, org.apache.tomcat.jdbc.pool.DataSource::getMaxActive)
+                    .tags(tags).description("Maximum active connections that can be allocated at the same time").register(registry);
+            Gauge.builder(METRIC_PREFIX + "min", dataSource, org.apache.tomcat.jdbc.pool.DataSource::getMinIdle)
+                    .tags(tags).description("Minimum number of idle connections in the pool").register(registry);
+            return true;
+        }
+    }
+
+    private static final class Dbcp2Metrics {
+
+        static boolean bindTo(MeterRegistry registry, Tags tags, DataSource target) throws SQLException {
+            BasicDataSource dataSource = unwrap(target, BasicDataSource.class);
+            if (dataSource == null) {
+                return false;
+            }
+            Gauge.builder(METRIC_PREFIX + "active", dataSource, BasicDataSource::getNumActive)
+                    .tags(tags).description("Current active connections").register(registry);
+            Gauge.builder(METRIC_PREFIX + "idle", dataSource, BasicDataSource::getNumIdle)
+                    .tags(tags).description("Number of established but idle connections").register(registry);
+            Gauge.builder(METRIC_PREFIX + "max", dataSource, BasicDataSource::getMaxTotal)
+                    .tags(tags).description("Maximum active connections that can be allocated at the same time").register(registry);
+            Gauge.builder(METRIC_PREFIX + "min", dataSource, BasicDataSource::getMinIdle)
+                    .tags(tags).description("Minimum number of idle connections in the pool").register(registry);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.plugins.datasource
+
+import groovy.transform.CompileStatic
+import org.grails.datastore.gorm.jdbc.connections.DataSourceConnectionSourceFactory
+import org.grails.datastore.gorm.jdbc.connections.DataSourceSettings
+import org.grails.datastore.gorm.jdbc.connections.DataSourceSettingsBuilder
+import org.grails.datastore.mapping.core.connections.ConnectionSource
+import org.grails.datastore.mapping.core.connections.DefaultConnectionSource
+import org.springframework.core.env.PropertyResolver
+
+import javax.sql.DataSource
+
+/**
+ * Creates the data sources like {@link DataSourceConnectionSourceFactory} and, if replicas are configured for a data
+ * source, a {@link ReplicaRoutingDataSource} that sends read-only transactions to them. For example:
+ *
+ * <pre>
+ * dataSource:
+ *     url: jdbc:postgresql://primary/books
+ *     replicas:
+ *         replica1:
+ *             url: jdbc:postgresql://replica1/books
+ *         replica2:
+ *             url: jdbc:postgresql://replica2/books
+ *     replicaRouting:
+ *         loadBalancer: roundRobin
+ *         retryInterval: 30000
+ *         nonTransactionalReads: false
+ * </pre>
+ *
+ * <p>Settings that aren't configured for a replica, such as the driver and the credentials, are taken from the primary
+ * data source. Replicas can be configured the same way for each of the {@code dataSources}. The replicas don't have
+ * transaction managers of their own, transactions are managed by the transaction manager of the primary data source.</p>
+ *
+ * <p>This factory is only used by {@link DataSourceConnectionSourcesFactoryBean}, which creates the data sources if the
+ * hibernate plugin isn't installed. With the hibernate plugin the data sources are created by GORM for Hibernate and
+ * replicas aren't configured. The {@link org.grails.transaction.ChainedTransactionManager} that
+ * {@code grails.transaction.chainedTransactionManager.enabled} registers is only available with the hibernate plugin,
+ * so to span several data sources, one of which routes to replicas, define a
+ * {@link org.grails.transaction.ChainedTransactionManager} of their transaction managers yourself.</p>
+ *
+ * @since 7.0
+ */
+@CompileStatic
+class ReplicaDataSourceConnectionSourceFactory extends DataSourceConnectionSourceFactory {
+
+    static final String REPLICAS = 'replicas'
+    static final String LOAD_BALANCER = 'replicaRouting.loadBalancer'
+    static final String RETRY_INTERVAL = 'replicaRouting.retryInterval'
+    static final String NON_TRANSACTIONAL_READS = 'replicaRouting.nonTransactionalReads'
+
+    final PropertyResolver configuration
+
+    ReplicaDataSourceConnectionSourceFactory(PropertyResolver configuration) {
+        this.configuration = configuration
+    }
+
+    @Override
+    ConnectionSource<DataSource, DataSourceSettings> create(String name, DataSourceSettings settings) {
+        ConnectionSource<DataSource, DataSourceSettings> primary = super.create(name, settings)
+        String prefix = name == ConnectionSource.DEFAULT ? 'dataSource' : "dataSources.${name}"
+        Map<String, Object> replicaConfigs = configuration.getProperty("${prefix}.${REPLICAS}".toString(), Map, [:])
+        if (!replicaConfigs) {
+            return primary
+        }
+
+        Map<String, ConnectionSource<DataSource, DataSourceSettings>> replicas = [:]
+        Map<String, DataSource> replicaDataSources = [:]
+        for (String replicaName in replicaConfigs.keySet()) {
+            DataSourceSettings replicaSettings = new DataSourceSettingsBuilder(configuration, "${prefix}.${REPLICAS}.${replicaName}".toString(), settings).build()
+            ConnectionSource<DataSource, DataSourceSettings> replica = super.create("${name}_${replicaName}".toString(), replicaSettings)
+            replicas.put(replicaName, replica)
+            replicaDataSources.put(replicaName, replica.source)
+        }
+
+        ReplicaLoadBalancer loadBalancer = ReplicaLoadBalancer.forName(
+                configuration.getProperty("${prefix}.${LOAD_BALANCER}".toString(), String, ReplicaLoadBalancer.ROUND_ROBIN),
+                getClass().classLoader)
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary.source, replicaDataSources, loadBalancer)
+        dataSource.retryInterval = configuration.getProperty("${prefix}.${RETRY_INTERVAL}".toString(), Long, ReplicaRoutingDataSource.DEFAULT_RETRY_INTERVAL)
+        dataSource.nonTransactionalReads = configuration.getProperty("${prefix}.${NON_TRANSACTIONAL_READS}".toString(), Boolean, false)
+        return new ReplicaConnectionSource(name, dataSource, settings, primary, replicas.values())
+    }
+
+    /**
+     * Closes the connection sources of the primary data source and the replicas
+     */
+    private static class ReplicaConnectionSource extends DefaultConnectionSource<DataSource, DataSourceSettings> {
+
+        private final List<ConnectionSource<DataSource, DataSourceSettings>> targets
+
+        ReplicaConnectionSource(String name, DataSource source, DataSourceSettings settings,
+                                ConnectionSource<DataSource, DataSourceSettings> primary,
+                                Collection<ConnectionSource<DataSource, DataSourceSettings>> replicas) {
+            super(name, source, settings)
+            this.targets = [primary] + new ArrayList<>(replicas)
+        }
+
+        @Override
+        void close() throws IOException {
+            for (ConnectionSource<DataSource, DataSourceSettings> target in targets) {
+                target.close()
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.plugins.datasource;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Chooses the replica a {@link ReplicaRoutingDataSource} obtains a connection from.
+ *
+ * @since 7.0
+ */
+public interface ReplicaLoadBalancer {
+
+    /**
+     * The name of the default strategy, see {@link RoundRobin}
+     */
+    String ROUND_ROBIN = "roundRobin";
+
+    /**
+     * The name of the strategy choosing a random replica, see {@link Random}
+     */
+    String RANDOM = "random";
+
+    /**
+     * Chooses a replica
+     *
+     * @param replicas The names of the replicas that are currently available, never empty
+     * @return The index of the chosen replica
+     */
+    int choose(List<String> replicas);
+
+    /**
+     * Creates a load balancer
+     *
+     * @param name {@link #ROUND_ROBIN}, {@link #RANDOM} or the name of a class implementing this interface
+     * @param classLoader The class loader to load the class with
+     * @return The load balancer
+     */
+    static ReplicaLoadBalancer forName(String name, ClassLoader classLoader) {
+        if (name == null || ROUND_ROBIN.equalsIgnoreCase(name)) {
+            return new RoundRobin();
+        }
+        if (RANDOM.equalsIgnoreCase(name)) {
+            return new Random();
+        }
+        Class<?> type = ClassUtils.resolveClassName(name, classLoader);
+        if (!ReplicaLoadBalancer.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("Replica load balancer [" + name + "] does not implement " + ReplicaLoadBalancer.class.getName());
+        }
+        return (ReplicaLoadBalancer) BeanUtils.instantiateClass(type);
+    }
+
+    /**
+     * Uses the available replicas in turn
+     */
+    class RoundRobin implements ReplicaLoadBalancer {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public int choose(List<String> replicas) {
+            return Math.floorMod(counter.getAndIncrement(), replicas.size());
+        }
+    }
+
+    /**
+     * Chooses a random available replica
+     */
+    class Random implements ReplicaLoadBalancer {
+
+        @Override
+        public int choose(List<String> replicas) {
+            return ThreadLocalRandom.current().nextInt(replicas.size());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.plugins.datasource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A data source that obtains the connections of read-only transactions from replicas of the primary database.
+ *
+ * <p>Connections are obtained lazily, when the first statement is executed, so that the read-only flag of the
+ * transaction is known when the data source is chosen. The connection, and thus the replica, is then used for the
+ * whole transaction. Connections used outside of transactions are obtained from the primary data source unless
+ * {@link #setNonTransactionalReads(boolean) non-transactional reads} are enabled.</p>
+ *
+ * <p>The replica is chosen by a {@link ReplicaLoadBalancer}. A replica that fails to provide a connection isn't used
+ * for the {@link #setRetryInterval(long) retry interval}, after which it is tried again. If no replica is available,
+ * the connection is obtained from the primary data source.</p>
+ *
+ * @since 7.0
+ * @see ReplicaDataSourceConnectionSourceFactory
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    /**
+     * The default time a replica isn't used after it failed to provide a connection
+     */
+    public static final long DEFAULT_RETRY_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Log log = LogFactory.getLog(ReplicaRoutingDataSource.class);
+
+    private final Router router;
+
+    /**
+     * @param primary The data source of the primary database
+     * @param replicas The data sources of the replicas by name
+     * @param loadBalancer Chooses the replica of a transaction
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaLoadBalancer loadBalancer) {
+        this(new Router(primary, replicas, loadBalancer));
+    }
+
+    private ReplicaRoutingDataSource(Router router) {
+        super(router);
+        this.router = router;
+    }
+
+    /**
+     * @return The data source of the primary database
+     */
+    public DataSource getPrimaryDataSource() {
+        return router.primary;
+    }
+
+    /**
+     * @return The data sources of the replicas by name
+     */
+    public Map<String, DataSource> getReplicaDataSources() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (Replica replica : router.replicas) {
+            replicas.put(replica.name, replica.dataSource);
+        }
+        return Collections.unmodifiableMap(replicas);
+    }
+
+    /**
+     * @return The names of the replicas that are currently used
+     */
+    public List<String> getAvailableReplicas() {
+        List<String> names = new ArrayList<>();
+        for (Replica replica : router.available(System.currentTimeMillis())) {
+            names.add(replica.name);
+        }
+        return names;
+    }
+
+    /**
+     * @param retryInterval The time in milliseconds a replica isn't used after it failed to provide a connection
+     */
+    public void setRetryInterval(long retryInterval) {
+        router.retryInterval = retryInterval;
+    }
+
+    /**
+     * @param nonTransactionalReads Whether connections used outside of transactions are obtained from the replicas.
+     * Only enable this if such connections are never used for writes.
+     */
+    public void setNonTransactionalReads(boolean nonTransactionalReads) {
+        router.nonTransactionalReads = nonTransactionalReads;
+    }
+
+    /**
+     * Closes the primary and replica data sources that can be closed
+     */
+    @Override
+    public void close() {
+        close(router.primary);
+        for (Replica replica : router.replicas) {
+            close(replica.dataSource);
+        }
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            }
+            catch (Exception e) {
+                log.debug("Error closing data source: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        final String name;
+        final DataSource dataSource;
+        volatile long unavailableUntil;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * Chooses the data source when the lazy connection obtains the actual connection
+     */
+    private static final class Router extends AbstractDataSource {
+
+        final DataSource primary;
+        final List<Replica> replicas;
+        final ReplicaLoadBalancer loadBalancer;
+        volatile long retryInterval = DEFAULT_RETRY_INTERVAL;
+        volatile boolean nonTransactionalReads;
+
+        Router(DataSource primary, Map<String, DataSource> replicas, ReplicaLoadBalancer loadBalancer) {
+            if (primary == null) {
+                throw new IllegalArgumentException("Argument [primary] cannot be null");
+            }
+            this.primary = primary;
+            this.replicas = new ArrayList<>(replicas.size());
+            for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+                this.replicas.add(new Replica(entry.getKey(), entry.getValue()));
+            }
+            this.loadBalancer = loadBalancer != null ? loadBalancer : new ReplicaLoadBalancer.RoundRobin();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (isReadOnly()) {
+                Connection connection = getReplicaConnection(null, null);
+                if (connection != null) {
+                    return connection;
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            if (isReadOnly()) {
+                Connection connection = getReplicaConnection(username, password);
+                if (connection != null) {
+                    return connection;
+                }
+            }
+            return primary.getConnection(username, password);
+        }
+
+        private boolean isReadOnly() {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            }
+            return nonTransactionalReads;
+        }
+
+        /**
+         * @return A connection to an available replica or null if none could be obtained
+         */
+        private Connection getReplicaConnection(String username, String password) {
+            List<Replica> available = available(System.currentTimeMillis());
+            while (!available.isEmpty()) {
+                List<String> names = new ArrayList<>(available.size());
+                for (Replica replica : available) {
+                    names.add(replica.name);
+                }
+                Replica replica = available.get(loadBalancer.choose(names));
+                try {
+                    Connection connection = username != null ? replica.dataSource.getConnection(username, password) : replica.dataSource.getConnection();
+                    replica.unavailableUntil = 0;
+                    return connection;
+                }
+                catch (SQLException | RuntimeException e) {
+                    replica.unavailableUntil = System.currentTimeMillis() + retryInterval;
+                    log.warn("Unable to obtain a connection from replica [" + replica.name + "], not using it for " + retryInterval + "ms", e);
+                    available.remove(replica);
+                }
+            }
+            return null;
+        }
+
+        List<Replica> available(long now) {
+            List<Replica> available = new ArrayList<>(replicas.size());
+            for (Replica replica : replicas) {
+                if (replica.unavailableUntil <= now) {
+                    available.add(replica);
+                }
+            }
+            return available;
+        }
+    }
+}
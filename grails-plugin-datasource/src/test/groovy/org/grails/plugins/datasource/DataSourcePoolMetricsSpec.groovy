@@ -0,0 +1,86 @@
+package org.grails.plugins.datasource
+
+import com.zaxxer.hikari.HikariDataSource
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.context.support.GenericApplicationContext
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy
+import spock.lang.Specification
+
+import java.sql.Connection
+
+class DataSourcePoolMetricsSpec extends Specification {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry()
+    List<HikariDataSource> dataSources = []
+
+    void cleanup() {
+        dataSources*.close()
+        registry.close()
+    }
+
+    void "test the connection pool of a HikariCP data source is bound to the registry"() {
+        given:
+        HikariDataSource dataSource = createDataSource('metricsDb')
+
+        when:
+        boolean bound = DataSourcePoolMetrics.bindDataSource(registry, 'dataSource', dataSource)
+        Connection connection = dataSource.connection
+
+        then:
+        bound
+        gauge('active', 'dataSource') == 1
+        gauge('max', 'dataSource') == 3
+        gauge('pending', 'dataSource') == 0
+        registry.get('jdbc.connections.acquire').tag('name', 'dataSource').timer().count() == 1
+
+        when:
+        connection.close()
+
+        then:
+        gauge('active', 'dataSource') == 0
+        gauge('idle', 'dataSource') >= 1
+        registry.get('jdbc.connections.usage').tag('name', 'dataSource').timer().count() == 1
+    }
+
+    void "test the pools of the data source beans are bound once and tagged with the name of the data source"() {
+        given:
+        HikariDataSource dataSource = createDataSource('metricsDefaultDb')
+        HikariDataSource booksDataSource = createDataSource('metricsBooksDb')
+        GenericApplicationContext applicationContext = new GenericApplicationContext()
+        applicationContext.beanFactory.registerSingleton('dataSource', new TransactionAwareDataSourceProxy(dataSource))
+        applicationContext.beanFactory.registerSingleton('dataSourceUnproxied', dataSource)
+        applicationContext.beanFactory.registerSingleton('dataSourceUnproxied_books', booksDataSource)
+        applicationContext.refresh()
+
+        DataSourcePoolMetrics metrics = new DataSourcePoolMetrics()
+        metrics.applicationContext = applicationContext
+
+        when:
+        metrics.bindTo(registry)
+
+        then:
+        registry.find('jdbc.connections.max').gauges()*.id*.getTag('name').sort() == ['dataSource', 'dataSource_books']
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test data sources that are not pooled are ignored"() {
+        expect:
+        !DataSourcePoolMetrics.bindDataSource(registry, 'dataSource', new ReadOnlyDriverManagerDataSource())
+        registry.meters.isEmpty()
+    }
+
+    private HikariDataSource createDataSource(String name) {
+        HikariDataSource dataSource = new HikariDataSource()
+        dataSource.jdbcUrl = "jdbc:h2:mem:$name;DB_CLOSE_DELAY=-1"
+        dataSource.maximumPoolSize = 3
+        dataSource.minimumIdle = 1
+        dataSources << dataSource
+        dataSource
+    }
+
+    private double gauge(String name, String dataSourceName) {
+        registry.get("jdbc.connections.$name").tag('name', dataSourceName).gauge().value()
+    }
+}
@@ -0,0 +1,98 @@
+package org.grails.plugins.datasource
+
+import org.grails.config.PropertySourcesConfig
+import org.grails.datastore.gorm.jdbc.connections.DataSourceSettings
+import org.grails.datastore.mapping.core.connections.ConnectionSources
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.DataSourceTransactionManager
+import org.springframework.jdbc.datasource.DriverManagerDataSource
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import javax.sql.DataSource
+
+class ReplicaDataSourceConnectionSourceFactorySpec extends Specification {
+
+    @AutoCleanup
+    ConnectionSources<DataSource, DataSourceSettings> connectionSources
+
+    void setup() {
+        ['primary', 'replica1', 'replica2', 'books', 'booksReplica'].each { createDatabase(it) }
+    }
+
+    void "test replicas are configured for the default data source and for each of the dataSources"() {
+        given:
+        DataSourceConnectionSourcesFactoryBean factoryBean = new DataSourceConnectionSourcesFactoryBean(new PropertySourcesConfig(
+                'dataSource.pooled': false,
+                'dataSource.url': url('primary'),
+                'dataSource.replicas.replica1.url': url('replica1'),
+                'dataSource.replicas.replica2.url': url('replica2'),
+                'dataSource.replicaRouting.loadBalancer': 'random',
+                'dataSources.books.pooled': false,
+                'dataSources.books.url': url('books'),
+                'dataSources.books.replicas.booksReplica.url': url('booksReplica'),
+                'dataSources.books.replicaRouting.nonTransactionalReads': true
+        ))
+
+        when:
+        factoryBean.afterPropertiesSet()
+        connectionSources = factoryBean.object
+        DataSource dataSource = connectionSources.defaultConnectionSource.source
+        DataSource books = connectionSources.getConnectionSource('books').source
+
+        then:
+        dataSource instanceof ReplicaRoutingDataSource
+        ((ReplicaRoutingDataSource) dataSource).replicaDataSources.keySet() as List == ['replica1', 'replica2']
+        inTransaction(dataSource, true) in ['replica1', 'replica2']
+        inTransaction(dataSource, false) == 'primary'
+        databaseName(dataSource) == 'primary'
+
+        and:
+        books instanceof ReplicaRoutingDataSource
+        ((ReplicaRoutingDataSource) books).replicaDataSources.keySet() as List == ['booksReplica']
+        inTransaction(books, true) == 'booksReplica'
+        inTransaction(books, false) == 'books'
+        databaseName(books) == 'booksReplica'
+    }
+
+    void "test data sources without replicas are not wrapped"() {
+        given:
+        DataSourceConnectionSourcesFactoryBean factoryBean = new DataSourceConnectionSourcesFactoryBean(new PropertySourcesConfig(
+                'dataSource.pooled': false,
+                'dataSource.url': url('primary'),
+                'dataSources.books.pooled': false,
+                'dataSources.books.url': url('books'),
+                'dataSources.books.replicas.booksReplica.url': url('booksReplica')
+        ))
+
+        when:
+        factoryBean.afterPropertiesSet()
+        connectionSources = factoryBean.object
+
+        then:
+        !(connectionSources.defaultConnectionSource.source instanceof ReplicaRoutingDataSource)
+        connectionSources.getConnectionSource('books').source instanceof ReplicaRoutingDataSource
+    }
+
+    private static String url(String name) {
+        "jdbc:h2:mem:replicaFactory_$name;DB_CLOSE_DELAY=-1"
+    }
+
+    private static void createDatabase(String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url(name), 'sa', ''))
+        jdbcTemplate.execute('CREATE TABLE IF NOT EXISTS database_name (name VARCHAR(50))')
+        jdbcTemplate.execute('DELETE FROM database_name')
+        jdbcTemplate.update('INSERT INTO database_name VALUES (?)', name)
+    }
+
+    private static String inTransaction(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+        template.readOnly = readOnly
+        template.execute { databaseName(dataSource) }
+    }
+
+    private static String databaseName(DataSource dataSource) {
+        new JdbcTemplate(dataSource).queryForObject('SELECT name FROM database_name', String)
+    }
+}
@@ -0,0 +1,130 @@
+package org.grails.plugins.datasource
+
+import org.grails.transaction.ChainedTransactionManager
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.datasource.DataSourceTransactionManager
+import org.springframework.jdbc.datasource.DriverManagerDataSource
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import javax.sql.DataSource
+
+class ReplicaRoutingDataSourceSpec extends Specification {
+
+    DataSource primary = createDatabase('primary')
+    DataSource replica1 = createDatabase('replica1')
+    DataSource replica2 = createDatabase('replica2')
+
+    void "test read-only transactions use the replicas and other transactions the primary data source"() {
+        given:
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, [replica1: replica1], null)
+
+        expect:
+        inTransaction(dataSource, true) == 'replica1'
+        inTransaction(dataSource, false) == 'primary'
+        databaseName(dataSource) == 'primary'
+    }
+
+    void "test a replica is used for the whole transaction"() {
+        given:
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, [replica1: replica1, replica2: replica2], new ReplicaLoadBalancer.RoundRobin())
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+        template.readOnly = true
+
+        when:
+        List<String> names = template.execute { (0..<4).collect { databaseName(dataSource) } }
+
+        then:
+        names.unique().size() == 1
+
+        and: 'the next transaction uses the next replica'
+        inTransaction(dataSource, true) != names[0]
+    }
+
+    void "test read-only transactions of a chained transaction manager use the replicas"() {
+        given:
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, [replica1: replica1], null)
+        DataSource books = createDatabase('books')
+        TransactionTemplate template = new TransactionTemplate(new ChainedTransactionManager(
+                new DataSourceTransactionManager(dataSource), new DataSourceTransactionManager(books)))
+
+        when:
+        template.readOnly = true
+        List<String> readOnly = template.execute { [databaseName(dataSource), databaseName(books)] }
+        template.readOnly = false
+        List<String> readWrite = template.execute { [databaseName(dataSource), databaseName(books)] }
+
+        then:
+        readOnly == ['replica1', 'books']
+        readWrite == ['primary', 'books']
+        databaseName(dataSource) == 'primary'
+    }
+
+    void "test non-transactional reads use the replicas if enabled"() {
+        given:
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, [replica1: replica1], null)
+        dataSource.nonTransactionalReads = true
+
+        expect:
+        databaseName(dataSource) == 'replica1'
+        inTransaction(dataSource, false) == 'primary'
+    }
+
+    void "test a replica that fails to provide a connection is not used until the retry interval elapsed"() {
+        given:
+        DataSource unavailable = new DriverManagerDataSource('jdbc:h2:mem:replicaMissing;IFEXISTS=TRUE')
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, [unavailable: unavailable, replica1: replica1], new ReplicaLoadBalancer.RoundRobin())
+        dataSource.retryInterval = retryInterval
+
+        expect:
+        (0..<4).collect { inTransaction(dataSource, true) }.every { it == 'replica1' }
+        dataSource.availableReplicas == available
+
+        where:
+        retryInterval | available
+        60000         | ['replica1']
+        0             | ['unavailable', 'replica1']
+    }
+
+    void "test the primary data source is used if no replica is available"() {
+        given:
+        DataSource unavailable = new DriverManagerDataSource('jdbc:h2:mem:replicaMissing;IFEXISTS=TRUE')
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, [unavailable: unavailable], null)
+
+        expect:
+        inTransaction(dataSource, true) == 'primary'
+        dataSource.availableReplicas.isEmpty()
+    }
+
+    void "test load balancers can be created by name"() {
+        expect:
+        ReplicaLoadBalancer.forName(null, getClass().classLoader) instanceof ReplicaLoadBalancer.RoundRobin
+        ReplicaLoadBalancer.forName('random', getClass().classLoader) instanceof ReplicaLoadBalancer.Random
+        ReplicaLoadBalancer.forName(ReplicaLoadBalancer.RoundRobin.name, getClass().classLoader) instanceof ReplicaLoadBalancer.RoundRobin
+
+        when:
+        ReplicaLoadBalancer.forName(String.name, getClass().classLoader)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static DataSource createDatabase(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:replicaRouting_$name;DB_CLOSE_DELAY=-1")
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource)
+        jdbcTemplate.execute('CREATE TABLE IF NOT EXISTS database_name (name VARCHAR(50))')
+        jdbcTemplate.execute('DELETE FROM database_name')
+        jdbcTemplate.update('INSERT INTO database_name VALUES (?)', name)
+        dataSource
+    }
+
+    private static String inTransaction(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+        template.readOnly = readOnly
+        template.execute { databaseName(dataSource) }
+    }
+
+    private static String databaseName(DataSource dataSource) {
+        new JdbcTemplate(dataSource).queryForObject('SELECT name FROM database_name', String)
+    }
+}
@@ -23,6 +23,7 @@ import org.grails.plugins.domain.support.ConstraintEvaluatorAdapter
 import org.grails.plugins.domain.support.DefaultConstraintEvaluatorFactoryBean
 import org.grails.plugins.domain.support.DefaultMappingContextFactoryBean
 import org.grails.plugins.domain.support.ValidatorRegistryFactoryBean
+import org.grails.validation.ValidateableConstraints
 
 /**
  * Configures the domain classes in the spring context.
@@ -54,4 +55,16 @@ class DomainClassGrailsPlugin extends Plugin {
             bean.lazyInit = true
         }
     }}
+
+    @Override
+    void onChange(Map<String, Object> event) {
+        // the cached constraints of validateable classes may refer to the classes before the reload
+        ValidateableConstraints.clear()
+    }
+
+    @Override
+    void onConfigChange(Map<String, Object> event) {
+        // the default and shared constraints are part of the configuration
+        ValidateableConstraints.clear()
+    }
 }
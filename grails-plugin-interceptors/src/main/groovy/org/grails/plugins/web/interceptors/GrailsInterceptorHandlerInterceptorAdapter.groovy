@@ -18,11 +18,17 @@ package org.grails.plugins.web.interceptors
 import grails.artefact.Interceptor
 import grails.interceptors.Matcher
 import grails.util.GrailsNameUtils
+import groovy.transform.Canonical
 import groovy.transform.CompileDynamic
 import groovy.transform.CompileStatic
+import groovy.transform.Generated
 import org.apache.commons.logging.Log
 import org.apache.commons.logging.LogFactory
 import org.grails.datastore.mapping.services.ServiceRegistry
+import org.grails.web.mapping.mvc.GrailsControllerUrlMappingInfo
+import org.grails.web.mapping.mvc.UrlMappingsHandlerMapping
+import org.grails.web.servlet.mvc.DispatchInstrumentation
+import org.grails.web.servlet.mvc.DispatchPhase
 import org.grails.web.util.GrailsApplicationAttributes
 import org.grails.web.util.WebUtils
 import org.springframework.beans.factory.annotation.Autowired
@@ -32,10 +38,15 @@ import org.springframework.web.servlet.ModelAndView
 
 import jakarta.servlet.http.HttpServletRequest
 import jakarta.servlet.http.HttpServletResponse
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * Adapts Grails {@link Interceptor} instances to the Spring {@link HandlerInterceptor} interface
  *
+ * For requests that resolved to a controller action the outcome of matching is cached per controller, action,
+ * namespace and HTTP method, so that interceptors whose matchers don't depend on the URI or on arbitrary request
+ * state are only evaluated once for each action.
+ *
  * @author Graeme Rocher
  * @since 3.0
  */
@@ -47,8 +58,14 @@ class GrailsInterceptorHandlerInterceptorAdapter implements HandlerInterceptor {
 
     static final String INTERCEPTOR_RENDERED_VIEW = 'interceptor_rendered_view'
 
+    /**
+     * The maximum number of match plans to cache, guards against unbounded growth from arbitrary HTTP methods
+     */
+    static final int MAX_MATCH_PLANS = 10000
+
     protected List<Interceptor> interceptors = []
     protected List<Interceptor> reverseInterceptors = []
+    protected final Map<MatchPlanKey, MatchPlan> matchPlans = new ConcurrentHashMap<>()
 
     @Autowired(required = false)
     ServiceRegistry[] serviceRegistry // inject the service registry to ensure data services are wired up
@@ -58,6 +75,7 @@ class GrailsInterceptorHandlerInterceptorAdapter implements HandlerInterceptor {
     void setInterceptors(Interceptor[] interceptors) {
         this.interceptors = interceptors.sort(new OrderComparator()) as List<Interceptor>
         this.reverseInterceptors = this.interceptors.reverse()
+        this.matchPlans.clear()
         if(LOG.isDebugEnabled()) {
             LOG.debug("Computed interceptor execution order:")
             for(Interceptor i in interceptors) {
@@ -68,11 +86,46 @@ class GrailsInterceptorHandlerInterceptorAdapter implements HandlerInterceptor {
 
     @Override
     boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if(interceptors.isEmpty()) {
+            return true
+        }
+        if(!DispatchInstrumentation.isEnabled()) {
+            return handleBefore(request)
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.INTERCEPTORS)
+        try {
+            return handleBefore(request)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
+
+    /**
+     * Invokes {@link Interceptor#before()} for the interceptors that match the request
+     *
+     * @param request The request
+     * @return Whether the request should proceed
+     */
+    protected boolean handleBefore(HttpServletRequest request) {
         if(!interceptors.isEmpty()) {
+            MatchPlan plan = findMatchPlan(request)
+            if(plan?.chain != null) {
+                return invokeBefore(request, plan.chain)
+            }
+
+            Boolean[] decisions = plan?.decisions
             List<Interceptor> matchInterceptors = []
             request.setAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS, matchInterceptors)
-            for(i in interceptors) {
-                if(i.doesMatch(request)) {
+            int size = interceptors.size()
+            for(int idx = 0; idx < size; idx++) {
+                Interceptor i = interceptors.get(idx)
+                Boolean decision = decisions != null ? decisions[idx] : null
+                if(decision != null ? decision.booleanValue() : i.doesMatch(request)) {
                     matchInterceptors.add(i)
                     if( !i.before() ) {
                         return false
@@ -83,28 +136,161 @@ class GrailsInterceptorHandlerInterceptorAdapter implements HandlerInterceptor {
         return true
     }
 
+    /**
+     * Invokes {@link Interceptor#before()} for a chain of interceptors that is known to match the request
+     *
+     * @param request The request
+     * @param chain The immutable chain of matching interceptors
+     * @return Whether the request should proceed
+     */
+    protected boolean invokeBefore(HttpServletRequest request, List<Interceptor> chain) {
+        request.setAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS, chain)
+        int size = chain.size()
+        for(int idx = 0; idx < size; idx++) {
+            boolean proceed
+            try {
+                proceed = chain.get(idx).before()
+            } catch (Throwable e) {
+                // only the interceptors executed so far should receive afterView()
+                request.setAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS, chain.subList(0, idx + 1))
+                throw e
+            }
+            if( !proceed ) {
+                request.setAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS, chain.subList(0, idx + 1))
+                return false
+            }
+        }
+        return true
+    }
+
+    /**
+     * Finds or computes the {@link MatchPlan} for the current request
+     *
+     * @param request The request
+     * @return The plan or null if the request didn't resolve to a controller action
+     */
+    protected MatchPlan findMatchPlan(HttpServletRequest request) {
+        Object matchedInfo = request.getAttribute(UrlMappingsHandlerMapping.MATCHED_REQUEST)
+        if(!(matchedInfo instanceof GrailsControllerUrlMappingInfo)) {
+            return null
+        }
+        GrailsControllerUrlMappingInfo info = (GrailsControllerUrlMappingInfo) matchedInfo
+        MatchPlanKey key = new MatchPlanKey(info.namespace, info.controllerName, info.actionName, info.httpMethod, request.method)
+        MatchPlan plan = matchPlans.get(key)
+        if(plan == null) {
+            plan = createMatchPlan(request)
+            if(matchPlans.size() < MAX_MATCH_PLANS) {
+                MatchPlan existing = matchPlans.putIfAbsent(key, plan)
+                if(existing != null) {
+                    plan = existing
+                }
+            }
+        }
+        return plan
+    }
+
+    /**
+     * Evaluates every interceptor whose matchers are cacheable against the given request
+     *
+     * @param request The request
+     * @return The plan
+     */
+    protected MatchPlan createMatchPlan(HttpServletRequest request) {
+        int size = interceptors.size()
+        Boolean[] decisions = new Boolean[size]
+        List<Interceptor> chain = []
+        boolean complete = true
+        for(int idx = 0; idx < size; idx++) {
+            Interceptor i = interceptors.get(idx)
+            if(isCacheable(i)) {
+                boolean matches = i.doesMatch(request)
+                // the default matcher is only registered upon the first match
+                if(isCacheable(i)) {
+                    decisions[idx] = matches
+                    if(matches) {
+                        chain.add(i)
+                    }
+                    continue
+                }
+            }
+            complete = false
+        }
+        return new MatchPlan(complete ? Collections.unmodifiableList(chain) : null, decisions)
+    }
+
+    /**
+     * Whether the matching outcome of the given interceptor only depends on the controller, action, namespace
+     * and HTTP methods of the request
+     *
+     * @param interceptor The interceptor
+     * @return True if it is
+     */
+    protected boolean isCacheable(Interceptor interceptor) {
+        try {
+            if(!interceptor.getClass().getMethod('doesMatch', HttpServletRequest).isAnnotationPresent(Generated)) {
+                // doesMatch has been overridden
+                return false
+            }
+        } catch (NoSuchMethodException ignored) {
+            return false
+        }
+        Collection<Matcher> matchers = interceptor.matchers
+        for(matcher in matchers) {
+            if(matcher.getClass() != UrlMappingMatcher || !((UrlMappingMatcher) matcher).isCacheable()) {
+                return false
+            }
+        }
+        return true
+    }
+
     @Override
     void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
         Object matchedInterceptorsObject = request.getAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS)
-        if(matchedInterceptorsObject) {
-            if (modelAndView != null) {
-                request.setAttribute(GrailsApplicationAttributes.MODEL_AND_VIEW, modelAndView)
-            }
+        if(!matchedInterceptorsObject) {
+            return
+        }
+        if(!DispatchInstrumentation.isEnabled()) {
+            handleAfter(request, (List<Interceptor>) matchedInterceptorsObject, modelAndView)
+            return
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.INTERCEPTORS)
+        try {
+            handleAfter(request, (List<Interceptor>) matchedInterceptorsObject, modelAndView)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
 
-            List<Interceptor> reversedInterceptors = ((List<Interceptor>) matchedInterceptorsObject).reverse()
-            request.setAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS, reversedInterceptors)
-            for(i in reversedInterceptors) {
-                if( !i.after() ) {
-                    if(request.getAttribute(INTERCEPTOR_RENDERED_VIEW)) {
-                        ModelAndView interceptorsModelAndView = i.modelAndView
-                        modelAndView.viewName = interceptorsModelAndView.viewName
-                        modelAndView.model.clear()
-                        modelAndView.model.putAll(interceptorsModelAndView.model)
-                    } else {
-                        modelAndView?.clear()
-                    }
-                    break
+    /**
+     * Invokes {@link Interceptor#after()} for the matched interceptors in reverse order
+     *
+     * @param request The request
+     * @param matchedInterceptors The interceptors that matched the request
+     * @param modelAndView The model and view of the action
+     */
+    protected void handleAfter(HttpServletRequest request, List<Interceptor> matchedInterceptors, ModelAndView modelAndView) {
+        if (modelAndView != null) {
+            request.setAttribute(GrailsApplicationAttributes.MODEL_AND_VIEW, modelAndView)
+        }
+
+        List<Interceptor> reversedInterceptors = matchedInterceptors.reverse()
+        request.setAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS, reversedInterceptors)
+        for(i in reversedInterceptors) {
+            if( !i.after() ) {
+                if(request.getAttribute(INTERCEPTOR_RENDERED_VIEW)) {
+                    ModelAndView interceptorsModelAndView = i.modelAndView
+                    modelAndView.viewName = interceptorsModelAndView.viewName
+                    modelAndView.model.clear()
+                    modelAndView.model.putAll(interceptorsModelAndView.model)
+                } else {
+                    modelAndView?.clear()
                 }
+                break
             }
         }
     }
@@ -118,9 +304,65 @@ class GrailsInterceptorHandlerInterceptorAdapter implements HandlerInterceptor {
         request.setAttribute(Matcher.THROWABLE, ex)
         Object matchedInterceptorsObject = request.getAttribute(ATTRIBUTE_MATCHED_INTERCEPTORS)
         if(matchedInterceptorsObject) {
-            for(i in ((List<Interceptor>) matchedInterceptorsObject)) {
-                i.afterView()
+            if(!DispatchInstrumentation.isEnabled()) {
+                handleAfterView((List<Interceptor>) matchedInterceptorsObject)
+                return
+            }
+            DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.INTERCEPTORS)
+            try {
+                handleAfterView((List<Interceptor>) matchedInterceptorsObject)
+            }
+            catch (Throwable e) {
+                sample.error(e)
+                throw e
             }
+            finally {
+                sample.stop()
+            }
+        }
+    }
+
+    /**
+     * Invokes {@link Interceptor#afterView()} for the matched interceptors
+     *
+     * @param matchedInterceptors The interceptors that matched the request
+     */
+    protected void handleAfterView(List<Interceptor> matchedInterceptors) {
+        for(i in matchedInterceptors) {
+            i.afterView()
+        }
+    }
+
+    /**
+     * The key of a cached {@link MatchPlan}
+     */
+    @Canonical
+    @CompileStatic
+    static class MatchPlanKey {
+        String namespace
+        String controllerName
+        String actionName
+        String httpMethod
+        String requestMethod
+    }
+
+    /**
+     * The outcome of matching the interceptors against a controller action
+     */
+    @CompileStatic
+    static class MatchPlan {
+        /**
+         * The interceptors that match or null if at least one interceptor has to be evaluated per request
+         */
+        final List<Interceptor> chain
+        /**
+         * Whether each interceptor matches, indexed by execution order. Null entries are evaluated per request
+         */
+        final Boolean[] decisions
+
+        MatchPlan(List<Interceptor> chain, Boolean[] decisions) {
+            this.chain = chain
+            this.decisions = decisions
         }
     }
 }
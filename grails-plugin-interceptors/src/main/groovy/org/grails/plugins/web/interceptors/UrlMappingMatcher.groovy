@@ -154,6 +154,24 @@ class UrlMappingMatcher implements Matcher {
         return excludes || uriExcludePatterns
     }
 
+    /**
+     * Whether the outcome of this matcher only depends on the controller, action, namespace and HTTP methods of the
+     * request and can therefore be cached. URI patterns and closure based exclusions require evaluation per request.
+     *
+     * @return True if the result of {@link #doesMatch(String, UrlMappingInfo, String)} can be cached
+     */
+    boolean isCacheable() {
+        if (uriPatterns || uriExcludePatterns) {
+            return false
+        }
+        for (exclude in excludes) {
+            if (!(exclude instanceof MapExclude)) {
+                return false
+            }
+        }
+        return true
+    }
+
     private Pattern regexMatch(Map arguments, String type, Pattern defaultPattern = WILD_CARD_PATTERN) {
         def value = arguments.get(type)
         if(!value) return defaultPattern
@@ -3,6 +3,12 @@ package grails.artefact
 import grails.interceptors.Matcher
 import grails.util.GrailsWebMockUtil
 import org.grails.plugins.web.interceptors.GrailsInterceptorHandlerInterceptorAdapter
+import org.grails.web.mapping.ForwardUrlMappingInfo
+import org.grails.web.mapping.mvc.GrailsControllerUrlMappingInfo
+import org.grails.web.mapping.mvc.UrlMappingsHandlerMapping
+import org.grails.web.servlet.mvc.DispatchInstrumentation
+import org.grails.web.servlet.mvc.DispatchObserver
+import org.grails.web.servlet.mvc.DispatchPhase
 import org.grails.web.servlet.mvc.GrailsWebRequest
 import org.springframework.web.context.request.RequestContextHolder
 import org.springframework.web.servlet.ModelAndView
@@ -123,6 +129,139 @@ class GrailsInterceptorHandlerInterceptorAdapterSpec extends Specification{
         then:
         webRequest.request.getAttribute(Matcher.THROWABLE) instanceof Exception
     }
+
+    void "Test that matching interceptors are cached per controller action"() {
+        given:"Interceptors matching by controller and by URI"
+        def adapter = new GrailsInterceptorHandlerInterceptorAdapter()
+        def bookInterceptor = new BookMatchInterceptor()
+        def uriInterceptor = new UriMatchInterceptor()
+        adapter.setInterceptors([bookInterceptor, uriInterceptor] as Interceptor[])
+
+        when:"A request for the book controller is handled"
+        def webRequest = GrailsWebMockUtil.bindMockWebRequest()
+        webRequest.request.setAttribute(UrlMappingsHandlerMapping.MATCHED_REQUEST, controllerInfo("book", "show"))
+        adapter.preHandle(webRequest.request, webRequest.response, this)
+
+        then:"Only the controller interceptor matches and its decision is cached"
+        webRequest.request.getAttribute('executed') == ['book before']
+        adapter.matchPlans.size() == 1
+        adapter.matchPlans.values().first().chain == null
+        adapter.matchPlans.values().first().decisions.toList() == [true, null]
+
+        when:"A request for another URI of the same action is handled"
+        webRequest = GrailsWebMockUtil.bindMockWebRequest()
+        webRequest.request.requestURI = '/api/books/1'
+        webRequest.request.setAttribute(UrlMappingsHandlerMapping.MATCHED_REQUEST, controllerInfo("book", "show"))
+        adapter.preHandle(webRequest.request, webRequest.response, this)
+
+        then:"The URI interceptor is still evaluated per request"
+        webRequest.request.getAttribute('executed') == ['book before', 'uri before']
+        adapter.matchPlans.size() == 1
+
+        when:"A request for another controller is handled"
+        webRequest = GrailsWebMockUtil.bindMockWebRequest()
+        webRequest.request.setAttribute(UrlMappingsHandlerMapping.MATCHED_REQUEST, controllerInfo("author", "show"))
+        adapter.preHandle(webRequest.request, webRequest.response, this)
+
+        then:"No interceptor matches"
+        !webRequest.request.getAttribute('executed')
+        adapter.matchPlans.size() == 2
+    }
+
+    void "Test that a fully cacheable plan only invokes before for the interceptors that ran"() {
+        given:"Interceptors that only match by controller"
+        def adapter = new GrailsInterceptorHandlerInterceptorAdapter()
+        adapter.setInterceptors([new HighestInterceptor(), new MyInterceptor(), new LowestInterceptor()] as Interceptor[])
+
+        when:"The second interceptor cancels the request"
+        def webRequest = GrailsWebMockUtil.bindMockWebRequest()
+        webRequest.request.setAttribute(UrlMappingsHandlerMapping.MATCHED_REQUEST, controllerInfo("book", "show"))
+        webRequest.request.setAttribute("something", "test")
+        boolean proceed = adapter.preHandle(webRequest.request, webRequest.response, this)
+
+        then:"The chain stops and only the executed interceptors receive afterView"
+        !proceed
+        adapter.matchPlans.values().first().chain.size() == 3
+        webRequest.request.getAttribute('executed') == ['highest before']
+
+        when:
+        webRequest.request.setAttribute('executed', null)
+        adapter.afterCompletion(webRequest.request, webRequest.response, this, null)
+
+        then:
+        webRequest.request.getAttribute('executed') == ['highest afterView']
+    }
+
+    void "Test that interceptors are only run through the dispatch instrumentation if it is enabled"() {
+        given:"An interceptor that records whether it was called by the dispatch instrumentation"
+        def adapter = new GrailsInterceptorHandlerInterceptorAdapter()
+        adapter.setInterceptors([new StackRecordingInterceptor()] as Interceptor[])
+        DispatchObserver observer = Mock(DispatchObserver)
+
+        when:"The adapter preHandle is executed without an observer"
+        def webRequest = GrailsWebMockUtil.bindMockWebRequest()
+        adapter.preHandle(webRequest.request, webRequest.response, this)
+
+        then:"The interceptor is called directly"
+        webRequest.request.getAttribute('instrumented') == false
+
+        when:"The adapter preHandle is executed with an observer"
+        DispatchInstrumentation.register(observer)
+        webRequest = GrailsWebMockUtil.bindMockWebRequest()
+        adapter.preHandle(webRequest.request, webRequest.response, this)
+
+        then:"The interceptors phase is observed"
+        1 * observer.onStart(DispatchPhase.INTERCEPTORS)
+        1 * observer.onStop(DispatchPhase.INTERCEPTORS, _, null)
+        webRequest.request.getAttribute('instrumented') == false
+
+        cleanup:
+        DispatchInstrumentation.unregister(observer)
+    }
+
+    private static GrailsControllerUrlMappingInfo controllerInfo(String controllerName, String actionName) {
+        new GrailsControllerUrlMappingInfo(null, new ForwardUrlMappingInfo(controllerName: controllerName, actionName: actionName))
+    }
+}
+class BookMatchInterceptor implements Interceptor {
+
+    BookMatchInterceptor() {
+        match(controller: "book")
+    }
+
+    @Override
+    boolean before() {
+        def executed = request.getAttribute('executed') ?: []
+        executed << 'book before'
+        request.setAttribute('executed', executed)
+        true
+    }
+}
+class UriMatchInterceptor implements Interceptor {
+
+    UriMatchInterceptor() {
+        match(uri: "/api/**")
+    }
+
+    @Override
+    boolean before() {
+        def executed = request.getAttribute('executed') ?: []
+        executed << 'uri before'
+        request.setAttribute('executed', executed)
+        true
+    }
+}
+class StackRecordingInterceptor implements Interceptor {
+
+    StackRecordingInterceptor() {
+        matchAll()
+    }
+
+    @Override
+    boolean before() {
+        request.setAttribute('instrumented', new Throwable().stackTrace.any { it.className.startsWith(DispatchInstrumentation.name) })
+        true
+    }
 }
 class MyInterceptor implements Interceptor {
 
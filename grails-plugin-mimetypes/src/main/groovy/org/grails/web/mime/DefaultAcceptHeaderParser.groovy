@@ -15,17 +15,24 @@
  */
 package org.grails.web.mime
 
+import java.util.concurrent.ConcurrentHashMap
+
 import grails.web.mime.AcceptHeaderParser
 import grails.web.mime.MimeType
 import groovy.transform.CompileStatic
 import org.apache.commons.logging.Log
 import org.apache.commons.logging.LogFactory
+import org.grails.core.lifecycle.ShutdownOperations
 
 /**
  * Parsed the HTTP accept header into a a list of MimeType instances in the order of priority.
  * Priority is dictated by the order of the mime entries and the associated q parameter.
  * The higher the q parameter the higher the priority.
  *
+ * <p>Since only a small number of distinct headers are sent by clients, the result of parsing a header is cached
+ * for each set of configured mime types. Every call returns new {@link MimeType} instances, so callers are free to
+ * modify them.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -34,6 +41,20 @@ class DefaultAcceptHeaderParser implements AcceptHeaderParser {
 
     static final Log LOG = LogFactory.getLog(DefaultAcceptHeaderParser)
 
+    private static final String TEXT_XML = 'text/xml'
+    private static final String XML_SUFFIX = '+xml'
+    private static final int MAX_CACHED_MIME_TYPE_SETS = 16
+    private static final int MAX_CACHED_HEADERS = 512
+    private static final int MAX_CACHED_HEADER_LENGTH = 1024
+    private static final QualityComparator QUALITY_COMPARATOR = new QualityComparator()
+    private static final Map<MimeTypesKey, Map<String, ResolvedMimeType[]>> PARSED_HEADERS = new ConcurrentHashMap<>()
+
+    static {
+        ShutdownOperations.addOperation({
+            PARSED_HEADERS.clear()
+        }, true)
+    }
+
     MimeType[] configuredMimeTypes
 
     DefaultAcceptHeaderParser() {}
@@ -43,7 +64,6 @@ class DefaultAcceptHeaderParser implements AcceptHeaderParser {
     }
 
     MimeType[] parse(String header, MimeType fallbackMimeType = null) {
-        List<MimeType> mimes = []
         MimeType[] mimeConfig = configuredMimeTypes
         if (!mimeConfig) {
             if (LOG.isDebugEnabled()) {
@@ -56,81 +76,246 @@ class DefaultAcceptHeaderParser implements AcceptHeaderParser {
             return mimeConfig
         }
 
-        String[] tokens = header.split(',')
-        for (String t in tokens) {
-            if (t.indexOf(';') > -1) {
-                List tokenWithArgs = t.split(';').toList()
-                Map<String, String> params = [:]
-                final paramsList = tokenWithArgs.size() > 1 ? tokenWithArgs[1..-1] : []
-                paramsList.each{ it ->
-                    String theString = it as String
-                    def i = theString.indexOf('=')
-                    if (i > -1) {
-                        params[theString[0..i-1].trim()] = theString[i+1..-1].trim()
-                    }
+        // sub classes may change how mime types are created, so only the results of this class are cached
+        Map<String, ResolvedMimeType[]> parsedHeaders = getClass() == DefaultAcceptHeaderParser && header.length() <= MAX_CACHED_HEADER_LENGTH ?
+                getParsedHeaders(mimeConfig) : null
+        ResolvedMimeType[] resolved = parsedHeaders != null ? parsedHeaders.get(header) : null
+
+        MimeType[] mimes
+        if (resolved != null) {
+            mimes = new MimeType[resolved.length]
+            for (int i = 0; i < resolved.length; i++) {
+                mimes[i] = resolved[i].toMimeType()
+            }
+        }
+        else {
+            List<MimeType> parsed = parseMimeTypes(header, mimeConfig)
+            if (parsedHeaders != null && parsedHeaders.size() < MAX_CACHED_HEADERS) {
+                resolved = new ResolvedMimeType[parsed.size()]
+                for (int i = 0; i < resolved.length; i++) {
+                    resolved[i] = new ResolvedMimeType(parsed.get(i))
                 }
-                if (params) {
-                    createMimeTypeAndAddToList(tokenWithArgs[0].trim(),mimeConfig, mimes, params)
+                parsedHeaders.put(header, resolved)
+            }
+            mimes = parsed.toArray(new MimeType[parsed.size()])
+        }
+
+        if (mimes.length == 0) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug "No configured mime types found for Accept header: $header"
+            }
+            return fallbackMimeType ? [fallbackMimeType] as MimeType[] : MimeType.createDefaults()
+        }
+        mimes
+    }
+
+    protected void createMimeTypeAndAddToList(String name, MimeType[] mimeConfig, List<MimeType> mimes, Map<String,String> params = null) {
+        MimeType mime = params ? new MimeType(name, params) : new MimeType(name)
+        String version = mime.version
+        //First try to find the exact match for the mime type using name and version. If version is not set,  consider
+        // version match to be successful. Otherwise fall back to the first match using the name.
+        MimeType foundMime = null
+        MimeType nameMatch = null
+        for (MimeType mt in mimeConfig) {
+            if (mt.name == name) {
+                if (!version || mt.version == version) {
+                    foundMime = mt
+                    break
                 }
-                else {
-                    createMimeTypeAndAddToList(tokenWithArgs[0].trim(),mimeConfig, mimes)
+                if (nameMatch == null) {
+                    nameMatch = mt
                 }
             }
-            else {
-                createMimeTypeAndAddToList(t.trim(),mimeConfig, mimes)
+        }
+        foundMime = foundMime != null ? foundMime : nameMatch
+        if (foundMime != null) {
+            mime.extension = foundMime.extension
+            mimes.add(mime)
+        }
+    }
+
+    /**
+     * Parses the comma separated entries of the header and their parameters in a single pass
+     */
+    private List<MimeType> parseMimeTypes(String header, MimeType[] mimeConfig) {
+        List<MimeType> mimes = new ArrayList<MimeType>()
+        int length = header.length()
+        int start = 0
+        while (start < length) {
+            int end = indexOf(header, (char) ',', start, length)
+            int position = indexOf(header, (char) ';', start, end)
+            String name = header.substring(start, position).trim()
+            Map<String, String> params = null
+            while (position < end) {
+                int next = indexOf(header, (char) ';', position + 1, end)
+                int equals = indexOf(header, (char) '=', position + 1, next)
+                if (equals < next) {
+                    if (params == null) {
+                        params = new LinkedHashMap<String, String>()
+                    }
+                    params.put(header.substring(position + 1, equals).trim(), header.substring(equals + 1, next).trim())
+                }
+                position = next
             }
+            createMimeTypeAndAddToList(name, mimeConfig, mimes, params)
+            start = end + 1
         }
 
-        if (!mimes) {
-            LOG.debug "No configured mime types found for Accept header: $header"
-            return fallbackMimeType ? [fallbackMimeType] as MimeType[] : MimeType.createDefaults()
+        if (!mimes.isEmpty()) {
+            mergeXmlTypes(mimes)
+            Collections.sort(mimes, QUALITY_COMPARATOR)
+        }
+        mimes
+    }
+
+    private static void mergeXmlTypes(List<MimeType> mimes) {
+        MimeType textXml = null
+        MimeType appXml = null
+        for (MimeType mime in mimes) {
+            if (textXml == null && mime.name == TEXT_XML) {
+                textXml = mime
+            }
+            else if (appXml == null && mime.name == MimeType.XML.name) {
+                appXml = mime
+            }
         }
 
         // remove duplicate text/xml and application/xml entries
-        MimeType textXml = mimes.find { MimeType it -> it.name == 'text/xml' }
-        MimeType appXml = mimes.find { MimeType it -> it.name ==  MimeType.XML.name }
-        if (textXml && appXml) {
+        if (textXml != null && appXml != null) {
             // take the largest q value
-            appXml.parameters.q = [textXml.qualityAsNumber, appXml.qualityAsNumber].max()
+            BigDecimal textXmlQuality = textXml.qualityAsNumber
+            BigDecimal appXmlQuality = appXml.qualityAsNumber
+            ((Map) appXml.parameters).put('q', appXmlQuality > textXmlQuality ? appXmlQuality : textXmlQuality)
 
             mimes.remove(textXml)
         }
-        else if (textXml) {
+        else if (textXml != null) {
             textXml.name = MimeType.XML.name
         }
 
-        if (appXml) {
+        if (appXml != null) {
             // prioritise more specific XML types like xhtml+xml if they are of equal quality
-            def specificTypes = mimes.findAll { MimeType it -> it.name ==~ /\S+?\+xml$/ }
-            def appXmlIndex = mimes.indexOf(appXml)
-            def appXmlQuality = appXml.qualityAsNumber
-            for (mime in specificTypes) {
+            List<MimeType> specificTypes = new ArrayList<MimeType>()
+            for (MimeType mime in mimes) {
+                if (isSpecificXmlType(mime.name)) {
+                    specificTypes.add(mime)
+                }
+            }
+            int appXmlIndex = mimes.indexOf(appXml)
+            BigDecimal appXmlQuality = appXml.qualityAsNumber
+            for (MimeType mime in specificTypes) {
                 if (mime.qualityAsNumber < appXmlQuality) continue
 
-                def mimeIndex = mimes.indexOf(mime)
+                int mimeIndex = mimes.indexOf(mime)
                 if (mimeIndex > appXmlIndex) {
-                    mimes.remove(mime)
+                    mimes.remove(mimeIndex)
                     mimes.add(appXmlIndex, mime)
                 }
             }
         }
-        mimes.sort(true, new QualityComparator())
-        mimes as MimeType[]
     }
 
+    private static boolean isSpecificXmlType(String name) {
+        if (name == null || name.length() <= XML_SUFFIX.length() || !name.endsWith(XML_SUFFIX)) {
+            return false
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isWhitespace(name.charAt(i))) {
+                return false
+            }
+        }
+        true
+    }
 
-    protected void createMimeTypeAndAddToList(String name, MimeType[] mimeConfig, List<MimeType> mimes, Map<String,String> params = null) {
-        def mime = params ? new MimeType(name, params) : new MimeType(name)
-        //First try to find the exact match for the mime type using name and version. If version is not set,  consider
-        // version match to be successful.
-        def foundMime = mimeConfig.find { MimeType mt ->
-            mt.name == name && (!mime.version || mt.version == mime.version)
+    /**
+     * @return The index of the character between the given bounds or the end index if it isn't found
+     */
+    private static int indexOf(String value, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == c) {
+                return i
+            }
         }
-        //Fallback: Try to find match using the name (if version match is not found).
-        foundMime = foundMime?: mimeConfig.find { MimeType mt -> mt.name == name }
-        if (foundMime) {
-            mime.extension = foundMime.extension
-            mimes << mime
+        end
+    }
+
+    private static Map<String, ResolvedMimeType[]> getParsedHeaders(MimeType[] mimeConfig) {
+        MimeTypesKey key = new MimeTypesKey(mimeConfig)
+        Map<String, ResolvedMimeType[]> parsedHeaders = PARSED_HEADERS.get(key)
+        if (parsedHeaders == null) {
+            if (PARSED_HEADERS.size() >= MAX_CACHED_MIME_TYPE_SETS) {
+                // mime types are normally configured once, so only stale sets of a reloaded application are dropped
+                PARSED_HEADERS.clear()
+            }
+            Map<String, ResolvedMimeType[]> created = new ConcurrentHashMap<String, ResolvedMimeType[]>()
+            parsedHeaders = PARSED_HEADERS.putIfAbsent(key, created)
+            if (parsedHeaders == null) {
+                parsedHeaders = created
+            }
+        }
+        parsedHeaders
+    }
+
+    /**
+     * Identifies a set of configured mime types by the identity of its elements, since a new array is typically
+     * created from the same mime type beans for every request
+     */
+    @CompileStatic
+    private static final class MimeTypesKey {
+
+        private final MimeType[] mimeTypes
+        private final int hash
+
+        MimeTypesKey(MimeType[] mimeTypes) {
+            this.mimeTypes = (MimeType[]) mimeTypes.clone()
+            int h = 1
+            for (MimeType mimeType in mimeTypes) {
+                h = 31 * h + System.identityHashCode(mimeType)
+            }
+            this.hash = h
+        }
+
+        @Override
+        int hashCode() {
+            hash
+        }
+
+        @Override
+        boolean equals(Object o) {
+            if (!(o instanceof MimeTypesKey)) {
+                return false
+            }
+            MimeType[] other = ((MimeTypesKey) o).mimeTypes
+            if (other.length != mimeTypes.length) {
+                return false
+            }
+            for (int i = 0; i < mimeTypes.length; i++) {
+                if (!other[i].is(mimeTypes[i])) {
+                    return false
+                }
+            }
+            true
+        }
+    }
+
+    /**
+     * An immutable copy of a parsed mime type
+     */
+    @CompileStatic
+    private static final class ResolvedMimeType {
+
+        private final String name
+        private final String extension
+        private final Map<String, String> parameters
+
+        ResolvedMimeType(MimeType mimeType) {
+            this.name = mimeType.name
+            this.extension = mimeType.extension
+            this.parameters = Collections.unmodifiableMap(new LinkedHashMap<String, String>(mimeType.parameters))
+        }
+
+        MimeType toMimeType() {
+            new MimeType(name, extension, parameters)
         }
     }
 }
@@ -3,6 +3,7 @@ package org.grails.web.mime
 import grails.core.DefaultGrailsApplication
 import grails.spring.BeanBuilder
 import grails.util.Holders
+import grails.web.mime.MimeType
 import org.grails.config.PropertySourcesConfig
 import org.grails.plugins.web.mime.MimeTypesConfiguration
 import org.springframework.context.ApplicationContext
@@ -197,4 +198,48 @@ grails.mime.types = [ xml: ['text/xml', 'application/xml'],
         ['foov1'] == mimesV1.extension
         ['foov2'] == mimesV2.extension
     }
+
+    void testRepeatedParsingReturnsEqualResults() {
+        given:
+        def parser = getAcceptHeaderParser()
+        def header = "text/xml;q=0.3, application/xml;q=0.5, application/xhtml+xml;q=0.5, application/json;q=0.4"
+
+        when:
+        def first = parser.parse(header)
+        def second = parser.parse(header)
+        def third = new DefaultAcceptHeaderParser(parser.configuredMimeTypes).parse(header)
+
+        then:
+        ['application/xhtml+xml', 'application/xml', 'application/json'] == first.name
+        first.name == second.name
+        first.extension == second.extension
+        first.qualityAsNumber == second.qualityAsNumber
+        first.name == third.name
+    }
+
+    void testModifyingParsedMimeTypesDoesNotAffectLaterResults() {
+        given:
+        def parser = getAcceptHeaderParser()
+
+        when:
+        def mimes = parser.parse("application/json;q=0.9; charset=UTF-8, text/html")
+        mimes[0].name = 'text/plain'
+        mimes[1].parameters.charset = 'ISO-8859-1'
+        mimes = parser.parse("application/json;q=0.9; charset=UTF-8, text/html")
+
+        then:
+        ['text/html', 'application/json'] == mimes.name
+        'UTF-8' == mimes[1].parameters.charset
+    }
+
+    void testFallbackIsReturnedWhenNoConfiguredMimeTypeMatches() {
+        given:
+        def parser = getAcceptHeaderParser()
+        def fallback = new MimeType('foo/bar')
+
+        expect:
+        [fallback] == parser.parse('foo/bar', fallback).toList()
+        [fallback] == parser.parse('foo/bar', fallback).toList()
+        MimeType.createDefaults().toList() == parser.parse('foo/bar').toList()
+    }
 }
@@ -25,6 +25,8 @@ import grails.rest.render.RendererRegistry
 import grails.web.mime.MimeType
 import groovy.transform.Generated
 import org.grails.datastore.mapping.model.config.GormProperties
+import org.grails.web.servlet.mvc.DispatchInstrumentation
+import org.grails.web.servlet.mvc.DispatchPhase
 import org.grails.web.util.GrailsApplicationAttributes
 import groovy.transform.CompileStatic
 import groovy.transform.TypeCheckingMode
@@ -122,6 +124,23 @@ trait RestResponder {
     }
 
     private internalRespond(value, Map args=[:]) {
+        if (!DispatchInstrumentation.isEnabled()) {
+            return doRespond(value, args)
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.RENDERING)
+        try {
+            return doRespond(value, args)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
+
+    private doRespond(value, Map args) {
         Integer statusCode
         if (args.status) {
             final statusValue = args.status
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package grails.rest.render.hal;
+
+import grails.util.GrailsNameUtils;
+import groovy.json.JsonGenerator;
+import groovy.lang.GroovySystem;
+import groovy.lang.MetaClass;
+import org.grails.datastore.mapping.model.PersistentEntity;
+import org.grails.datastore.mapping.model.PersistentProperty;
+import org.grails.datastore.mapping.model.types.Association;
+import org.grails.datastore.mapping.model.types.Basic;
+import org.grails.datastore.mapping.model.types.Embedded;
+import org.grails.datastore.mapping.model.types.ToOne;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The persistent properties and associations of an entity resolved once for {@link HalJsonRenderer}, so that its
+ * instances can be written without looking up the properties, their meta class and their JSON names every time.
+ *
+ * <p>Property values are read with method handles bound to the getters. Properties without a public getter are read
+ * through the meta class of the entity like before.</p>
+ *
+ * @since 7.0
+ */
+final class HalJsonEntityPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    final PersistentEntity entity;
+
+    /**
+     * The properties written as values, in the order of {@link PersistentEntity#getPersistentProperties()}
+     */
+    final PropertyPlan[] properties;
+
+    /**
+     * The associations to other entities, in the order of {@link PersistentEntity#getAssociations()}
+     */
+    final AssociationPlan[] associations;
+
+    HalJsonEntityPlan(PersistentEntity entity, JsonGenerator generator) {
+        this.entity = entity;
+        MetaClass metaClass = GroovySystem.getMetaClassRegistry().getMetaClass(entity.getJavaClass());
+        Class<?> javaClass = entity.getJavaClass();
+
+        List<PropertyPlan> properties = new ArrayList<>();
+        for (PersistentProperty<?> property : entity.getPersistentProperties()) {
+            // associations other than basic collections are only written as links and embedded resources
+            boolean association = property instanceof Association;
+            if (!association || property instanceof Basic) {
+                properties.add(new PropertyPlan(property.getName(), javaClass, metaClass, generator, association));
+            }
+        }
+        this.properties = properties.toArray(new PropertyPlan[0]);
+
+        List<AssociationPlan> associations = new ArrayList<>();
+        for (Association<?> association : entity.getAssociations()) {
+            if (association.getAssociatedEntity() != null) {
+                associations.add(new AssociationPlan(association, javaClass, metaClass, generator));
+            }
+        }
+        this.associations = associations.toArray(new AssociationPlan[0]);
+    }
+
+    static class PropertyPlan {
+
+        final String name;
+
+        /**
+         * The JSON string of the name followed by a colon
+         */
+        final String jsonName;
+
+        /**
+         * Whether the property is only written if it is included by the render context
+         */
+        final boolean conditional;
+
+        private final MethodHandle getter;
+        private final MetaClass metaClass;
+
+        PropertyPlan(String name, Class<?> javaClass, MetaClass metaClass, JsonGenerator generator, boolean conditional) {
+            this.name = name;
+            this.jsonName = generator.toJson(name) + ':';
+            this.conditional = conditional;
+            this.metaClass = metaClass;
+            this.getter = findGetter(javaClass, name);
+        }
+
+        Object getValue(Object instance) {
+            if (getter == null) {
+                return metaClass.getProperty(instance, name);
+            }
+            try {
+                return (Object) getter.invokeExact(instance);
+            }
+            catch (RuntimeException | Error e) {
+                throw e;
+            }
+            catch (Throwable e) {
+                throw new IllegalStateException("Error reading property [" + name + "] of " + instance.getClass().getName(), e);
+            }
+        }
+
+        private static MethodHandle findGetter(Class<?> javaClass, String name) {
+            try {
+                Method method = javaClass.getMethod(GrailsNameUtils.getGetterName(name));
+                if (method.getReturnType() == void.class || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                    return null;
+                }
+                return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+            }
+            catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+        }
+    }
+
+    static final class AssociationPlan extends PropertyPlan {
+
+        final Association<?> association;
+        final PersistentEntity associatedEntity;
+        final boolean toOne;
+        final boolean embedded;
+        final boolean basic;
+
+        AssociationPlan(Association<?> association, Class<?> javaClass, MetaClass metaClass, JsonGenerator generator) {
+            super(association.getName(), javaClass, metaClass, generator, true);
+            this.association = association;
+            this.associatedEntity = association.getAssociatedEntity();
+            this.toOne = association instanceof ToOne;
+            this.embedded = association instanceof Embedded;
+            this.basic = association instanceof Basic;
+        }
+    }
+}
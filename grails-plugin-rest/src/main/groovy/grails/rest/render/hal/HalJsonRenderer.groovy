@@ -18,6 +18,7 @@ package grails.rest.render.hal
 import grails.rest.Link
 import grails.rest.render.RenderContext
 import grails.rest.render.util.AbstractLinkingRenderer
+import groovy.json.JsonGenerator
 import groovy.json.JsonOutput
 import groovy.json.StreamingJsonBuilder
 import groovy.transform.CompileStatic
@@ -28,6 +29,8 @@ import org.grails.datastore.mapping.model.MappingFactory
 import org.grails.datastore.mapping.model.PersistentEntity
 import org.grails.datastore.mapping.model.types.Association
 import org.grails.datastore.mapping.model.types.ToOne
+import org.grails.datastore.mapping.proxy.EntityProxyHandler
+import org.codehaus.groovy.runtime.typehandling.DefaultTypeTransformation
 import org.springframework.beans.PropertyAccessorFactory
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.core.convert.converter.Converter
@@ -35,6 +38,9 @@ import org.springframework.http.HttpMethod
 
 import jakarta.annotation.PostConstruct
 import jakarta.xml.bind.DatatypeConverter
+
+import java.lang.reflect.Method
+import java.util.concurrent.ConcurrentHashMap
 /**
  * Renders domain instances in HAL JSON format (see http://tools.ietf.org/html/draft-kelly-json-hal-05)
  *
@@ -50,6 +56,25 @@ class HalJsonRenderer<T> extends AbstractLinkingRenderer<T> {
 
     private static final MimeType[] DEFAULT_MIME_TYPES = [MIME_TYPE] as MimeType[]
 
+    /**
+     * The methods that write domain instances, overriding any of them disables the compiled rendering
+     */
+    private static final Set<String> WRITE_METHODS = [
+            'renderEmbeddedAttributes', 'writeLinkForCurrentPath', 'writeDomainWithEmbeddedAndLinks', 'writeLinks',
+            'writeLink', 'writeDomainProperty', 'writeDomain', 'writeAssociationLinks', 'writeExtraLinks'
+    ] as Set<String>
+
+    private static final Object NOT_EMBEDDED = new Object()
+
+    private static final String LINKS_NAME = JsonOutput.toJson(LINKS_ATTRIBUTE) + ':'
+    private static final String EMBEDDED_NAME = JsonOutput.toJson(EMBEDDED_ATTRIBUTE) + ':'
+    private static final String HREF_NAME = JsonOutput.toJson(HREF_ATTRIBUTE) + ':'
+    private static final String HREFLANG_NAME = JsonOutput.toJson(HREFLANG_ATTRIBUTE) + ':'
+    private static final String TITLE_NAME = JsonOutput.toJson(TITLE_ATTRIBUTE) + ':'
+    private static final String TYPE_NAME = JsonOutput.toJson(TYPE_ATTRIBUTE) + ':'
+    private static final String TEMPLATED_NAME = JsonOutput.toJson(TEMPLATED_ATTRIBUTE) + ':true'
+    private static final String DEPRECATED_NAME = JsonOutput.toJson(DEPRECATED_ATTRIBUTE) + ':true'
+
     private static class UTCDateConverter implements Converter<Date, String> {
         private final static TimeZone UtcTZ = TimeZone.getTimeZone('UTC')
         @Override
@@ -63,6 +88,17 @@ class HalJsonRenderer<T> extends AbstractLinkingRenderer<T> {
 
     String collectionName
 
+    /**
+     * Whether domain instances and collections are written directly to the response with a plan resolved once per
+     * entity instead of with {@link StreamingJsonBuilder} closures. Has no effect if a subclass overrides any of the
+     * methods that write domain instances, in which case those methods are used.
+     */
+    boolean compiled = true
+
+    private final boolean writeMethodsOverridden = overridesWriteMethods(getClass())
+    private final JsonGenerator jsonGenerator = new JsonGenerator.Options().build()
+    private final Map<Class, HalJsonEntityPlan> entityPlans = new ConcurrentHashMap<Class, HalJsonEntityPlan>()
+
     HalJsonRenderer(Class<T> targetType) {
         super(targetType, DEFAULT_MIME_TYPES)
     }
@@ -113,7 +149,9 @@ class HalJsonRenderer<T> extends AbstractLinkingRenderer<T> {
         try {
             final clazz = object.class
 
-            if (isDomainResource(clazz)) {
+            if (compiled && !writeMethodsOverridden && (isDomainResource(clazz) || object instanceof Collection)) {
+                renderCompiled(object, context, mimeType, targetWriter)
+            } else if (isDomainResource(clazz)) {
                 writer.call {
                     writeDomainWithEmbeddedAndLinks(context, clazz, object, delegate, context.locale, mimeType, [] as Set,
                             new Stack())
@@ -343,4 +381,278 @@ class HalJsonRenderer<T> extends AbstractLinkingRenderer<T> {
         StreamingJsonBuilder.StreamingJsonDelegate builder = (StreamingJsonBuilder.StreamingJsonDelegate)jsonWriter
         builder.call(propertyName, value)
     }
+
+    /**
+     * Writes a domain instance or a collection like {@link #renderInternal}
+     * but directly to the writer, using the {@link HalJsonEntityPlan} of each entity
+     */
+    protected void renderCompiled(Object object, RenderContext context, MimeType mimeType, Writer out) {
+        final locale = context.locale
+        final clazz = object.getClass()
+        if (isDomainResource(clazz)) {
+            out.write('{')
+            writeCompiledDomain(context, clazz, object, out, locale, mimeType, new ArrayList<Object>())
+            out.write('}')
+            return
+        }
+
+        out.write('{')
+        out.write(LINKS_NAME)
+        out.write('{')
+        writeCompiledLinkForCurrentPath(context, mimeType, out)
+        out.write('},')
+        out.write(EMBEDDED_NAME)
+        if (collectionName != null) {
+            out.write('{')
+            out.write(jsonGenerator.toJson(collectionName))
+            out.write(':')
+            writeCompiledCollection((Collection) object, context, mimeType, out)
+            out.write('}')
+        }
+        else {
+            writeCompiledCollection((Collection) object, context, mimeType, out)
+        }
+        out.write('}')
+    }
+
+    private void writeCompiledCollection(Collection collection, RenderContext context, MimeType mimeType, Writer out) {
+        final locale = context.locale
+        out.write('[')
+        boolean first = true
+        for (Object o in collection) {
+            if (!first) {
+                out.write(',')
+            }
+            first = false
+            out.write('{')
+            if (DefaultTypeTransformation.castToBoolean(o)) {
+                if (isDomainResource(o.getClass())) {
+                    writeCompiledDomain(context, o.getClass(), o, out, locale, mimeType, new ArrayList<Object>())
+                }
+                else {
+                    writeSimpleObjectAndLink(o, context, new StreamingJsonBuilder.StreamingJsonDelegate(out, true, jsonGenerator), mimeType)
+                }
+            }
+            out.write('}')
+        }
+        out.write(']')
+    }
+
+    private void writeCompiledDomain(RenderContext context, Class clazz, Object object, Writer out, Locale locale, MimeType contentType,
+                                     List<Object> referenceStack) {
+        final plan = getEntityPlan(clazz)
+        // an object that is already being written is only written as a link to avoid circular references
+        if (referenceStack.contains(object)) {
+            writeCompiledLinks(context, plan, object, out, locale, contentType, false)
+            return
+        }
+        referenceStack.add(object)
+        final embedded = writeCompiledLinks(context, plan, object, out, locale, contentType, true)
+
+        for (property in plan.properties) {
+            if (!property.conditional || shouldIncludeProperty(context, object, property.name)) {
+                final value = property.getValue(object)
+                if (value != null) {
+                    out.write(',')
+                    out.write(property.jsonName)
+                    out.write(jsonGenerator.toJson(value))
+                }
+            }
+        }
+
+        if (embedded != null) {
+            writeCompiledEmbedded(context, plan, embedded, out, locale, referenceStack)
+        }
+        referenceStack.remove(referenceStack.size() - 1)
+    }
+
+    /**
+     * @return The values of the associations to embed, indexed like {@link HalJsonEntityPlan#associations}, or null if there are none
+     */
+    private Object[] writeCompiledLinks(RenderContext context, HalJsonEntityPlan plan, Object object, Writer out, Locale locale,
+                                        MimeType contentType, boolean associationLinks) {
+        final entityHref = linkGenerator.link(resource: object, method: HttpMethod.GET.toString(), absolute: absoluteLinks)
+        final title = getLinkTitle(plan.entity, locale)
+
+        out.write(LINKS_NAME)
+        out.write('{')
+        def link = new Link(RELATIONSHIP_SELF, entityHref)
+        link.contentType = contentType ? contentType.name : null
+        link.title = title
+        link.hreflang = locale
+        writeCompiledLink(link, locale, out)
+
+        Object[] embedded = null
+        if (associationLinks) {
+            for (Link extraLink in getLinksForObject(object)) {
+                out.write(',')
+                writeCompiledLink(extraLink, locale, out)
+            }
+            embedded = writeCompiledAssociationLinks(context, plan, object, out, locale)
+        }
+        out.write('}')
+        return embedded
+    }
+
+    private Object[] writeCompiledAssociationLinks(RenderContext context, HalJsonEntityPlan plan, Object object, Writer out, Locale locale) {
+        final associations = plan.associations
+        Object[] embedded = null
+        for (int i = 0; i < associations.length; i++) {
+            final a = associations[i]
+            final propertyName = a.name
+            if (!shouldIncludeProperty(context, object, propertyName)) {
+                continue
+            }
+            if (proxyHandler.isInitialized(object, propertyName)) {
+                if (a.toOne) {
+                    final value = proxyHandler.unwrapIfProxy(a.getValue(object))
+                    if (a.embedded) {
+                        // no links for embedded
+                        embedded = embed(embedded, associations.length, i, value)
+                    } else if (value != null) {
+                        final href = linkGenerator.link(resource: value, method: HttpMethod.GET, absolute: absoluteLinks)
+                        final link = new Link(propertyName, href)
+                        link.title = getLinkTitle(a.associatedEntity, locale)
+                        link.hreflang = locale
+                        out.write(',')
+                        writeCompiledLink(link, locale, out)
+                        embedded = embed(embedded, associations.length, i, value)
+                    }
+                } else if (!a.basic) {
+                    embedded = embed(embedded, associations.length, i, a.getValue(object))
+                }
+            } else if (a.toOne && (proxyHandler instanceof EntityProxyHandler)) {
+                final proxy = mappingContext.getEntityReflector(a.association.owner).getProperty(object, propertyName)
+                final id = ((EntityProxyHandler) proxyHandler).getProxyIdentifier(proxy)
+                final href = linkGenerator.link(resource: a.associatedEntity.decapitalizedName, id: id, method: HttpMethod.GET, absolute: absoluteLinks)
+                final link = new Link(propertyName, href)
+                link.title = getLinkTitle(a.associatedEntity, locale)
+                link.hreflang = locale
+                out.write(',')
+                writeCompiledLink(link, locale, out)
+            }
+        }
+        return embedded
+    }
+
+    private static Object[] embed(Object[] embedded, int length, int index, Object value) {
+        if (embedded == null) {
+            embedded = new Object[length]
+            Arrays.fill(embedded, NOT_EMBEDDED)
+        }
+        embedded[index] = value
+        return embedded
+    }
+
+    private void writeCompiledEmbedded(RenderContext context, HalJsonEntityPlan plan, Object[] embedded, Writer out, Locale locale,
+                                       List<Object> referenceStack) {
+        out.write(',')
+        out.write(EMBEDDED_NAME)
+        out.write('{')
+        boolean first = true
+        for (int i = 0; i < embedded.length; i++) {
+            final value = embedded[i]
+            if (value.is(NOT_EMBEDDED)) {
+                continue
+            }
+            final a = plan.associations[i]
+            final associatedClass = a.associatedEntity.javaClass
+            if (a.toOne) {
+                if (value != null) {
+                    if (!first) {
+                        out.write(',')
+                    }
+                    first = false
+                    out.write(a.jsonName)
+                    out.write('{')
+                    writeCompiledDomain(context, associatedClass, value, out, locale, null, referenceStack)
+                    out.write('}')
+                }
+            }
+            else {
+                if (!first) {
+                    out.write(',')
+                }
+                first = false
+                out.write(a.jsonName)
+                out.write('[')
+                if (value != null) {
+                    boolean firstElement = true
+                    for (Object element in (Iterable) value) {
+                        if (!firstElement) {
+                            out.write(',')
+                        }
+                        firstElement = false
+                        out.write('{')
+                        writeCompiledDomain(context, associatedClass, element, out, locale, null, referenceStack)
+                        out.write('}')
+                    }
+                }
+                out.write(']')
+            }
+        }
+        out.write('}')
+    }
+
+    private void writeCompiledLinkForCurrentPath(RenderContext context, MimeType mimeType, Writer out) {
+        final href = linkGenerator.link(uri: context.resourcePath, method: HttpMethod.GET.toString(), absolute: absoluteLinks)
+        final locale = context.locale
+        def link = new Link(RELATIONSHIP_SELF, href)
+        link.title = getResourceTitle(href, locale)
+        link.contentType = mimeType ? mimeType.name : null
+
+        writeCompiledLink(link, locale, out)
+    }
+
+    private void writeCompiledLink(Link link, Locale locale, Writer out) {
+        out.write(jsonGenerator.toJson(link.rel))
+        out.write(':{')
+        out.write(HREF_NAME)
+        out.write(jsonGenerator.toJson(link.href))
+        out.write(',')
+        out.write(HREFLANG_NAME)
+        out.write(jsonGenerator.toJson((link.hreflang ?: locale).language))
+        final title = link.title
+        if (title) {
+            out.write(',')
+            out.write(TITLE_NAME)
+            out.write(jsonGenerator.toJson(title))
+        }
+        final type = link.contentType
+        if (type) {
+            out.write(',')
+            out.write(TYPE_NAME)
+            out.write(jsonGenerator.toJson(type))
+        }
+        if (link.templated) {
+            out.write(',')
+            out.write(TEMPLATED_NAME)
+        }
+        if (link.deprecated) {
+            out.write(',')
+            out.write(DEPRECATED_NAME)
+        }
+        out.write('}')
+    }
+
+    private HalJsonEntityPlan getEntityPlan(Class clazz) {
+        def plan = entityPlans.get(clazz)
+        if (plan == null) {
+            PersistentEntity entity = mappingContext.getPersistentEntity(clazz.name)
+            plan = new HalJsonEntityPlan(entity, jsonGenerator)
+            entityPlans.put(clazz, plan)
+        }
+        return plan
+    }
+
+    private static boolean overridesWriteMethods(Class type) {
+        for (Class c = type; c != null && c != HalJsonRenderer; c = c.superclass) {
+            for (Method method in c.declaredMethods) {
+                if (WRITE_METHODS.contains(method.name)) {
+                    return true
+                }
+            }
+        }
+        return false
+    }
 }
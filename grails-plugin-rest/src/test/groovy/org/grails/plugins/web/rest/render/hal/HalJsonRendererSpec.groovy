@@ -21,6 +21,7 @@ import grails.config.Config
 import grails.core.DefaultGrailsApplication
 import grails.core.GrailsApplication
 import grails.persistence.Entity
+import grails.rest.Link
 import grails.rest.render.Renderer
 import grails.rest.render.hal.HalJsonCollectionRenderer
 import grails.rest.render.hal.HalJsonRenderer
@@ -815,6 +816,47 @@ class HalJsonRendererSpec extends Specification {
         }''')
     }
 
+    void "Test that compiled rendering writes the same JSON as rendering with closures"() {
+        given: "A renderer for domain objects with circular references and a collection renderer"
+        def employee = new Employee(name: 'employee1', projects: [new Project(name: 'project1')])
+        def team = new Team(name: 'Test Team')
+        def members = [new Member(name: "One", team: team), null, new Member(name: "Two", team: team)]
+
+        expect: "The output is the same as when closures are used"
+        renderToString(getEmployeeRenderer(), employee, true) == renderToString(getEmployeeRenderer(), employee, false)
+        renderToString(getMemberCollectionRenderer(), members, true) == renderToString(getMemberCollectionRenderer(), members, false)
+    }
+
+    void "Test that compiled rendering is not used when a write method is overridden"() {
+        given: "A renderer that overrides how links are written"
+        def renderer = new HalJsonRenderer(Product) {
+            @Override
+            protected void writeLink(Link link, Locale locale, writer) {
+                super.writeLink(new Link(link.rel, 'http://example.com'), locale, writer)
+            }
+        }
+        renderer.mappingContext = mappingContext
+        renderer.messageSource = new StaticMessageSource()
+        renderer.linkGenerator = getLinkGenerator {
+            "/products"(resources: "product")
+        }
+
+        when: "A domain object is rendered"
+        def json = renderToString(renderer, new Product(name: "MacBook", numberInStock: 10), true)
+
+        then: "The overridden method is used"
+        json.contains('"href":"http://example.com"')
+        !json.contains('"href":"http://localhost/products"')
+    }
+
+    private String renderToString(HalJsonRenderer renderer, Object object, boolean compiled) {
+        renderer.compiled = compiled
+        renderer.prettyPrint = false
+        def webRequest = configureMembersWebRequest()
+        renderer.render(object, new ServletRenderContext(webRequest))
+        (webRequest.response as MockHttpServletResponse).contentAsString
+    }
+
     protected configureMembersWebRequest() {
         def webRequest = boundMimeTypeRequest()
         (webRequest.request as MockHttpServletRequest).addHeader("ACCEPT", "application/hal+json")
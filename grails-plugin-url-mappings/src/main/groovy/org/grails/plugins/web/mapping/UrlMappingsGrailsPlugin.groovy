@@ -29,6 +29,7 @@ import grails.web.mapping.cors.GrailsCorsConfiguration
 import org.grails.spring.beans.factory.HotSwappableTargetSourceFactoryBean
 import org.grails.web.mapping.CachingLinkGenerator
 import org.grails.web.mapping.DefaultLinkGenerator
+import org.grails.web.mapping.LinkGeneratorCacheMetrics
 import grails.web.mapping.LinkGenerator
 import grails.web.mapping.UrlMappings
 import grails.web.mapping.UrlMappingsHolder
@@ -39,6 +40,7 @@ import org.grails.web.mapping.servlet.UrlMappingsErrorPageCustomizer
 import org.springframework.aop.framework.ProxyFactoryBean
 import org.springframework.aop.target.HotSwappableTargetSource
 import org.springframework.context.ApplicationContext
+import org.springframework.util.ClassUtils
 
 /**
  * Handles the configuration of URL mappings.
@@ -84,7 +86,21 @@ class UrlMappingsGrailsPlugin extends Plugin {
 
         urlMappingsInfoHandlerAdapter(UrlMappingsInfoHandlerAdapter)
         urlMappingsErrorPageCustomizer(UrlMappingsErrorPageCustomizer)
-        grailsLinkGenerator(cacheUrls ? CachingLinkGenerator : DefaultLinkGenerator, serverURL)
+        if (cacheUrls) {
+            boolean micrometerPresent = ClassUtils.isPresent('io.micrometer.core.instrument.MeterRegistry', application.classLoader)
+            boolean recordStats = config.getProperty(Settings.WEB_LINK_GENERATOR_CACHE_RECORD_STATS, Boolean, micrometerPresent)
+            grailsLinkGenerator(CachingLinkGenerator, serverURL) {
+                maximumSize = config.getProperty(Settings.WEB_LINK_GENERATOR_CACHE_MAXIMUM_SIZE, Long, CachingLinkGenerator.DEFAULT_MAXIMUM_SIZE)
+                maximumWeight = config.getProperty(Settings.WEB_LINK_GENERATOR_CACHE_MAXIMUM_WEIGHT, Long, -1L)
+                delegate.recordStats = recordStats
+            }
+            if (recordStats && micrometerPresent) {
+                grailsLinkGeneratorCacheMetrics(LinkGeneratorCacheMetrics, ref('grailsLinkGenerator'))
+            }
+        }
+        else {
+            grailsLinkGenerator(DefaultLinkGenerator, serverURL)
+        }
 
         if (isReloadEnabled) {
             urlMappingsTargetSource(HotSwappableTargetSourceFactoryBean) {
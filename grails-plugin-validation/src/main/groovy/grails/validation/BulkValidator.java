@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package grails.validation;
+
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Validates many {@link Validateable} objects, for example the command objects of a bulk request, by splitting
+ * them into batches that are validated concurrently.
+ *
+ * <p>Each object is validated with {@link Validateable#validate(List)} as if it were validated on its own, so the
+ * errors of an object are the same, in the same order, regardless of whether it was validated sequentially or in
+ * parallel. The errors are returned in the order of the objects.</p>
+ *
+ * <p>Validators run on the threads of the executor, which by default is the common {@link ForkJoinPool}. Any executor
+ * can be used, for example one that starts a virtual thread per task. Custom validators that depend on the state of the
+ * current thread, such as the current request, should be validated sequentially, see {@link #sequential()}.</p>
+ *
+ * @since 7.0
+ */
+public class BulkValidator {
+
+    /**
+     * The default number of objects validated by a single task
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final Executor CALLER_THREAD = Runnable::run;
+
+    private final Executor executor;
+    private final int batchSize;
+
+    /**
+     * Creates a validator using the common {@link ForkJoinPool}
+     */
+    public BulkValidator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param executor The executor the batches are validated with
+     */
+    public BulkValidator(Executor executor) {
+        this(executor, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param executor The executor the batches are validated with
+     * @param batchSize The number of objects validated by a single task, smaller lists are validated on the calling thread
+     */
+    public BulkValidator(Executor executor, int batchSize) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Argument [executor] cannot be null");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Argument [batchSize] must be positive");
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return A validator that validates all objects on the calling thread
+     */
+    public static BulkValidator sequential() {
+        return new BulkValidator(CALLER_THREAD, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates the given objects
+     *
+     * @param objects The objects to validate
+     * @return The errors of each object, in the order of the objects
+     */
+    public List<Errors> validate(List<? extends Validateable> objects) {
+        return validate(objects, null);
+    }
+
+    /**
+     * Validates the given fields of the given objects
+     *
+     * @param objects The objects to validate
+     * @param fieldsToValidate The fields to validate or null to validate all fields
+     * @return The errors of each object, in the order of the objects
+     */
+    public List<Errors> validate(List<? extends Validateable> objects, List<String> fieldsToValidate) {
+        Validateable[] items = objects.toArray(new Validateable[0]);
+        int size = items.length;
+        if (size == 0) {
+            return new ArrayList<>(0);
+        }
+        Errors[] errors = new Errors[size];
+
+        // the first object is validated upfront, so that the constraints of the class are evaluated only once
+        // instead of concurrently by every batch
+        validate(items, errors, fieldsToValidate, 0, 1);
+        if (size - 1 <= batchSize) {
+            validate(items, errors, fieldsToValidate, 1, size);
+        }
+        else {
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int start = 1; start < size; start += batchSize) {
+                int from = start;
+                int to = Math.min(size, start + batchSize);
+                batches.add(CompletableFuture.runAsync(() -> validate(items, errors, fieldsToValidate, from, to), executor));
+            }
+            try {
+                CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+            }
+            catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+        return Arrays.asList(errors);
+    }
+
+    private static void validate(Validateable[] items, Errors[] errors, List<String> fieldsToValidate, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Validateable item = items[i];
+            item.validate(fieldsToValidate);
+            errors[i] = item.getErrors();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.grails.datastore.gorm.validation.constraints.eval.DefaultConstraintEv
 import org.grails.datastore.gorm.validation.constraints.registry.DefaultConstraintRegistry
 import org.grails.datastore.mapping.keyvalue.mapping.config.KeyValueMappingContext
 import org.grails.validation.ConstraintEvalUtils
+import org.grails.validation.ValidateableConstraints
 import org.springframework.context.ApplicationContext
 import org.springframework.context.MessageSource
 import org.springframework.context.support.StaticMessageSource
@@ -42,7 +43,6 @@ import org.springframework.validation.FieldError
 @CompileStatic
 trait Validateable {
     private BeforeValidateHelper beforeValidateHelper = new BeforeValidateHelper()
-    private static Map<String, Constrained> constraintsMapInternal
 
     private Errors errors
 
@@ -83,18 +83,26 @@ trait Validateable {
     @Generated
     @CompileDynamic
     static Map<String, Constrained> getConstraintsMap() {
-        if (constraintsMapInternal == null) {
-            org.grails.datastore.gorm.validation.constraints.eval.ConstraintsEvaluator evaluator = findConstraintsEvaluator()
-            Map<String, ConstrainedProperty> evaluatedConstraints = evaluator.evaluate(this, this.defaultNullable())
+        ValidateableConstraints cached = ValidateableConstraints.forClass(this)
+        ApplicationContext applicationContext = Holders.findApplicationContext()
+        boolean defaultNullable = this.defaultNullable()
+        Map<String, Constrained> constraintsMap = cached.getConstraintsMap(applicationContext, defaultNullable)
+        if (constraintsMap == null) {
+            Map<String, ConstrainedProperty> evaluatedConstraints = cached.getConstrainedProperties(applicationContext, defaultNullable, false)
+            if (evaluatedConstraints == null) {
+                evaluatedConstraints = findConstraintsEvaluator().evaluate(this, defaultNullable)
+                cached.setConstrainedProperties(applicationContext, defaultNullable, false, evaluatedConstraints)
+            }
 
             Map<String, Constrained> finalConstraints = [:]
             for(entry in evaluatedConstraints) {
                 finalConstraints.put(entry.key, new ConstrainedDelegate(entry.value))
             }
 
-            constraintsMapInternal = finalConstraints
+            constraintsMap = finalConstraints
+            cached.setConstraintsMap(applicationContext, defaultNullable, constraintsMap)
         }
-        return constraintsMapInternal
+        return constraintsMap
     }
 
     /**
@@ -178,9 +186,7 @@ trait Validateable {
         beforeValidateHelper.invokeBeforeValidate(this, fieldsToValidate)
 
         boolean shouldInherit = Boolean.valueOf(params?.inherit?.toString() ?: 'true')
-        org.grails.datastore.gorm.validation.constraints.eval.ConstraintsEvaluator evaluator = findConstraintsEvaluator()
-
-        Map<String, ConstrainedProperty> constraints = evaluator.evaluate(this.class, this.defaultNullable(), !shouldInherit, adHocConstraintsClosures)
+        Map<String, ConstrainedProperty> constraints = findConstraints(!shouldInherit, adHocConstraintsClosures)
 
         ValidationErrors localErrors = doValidate(constraints, fieldsToValidate)
 
@@ -196,6 +202,7 @@ trait Validateable {
     private ValidationErrors doValidate(Map<String, ConstrainedProperty> constraints, List fieldsToValidate) {
         ValidationErrors localErrors = new ValidationErrors(this, this.class.name)
         if (constraints) {
+            ValidateableConstraints cached = ValidateableConstraints.forClass(this.class)
             Errors originalErrors = getErrors()
             for (originalError in originalErrors.allErrors) {
                 if (originalError instanceof FieldError) {
@@ -210,7 +217,7 @@ trait Validateable {
                 if (fieldsToValidate == null || fieldsToValidate.contains(prop.propertyName)) {
                     FieldError fieldError = originalErrors.getFieldError(prop.propertyName)
                     if (fieldError == null || !fieldError.bindingFailure) {
-                        def value = getPropertyValue(prop)
+                        def value = cached.getPropertyValue(this, prop.propertyName)
                         prop.validate(this, value, localErrors)
                     }
                 }
@@ -219,9 +226,24 @@ trait Validateable {
         localErrors
     }
 
+    /**
+     * The constraints are only evaluated once per class unless ad-hoc constraints are given, since those may
+     * refer to the state of the caller
+     */
     @CompileDynamic
-    private Object getPropertyValue(ConstrainedProperty prop) {
-        this[prop.propertyName]
+    private Map<String, ConstrainedProperty> findConstraints(boolean useOnlyAdHocConstraints, Closure<?>[] adHocConstraintsClosures) {
+        boolean defaultNullable = this.defaultNullable()
+        if (adHocConstraintsClosures) {
+            return findConstraintsEvaluator().evaluate(this.class, defaultNullable, useOnlyAdHocConstraints, adHocConstraintsClosures)
+        }
+        ValidateableConstraints cached = ValidateableConstraints.forClass(this.class)
+        ApplicationContext applicationContext = Holders.findApplicationContext()
+        Map<String, ConstrainedProperty> constraints = cached.getConstrainedProperties(applicationContext, defaultNullable, useOnlyAdHocConstraints)
+        if (constraints == null) {
+            constraints = findConstraintsEvaluator().evaluate(this.class, defaultNullable, useOnlyAdHocConstraints, adHocConstraintsClosures)
+            cached.setConstrainedProperties(applicationContext, defaultNullable, useOnlyAdHocConstraints, constraints)
+        }
+        constraints
     }
 
     private static org.grails.datastore.gorm.validation.constraints.eval.ConstraintsEvaluator findConstraintsEvaluator() {
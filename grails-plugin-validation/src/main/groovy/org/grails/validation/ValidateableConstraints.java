@@ -0,0 +1,210 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.validation;
+
+import grails.gorm.validation.ConstrainedProperty;
+import grails.util.GrailsNameUtils;
+import grails.validation.Constrained;
+import groovy.lang.GroovyObject;
+import groovy.transform.Generated;
+import groovy.transform.Internal;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.WeakReference;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The evaluated constraints and the property getters of a class implementing {@link grails.validation.Validateable},
+ * so that validating an instance doesn't evaluate the {@code constraints} closure again.
+ *
+ * <p>The constraints are evaluated once per application context, since the evaluator and the default constraints
+ * are configured by the application. A new application context, for example after a restart, causes them to be
+ * evaluated again. Constraints including ad-hoc closures aren't cached, as those closures can refer to the state
+ * of the code that passed them.</p>
+ *
+ * @since 7.0
+ */
+public final class ValidateableConstraints {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle NO_GETTER = MethodHandles.constant(Object.class, null);
+
+    private static volatile ClassValue<ValidateableConstraints> cache = createCache();
+
+    private final Class<?> type;
+    private final boolean customGetProperty;
+    private final ConcurrentMap<String, MethodHandle> getters = new ConcurrentHashMap<>();
+    private volatile Evaluated evaluated;
+
+    private ValidateableConstraints(Class<?> type) {
+        this.type = type;
+        this.customGetProperty = declaresGetProperty(type);
+    }
+
+    /**
+     * @param type The class of the validated object
+     * @return The cached constraints and getters of the class
+     */
+    public static ValidateableConstraints forClass(Class<?> type) {
+        return cache.get(type);
+    }
+
+    /**
+     * Discards the constraints and getters of all classes
+     */
+    public static void clear() {
+        cache = createCache();
+    }
+
+    private static ClassValue<ValidateableConstraints> createCache() {
+        return new ClassValue<ValidateableConstraints>() {
+            @Override
+            protected ValidateableConstraints computeValue(Class<?> type) {
+                return new ValidateableConstraints(type);
+            }
+        };
+    }
+
+    /**
+     * @param applicationContext The current application context or null, identifies the configuration
+     * @param defaultNullable Whether properties are nullable by default
+     * @param useOnlyAdHocConstraints Whether the constraints of super classes are ignored
+     * @return The constrained properties by name or null if they haven't been evaluated for the application context
+     */
+    public Map<String, ConstrainedProperty> getConstrainedProperties(Object applicationContext, boolean defaultNullable, boolean useOnlyAdHocConstraints) {
+        return getEvaluated(applicationContext, defaultNullable).constrainedProperties.get(useOnlyAdHocConstraints ? 1 : 0);
+    }
+
+    /**
+     * Stores the evaluated constraints of the class, see {@link #getConstrainedProperties(Object, boolean, boolean)}
+     */
+    public void setConstrainedProperties(Object applicationContext, boolean defaultNullable, boolean useOnlyAdHocConstraints,
+                                         Map<String, ConstrainedProperty> constrainedProperties) {
+        getEvaluated(applicationContext, defaultNullable).constrainedProperties.set(useOnlyAdHocConstraints ? 1 : 0, constrainedProperties);
+    }
+
+    /**
+     * @param applicationContext The current application context or null
+     * @param defaultNullable Whether properties are nullable by default
+     * @return The constraints wrapped as {@link grails.validation.ConstrainedDelegate} or null if they haven't been
+     * created for the application context
+     */
+    public Map<String, Constrained> getConstraintsMap(Object applicationContext, boolean defaultNullable) {
+        return getEvaluated(applicationContext, defaultNullable).constraintsMap;
+    }
+
+    /**
+     * Stores the wrapped constraints of the class, see {@link #getConstraintsMap(Object, boolean)}
+     */
+    public void setConstraintsMap(Object applicationContext, boolean defaultNullable, Map<String, Constrained> constraintsMap) {
+        getEvaluated(applicationContext, defaultNullable).constraintsMap = constraintsMap;
+    }
+
+    private Evaluated getEvaluated(Object applicationContext, boolean defaultNullable) {
+        Evaluated current = evaluated;
+        if (current == null || current.applicationContext.get() != applicationContext || current.defaultNullable != defaultNullable) {
+            current = new Evaluated(applicationContext, defaultNullable);
+            evaluated = current;
+        }
+        return current;
+    }
+
+    /**
+     * Reads a property with its public getter, or like {@code object[propertyName]} if there is none
+     *
+     * @param object An instance of the class
+     * @param propertyName The name of the property
+     * @return The value
+     */
+    public Object getPropertyValue(Object object, String propertyName) {
+        MethodHandle getter = getters.get(propertyName);
+        if (getter == null) {
+            getter = findGetter(propertyName);
+            getters.put(propertyName, getter);
+        }
+        if (getter == NO_GETTER) {
+            return InvokerHelper.getProperty(object, propertyName);
+        }
+        try {
+            return (Object) getter.invokeExact(object);
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException("Error reading property [" + propertyName + "] of " + type.getName(), e);
+        }
+    }
+
+    private MethodHandle findGetter(String propertyName) {
+        if (customGetProperty || !Modifier.isPublic(type.getModifiers())) {
+            return NO_GETTER;
+        }
+        try {
+            Method method = type.getMethod(GrailsNameUtils.getGetterName(propertyName));
+            if (method.getReturnType() == void.class || Modifier.isStatic(method.getModifiers())) {
+                return NO_GETTER;
+            }
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+        }
+        catch (NoSuchMethodException | IllegalAccessException e) {
+            return NO_GETTER;
+        }
+    }
+
+    /**
+     * Whether the class implements {@link GroovyObject#getProperty(String)} itself, in which case it decides how
+     * properties are read
+     */
+    private static boolean declaresGetProperty(Class<?> type) {
+        if (!GroovyObject.class.isAssignableFrom(type)) {
+            return false;
+        }
+        try {
+            Method method = type.getMethod("getProperty", String.class);
+            return !method.getDeclaringClass().isInterface() && !method.isSynthetic() &&
+                    !method.isAnnotationPresent(Generated.class) && !method.isAnnotationPresent(Internal.class);
+        }
+        catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The constraints evaluated for an application context
+     */
+    private static final class Evaluated {
+        // not retained, the cache shouldn't keep a closed application context alive
+        final WeakReference<Object> applicationContext;
+        final boolean defaultNullable;
+        // with and without the constraints of super classes
+        final AtomicReferenceArray<Map<String, ConstrainedProperty>> constrainedProperties = new AtomicReferenceArray<>(2);
+        volatile Map<String, Constrained> constraintsMap;
+
+        Evaluated(Object applicationContext, boolean defaultNullable) {
+            this.applicationContext = new WeakReference<>(applicationContext);
+            this.defaultNullable = defaultNullable;
+        }
+    }
+}
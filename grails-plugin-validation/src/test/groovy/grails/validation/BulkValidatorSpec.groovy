@@ -0,0 +1,86 @@
+package grails.validation
+
+import org.springframework.validation.Errors
+import org.springframework.validation.FieldError
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class BulkValidatorSpec extends Specification {
+
+    ExecutorService executor = Executors.newFixedThreadPool(4)
+
+    void cleanup() {
+        executor.shutdown()
+    }
+
+    void 'Test that parallel and sequential validation produce the same errors in the same order'() {
+        given:
+        List<BulkItem> items = (0..<5000).collect { int i -> new BulkItem(name: i % 3 ? "Item $i" : "item $i", min: i % 7, max: i % 5) }
+        List<BulkItem> copies = items.collect { BulkItem item -> new BulkItem(name: item.name, min: item.min, max: item.max) }
+
+        when:
+        List<Errors> parallel = new BulkValidator(executor, 100).validate(items)
+        List<Errors> sequential = BulkValidator.sequential().validate(copies)
+
+        then:
+        parallel.size() == items.size()
+        parallel.every { it != null }
+        (0..<items.size()).every { int i -> parallel[i].is(items[i].errors) }
+        parallel.collect { describe(it) } == sequential.collect { describe(it) }
+        parallel.count { it.hasErrors() } > 0
+        parallel.count { !it.hasErrors() } > 0
+    }
+
+    void 'Test that only the given fields are validated'() {
+        given:
+        List<BulkItem> items = (0..<10).collect { new BulkItem(name: 'invalid', min: 5, max: 1) }
+
+        when:
+        List<Errors> errors = new BulkValidator(executor, 2).validate(items, ['name'])
+
+        then:
+        errors.every { it.errorCount == 1 && it.getFieldError('name').code == 'matches.invalid' }
+    }
+
+    void 'Test that exceptions thrown by validators are propagated'() {
+        given:
+        List<BulkItem> items = (0..<10).collect { new BulkItem(name: 'Item', min: 1, max: 2) }
+        items[7].min = -1
+
+        when:
+        new BulkValidator(executor, 2).validate(items)
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == 'negative'
+    }
+
+    void 'Test that an empty list can be validated'() {
+        expect:
+        new BulkValidator().validate([]).isEmpty()
+    }
+
+    private static List<String> describe(Errors errors) {
+        errors.allErrors.collect { error ->
+            error instanceof FieldError ? "${error.field}:${error.code}:${error.rejectedValue}" : error.code
+        }
+    }
+}
+
+class BulkItem implements Validateable {
+    String name
+    Integer min
+    Integer max
+
+    static constraints = {
+        name matches: /[A-Z].*/
+        min validator: { Integer val ->
+            if (val < 0) {
+                throw new IllegalStateException('negative')
+            }
+        }
+        max validator: { Integer val, BulkItem obj -> val >= obj.min ?: 'lessThanMin' }
+    }
+}
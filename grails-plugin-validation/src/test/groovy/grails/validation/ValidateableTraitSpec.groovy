@@ -5,6 +5,7 @@ import grails.util.Holders
 import groovy.transform.Generated
 import org.grails.core.support.GrailsApplicationDiscoveryStrategy
 import org.grails.datastore.gorm.validation.constraints.eval.DefaultConstraintEvaluator
+import org.grails.validation.ValidateableConstraints
 import org.springframework.context.support.GenericApplicationContext
 import org.springframework.validation.FieldError
 import spock.lang.Issue
@@ -283,6 +284,44 @@ class ValidateableTraitSpec extends Specification {
         validateable.errors['subName']?.code == 'nullable'
     }
 
+    void 'Ensure constraints are evaluated once per class and reused by subsequent validations'() {
+        given:
+        ValidateableConstraints.clear()
+        def validateable = new MyValidateable(name: 'Kirk', age: 47)
+
+        when: 'an object is validated twice'
+        validateable.validate()
+        def evaluated = ValidateableConstraints.forClass(MyValidateable).getConstrainedProperties(Holders.findApplicationContext(), false, false)
+        validateable.name = 'kirk'
+
+        then: 'the constraints evaluated by the first validation are reused'
+        evaluated != null
+        !validateable.validate()
+        validateable.errors.getFieldError('name').code == 'matches.invalid'
+        ValidateableConstraints.forClass(MyValidateable).getConstrainedProperties(Holders.findApplicationContext(), false, false).is(evaluated)
+
+        and: 'the constraints of other classes are cached separately'
+        !new SubClassValidateable().validate()
+        !ValidateableConstraints.forClass(SubClassValidateable).getConstrainedProperties(Holders.findApplicationContext(), false, false).is(evaluated)
+
+        when: 'the cache is cleared'
+        ValidateableConstraints.clear()
+
+        then: 'the constraints are evaluated again'
+        ValidateableConstraints.forClass(MyValidateable).getConstrainedProperties(Holders.findApplicationContext(), false, false) == null
+        !validateable.validate()
+        ValidateableConstraints.forClass(MyValidateable).getConstrainedProperties(Holders.findApplicationContext(), false, false) != null
+    }
+
+    void 'Ensure properties are read with getProperty if the class overrides it'() {
+        given:
+        def validateable = new GetPropertyValidateable()
+
+        expect: 'the value returned by getProperty is validated'
+        !validateable.validate()
+        validateable.errors.getFieldError('name').code == 'matches.invalid'
+    }
+
     @Issue('grails/grails-core#9774')
     void 'test a Java class which references a Groovy class marked with @Validateable'() {
         given:
@@ -411,6 +450,19 @@ class SubClassValidateable extends SuperClassValidateable implements Validateabl
     }
 }
 
+class GetPropertyValidateable implements Validateable {
+    String name = 'Kirk'
+
+    static constraints = {
+        name matches: /[A-Z].*/
+    }
+
+    @Override
+    Object getProperty(String propertyName) {
+        propertyName == 'name' ? 'kirk' : getMetaClass().getProperty(this, propertyName)
+    }
+}
+
 class TestGeneratedAnnotations implements Validateable {
 
 }
\ No newline at end of file
@@ -17,10 +17,13 @@ package org.grails.web.servlet
 
 import grails.testing.web.controllers.ControllerUnitTest
 import grails.web.http.HttpHeaders
+import jakarta.servlet.ServletOutputStream
+import org.grails.plugins.web.controllers.FileResponseRenderer
 import org.grails.plugins.testing.GrailsMockHttpServletRequest
 import org.grails.plugins.testing.GrailsMockHttpServletResponse
 import org.grails.web.servlet.mvc.exceptions.ControllerExecutionException
 import grails.artefact.Artefact
+import org.springframework.mock.web.DelegatingServletOutputStream
 import spock.lang.Specification
 
 /**
@@ -61,6 +64,109 @@ class RenderMethodTests extends Specification implements ControllerUnitTest<Rend
         "attachment;filename=\"hello.txt\"" == response.getHeader(HttpHeaders.CONTENT_DISPOSITION)
     }
 
+    void testRenderFileWithContentLengthAndETag() {
+        given:
+        File file = File.createTempFile("render", ".txt")
+        file.deleteOnExit()
+        file.text = "0123456789"
+        request.method = "GET"
+
+        when:
+        controller.render file: file, contentType: "text/plain"
+
+        then:
+        "0123456789" == response.contentAsString
+        10 == response.contentLength
+        "bytes" == response.getHeader(HttpHeaders.ACCEPT_RANGES)
+        response.getHeader(HttpHeaders.ETAG)
+        response.getHeader(HttpHeaders.LAST_MODIFIED)
+
+        when:
+        String etag = response.getHeader(HttpHeaders.ETAG)
+        response.reset()
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag)
+        controller.render file: file, contentType: "text/plain"
+
+        then:
+        304 == response.status
+        "" == response.contentAsString
+    }
+
+    void testRenderFileWithRange() {
+        given:
+        File file = File.createTempFile("render", ".txt")
+        file.deleteOnExit()
+        file.text = "0123456789"
+        request.method = "GET"
+        request.addHeader(HttpHeaders.RANGE, range)
+
+        when:
+        controller.render file: file, contentType: "text/plain"
+
+        then:
+        status == response.status
+        body == response.contentAsString
+        contentRange == response.getHeader(HttpHeaders.CONTENT_RANGE)
+
+        where:
+        range           | status | body         | contentRange
+        "bytes=2-4"     | 206    | "234"        | "bytes 2-4/10"
+        "bytes=-3"      | 206    | "789"        | "bytes 7-9/10"
+        "bytes=8-"      | 206    | "89"         | "bytes 8-9/10"
+        "bytes=0-1,4-5" | 200    | "0123456789" | null
+        "bytes=10-"     | 416    | ""           | "bytes */10"
+    }
+
+    void testRenderFileIgnoresRangeIfTheETagChanged() {
+        given:
+        File file = File.createTempFile("render", ".txt")
+        file.deleteOnExit()
+        file.text = "0123456789"
+        request.method = "GET"
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4")
+        request.addHeader(HttpHeaders.IF_RANGE, '"outdated"')
+
+        when:
+        controller.render file: file, contentType: "text/plain"
+
+        then:
+        200 == response.status
+        "0123456789" == response.contentAsString
+    }
+
+    void testRenderFileFailsIfTheFileIsTruncated() {
+        given:
+        File file = File.createTempFile("render", ".bin")
+        file.deleteOnExit()
+        file.bytes = new byte[64 * 1024]
+        request.method = "GET"
+        boolean closed = false
+        GrailsMockHttpServletResponse truncatingResponse = new GrailsMockHttpServletResponse() {
+            @Override
+            ServletOutputStream getOutputStream() {
+                new DelegatingServletOutputStream(new ByteArrayOutputStream() {
+                    @Override
+                    void write(byte[] b, int off, int len) {
+                        new RandomAccessFile(file, "rw").withCloseable { it.setLength(1024) }
+                        super.write(b, off, len)
+                    }
+
+                    @Override
+                    void close() {
+                        closed = true
+                    }
+                })
+            }
+        }
+
+        when:
+        FileResponseRenderer.renderFile(request, truncatingResponse, file.toPath(), false)
+
+        then:
+        thrown(EOFException)
+        closed
+    }
+
     void testRenderMethodWithStatus() {
         when:
         controller.renderMessageWithStatus()
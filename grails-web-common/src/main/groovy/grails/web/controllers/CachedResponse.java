@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package grails.web.controllers;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables conditional requests and optionally caching of the rendered response for a controller action.
+ *
+ * <p>The response to a GET or HEAD request is identified by an entity tag. By default the tag is computed from the
+ * rendered bytes, so that a matching {@code If-None-Match} header results in a 304 response without a body, though the
+ * action and its view are still executed. If a {@link #version()} closure is given, its result identifies the
+ * response instead and a matching request is answered before the action is invoked:</p>
+ *
+ * <pre>
+ * &#064;CachedResponse(version = { Book.get(params.id)?.version })
+ * def show(Long id) { respond Book.get(id) }
+ * </pre>
+ *
+ * <p>If {@link #store()} is enabled, the rendered bodies are kept in a bounded in-memory cache keyed by the URI, query
+ * string, {@code Accept} header and locale of the request, along with the version if there is one. Only responses
+ * with a status of 200 are stored.</p>
+ *
+ * <p>To cache the actions of a {@code RestfulController}, override them and annotate the overriding method.</p>
+ *
+ * @since 7.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedResponse {
+
+    /**
+     * A closure that returns the version of the resource rendered by the action, e.g. its version or last updated
+     * date. The closure is called with the controller as its delegate. If it returns a date, that date is also used for
+     * the {@code Last-Modified} header. If it returns null, the entity tag is computed from the rendered bytes.
+     */
+    Class<?> version() default Object.class;
+
+    /**
+     * Whether to keep rendered bodies in memory and answer subsequent requests from the cache
+     */
+    boolean store() default false;
+
+    /**
+     * The number of seconds stored bodies are kept for
+     */
+    int ttl() default 60;
+}
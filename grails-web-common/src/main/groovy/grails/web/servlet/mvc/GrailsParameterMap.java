@@ -47,6 +47,10 @@ import org.springframework.web.multipart.MultipartHttpServletRequest;
  * A parameter map class that allows mixing of request parameters and controller parameters. If a controller
  * parameter is set with the same name as a request parameter the controller parameter value is retrieved.
  *
+ * The nested maps for dotted request parameter names are built the first time they are needed. Until then
+ * {@link #get(Object)} and {@link #containsKey(Object)} for plain parameter names read the request parameters
+ * directly, any other operation builds the nested maps first.
+ *
  * @author Graeme Rocher
  * @author Lari Hotari
  *
@@ -60,6 +64,11 @@ public class GrailsParameterMap extends TypeConvertingMap implements Cloneable {
 
     private final Map nestedDateMap = new LinkedHashMap();
     private final HttpServletRequest request;
+    /**
+     * The request parameters whose nested keys haven't been processed yet, never modified once assigned
+     */
+    private Map pendingParameters;
+    private Set<String> pendingNestedPrefixes;
     public static final String REQUEST_BODY_PARSED = "org.codehaus.groovy.grails.web.REQUEST_BODY_PARSED";
 
     public static final Object[] EMPTY_ARGS = new Object[0];
@@ -112,12 +121,51 @@ public class GrailsParameterMap extends TypeConvertingMap implements Cloneable {
             }
         }
 
-        updateNestedKeys(requestMap);
+        pendingParameters = requestMap;
     }
 
+    /**
+     * Processes the nested keys of the request parameters if that hasn't happened yet
+     */
+    private void expandPendingParameters() {
+        Map parameters = pendingParameters;
+        if (parameters != null) {
+            pendingParameters = null;
+            pendingNestedPrefixes = null;
+            updateNestedKeys(parameters);
+        }
+    }
+
+    /**
+     * @return Whether the given key is the prefix of a dotted request parameter, which results in a nested map
+     */
+    private boolean isPendingNestedPrefix(String key) {
+        Set<String> prefixes = pendingNestedPrefixes;
+        if (prefixes == null) {
+            prefixes = new HashSet<>();
+            for (Object parameterName : pendingParameters.keySet()) {
+                String name = (String)parameterName;
+                int nestedIndex = name.indexOf('.');
+                if (nestedIndex > -1) {
+                    // same as processNestedKeys, the '_' prefix used for checkboxes is ignored
+                    String prefix = name.substring(0, nestedIndex);
+                    prefixes.add(prefix.startsWith("_") ? prefix.substring(1) : prefix);
+                }
+            }
+            pendingNestedPrefixes = prefixes;
+        }
+        return prefixes.contains(key);
+    }
 
     @Override
     public Object clone() {
+        if (pendingParameters != null) {
+            // the pending parameters are never modified, so they can be shared
+            GrailsParameterMap clone = new GrailsParameterMap(new LinkedHashMap(), request);
+            clone.pendingParameters = pendingParameters;
+            clone.pendingNestedPrefixes = pendingNestedPrefixes;
+            return clone;
+        }
         if (wrappedMap.isEmpty()) {
             return new GrailsParameterMap(new LinkedHashMap(), request);
         } else {
@@ -134,6 +182,7 @@ public class GrailsParameterMap extends TypeConvertingMap implements Cloneable {
     }
 
     public void addParametersFrom(GrailsParameterMap otherMap) {
+        expandPendingParameters();
         wrappedMap.putAll((GrailsParameterMap)otherMap.clone());
     }
 
@@ -146,6 +195,12 @@ public class GrailsParameterMap extends TypeConvertingMap implements Cloneable {
 
     @Override
     public Object get(Object key) {
+        if (pendingParameters != null) {
+            if (key instanceof String && !isPendingNestedPrefix((String)key)) {
+                return getParameterValue(pendingParameters, (String)key);
+            }
+            expandPendingParameters();
+        }
         // removed test for String key because there
         // should be no limitations on what you shove in or take out
         Object returnValue = null;
@@ -168,8 +223,20 @@ public class GrailsParameterMap extends TypeConvertingMap implements Cloneable {
         return returnValue;
     }
 
+    @Override
+    public boolean containsKey(Object key) {
+        if (pendingParameters != null) {
+            if (key instanceof String) {
+                return pendingParameters.containsKey(key) || isPendingNestedPrefix((String)key);
+            }
+            expandPendingParameters();
+        }
+        return super.containsKey(key);
+    }
+
     @Override
     public Object put(Object key, Object value) {
+        expandPendingParameters();
         if (value instanceof CharSequence) value = value.toString();
         if (key instanceof CharSequence) key = key.toString();
         if (nestedDateMap.containsKey(key)) nestedDateMap.remove(key);
@@ -185,10 +252,71 @@ public class GrailsParameterMap extends TypeConvertingMap implements Cloneable {
 
     @Override
     public Object remove(Object key) {
+        expandPendingParameters();
         nestedDateMap.remove(key);
         return wrappedMap.remove(key);
     }
 
+    @Override
+    public void clear() {
+        expandPendingParameters();
+        super.clear();
+    }
+
+    @Override
+    public int size() {
+        expandPendingParameters();
+        return super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (pendingParameters != null) {
+            // there are only nested maps for request parameters that exist
+            return pendingParameters.isEmpty();
+        }
+        return super.isEmpty();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        expandPendingParameters();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Set keySet() {
+        expandPendingParameters();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection values() {
+        expandPendingParameters();
+        return super.values();
+    }
+
+    @Override
+    public Set entrySet() {
+        expandPendingParameters();
+        return super.entrySet();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        expandPendingParameters();
+        if (that instanceof GrailsParameterMap) {
+            ((GrailsParameterMap)that).expandPendingParameters();
+        }
+        return super.equals(that);
+    }
+
+    @Override
+    public int hashCode() {
+        expandPendingParameters();
+        return super.hashCode();
+    }
+
     @Override
     public void putAll(Map map) {
         for (Object entryObj : map.entrySet()) {
@@ -205,6 +333,7 @@ public class GrailsParameterMap extends TypeConvertingMap implements Cloneable {
      */
     @Override
     public Date getDate(String name) {
+        expandPendingParameters();
         Object returnValue = wrappedMap.get(name);
         if ("date.struct".equals(returnValue)) {
             returnValue = lazyEvaluateDateParam(name);
@@ -0,0 +1,481 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.servlet.mvc;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import groovy.lang.Closure;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import grails.web.controllers.CachedResponse;
+import grails.web.http.HttpHeaders;
+import org.grails.web.util.WebUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Implements {@link CachedResponse} for controller actions.
+ *
+ * <p>Before an annotated action is invoked, {@link #begin(Policy, Object, GrailsWebRequest)} answers the request with
+ * a 304 response if the version of the resource matches the {@code If-None-Match} header, or from the stored bodies.
+ * Otherwise the response is captured while the action and its view are rendered and {@link #complete(HttpServletRequest)}
+ * computes the entity tag from the captured bytes, stores the body if required and writes it, unless the client's
+ * copy is still current.</p>
+ *
+ * <p>Stored responses are replayed with the headers they were rendered with, except for cookies. Since the stored
+ * bodies and entity tags depend on the {@code Accept} header and the locale, the responses vary by {@code Accept} and
+ * {@code Accept-Language}.</p>
+ *
+ * @since 7.0
+ */
+public class ActionResponseCache {
+
+    /**
+     * The default maximum total size of the stored bodies in bytes
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 16 * 1024 * 1024;
+
+    private static final String CAPTURE_ATTRIBUTE = ActionResponseCache.class.getName() + ".CAPTURE";
+    private static final Policy NONE = new Policy(null, null);
+    private static final List<String> VARY_HEADERS = Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE);
+    // headers that are set when a stored response is written or must not be shared between clients
+    private static final Set<String> UNSTORED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        UNSTORED_HEADERS.addAll(Arrays.asList(HttpHeaders.SET_COOKIE, HttpHeaders.SET_COOKIE2, HttpHeaders.CONTENT_TYPE,
+                HttpHeaders.CONTENT_LENGTH, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY));
+    }
+
+    // keyed by class name, so that reloaded controller classes replace the previous ones instead of keeping them alive
+    private final Map<String, ControllerPolicies> policies = new ConcurrentHashMap<>();
+    private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+    private volatile Cache<String, Entry> store = createStore();
+
+    /**
+     * @param maximumWeight The maximum total size of the stored bodies in bytes
+     */
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+        this.store = createStore();
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return The stored bodies, keyed by the URI, query string, Accept header and locale of the request
+     */
+    public Cache<String, Entry> getStore() {
+        return store;
+    }
+
+    /**
+     * Obtains the caching policy of an action
+     *
+     * @param controllerClass The class of the controller
+     * @param actionName The name of the action method
+     * @return The policy or null if the action isn't annotated with {@link CachedResponse}
+     */
+    public Policy getPolicy(Class<?> controllerClass, String actionName) {
+        ControllerPolicies controllerPolicies = policies.get(controllerClass.getName());
+        if (controllerPolicies == null || controllerPolicies.controllerClass != controllerClass) {
+            controllerPolicies = new ControllerPolicies(controllerClass);
+            policies.put(controllerClass.getName(), controllerPolicies);
+        }
+        Policy policy = controllerPolicies.actions.computeIfAbsent(actionName, name -> createPolicy(controllerClass, name));
+        return policy != NONE ? policy : null;
+    }
+
+    private static Policy createPolicy(Class<?> controllerClass, String actionName) {
+        try {
+            // actions with parameters are invoked through a generated method without parameters carrying the same annotations
+            CachedResponse annotation = controllerClass.getMethod(actionName).getAnnotation(CachedResponse.class);
+            return annotation != null ? new Policy(controllerClass.getName() + '#' + actionName, annotation) : NONE;
+        }
+        catch (NoSuchMethodException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Answers the request if the client's copy is current or the body is stored, otherwise starts capturing the response
+     *
+     * @param policy The policy of the action
+     * @param controller The controller the action is invoked on
+     * @param webRequest The request
+     * @return true if the request was answered and the action must not be invoked
+     * @throws IOException If the stored body couldn't be written
+     */
+    public boolean begin(Policy policy, Object controller, GrailsWebRequest webRequest) throws IOException {
+        HttpServletRequest request = webRequest.getCurrentRequest();
+        HttpServletResponse response = webRequest.getCurrentResponse();
+        String method = request.getMethod();
+        if (!("GET".equals(method) || "HEAD".equals(method)) || WebUtils.isForwardOrInclude(request) ||
+                WebUtils.isError(request) || request.getAttribute(CAPTURE_ATTRIBUTE) != null) {
+            return false;
+        }
+        addVary(response);
+
+        String key = createKey(policy, request);
+        String etag = null;
+        long lastModified = -1;
+        Object version = policy.getVersion(controller);
+        if (version != null) {
+            key = key + '|' + version;
+            etag = "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + '"';
+            lastModified = toLastModified(version);
+            if (checkNotModified(request, response, etag, lastModified)) {
+                return true;
+            }
+        }
+
+        if (policy.isStore()) {
+            Entry entry = store.getIfPresent(key);
+            if (entry != null) {
+                entry.writeTo(request, response);
+                return true;
+            }
+        }
+        else if (etag != null) {
+            // the entity tag is known without rendering the response, so there is nothing to capture
+            return false;
+        }
+
+        Capture capture = new Capture(this, policy, key, etag, lastModified, webRequest, response);
+        request.setAttribute(CAPTURE_ATTRIBUTE, capture);
+        webRequest.setWrappedResponse(capture);
+        return false;
+    }
+
+    /**
+     * @return The response of the current request that is being captured, if any
+     */
+    public static Capture getCapture(HttpServletRequest request) {
+        Object capture = request.getAttribute(CAPTURE_ATTRIBUTE);
+        return capture instanceof Capture ? (Capture) capture : null;
+    }
+
+    /**
+     * Completes the response of the current request if it is being captured
+     *
+     * @param request The request
+     * @throws IOException If the response couldn't be written
+     */
+    public static void complete(HttpServletRequest request) throws IOException {
+        Capture capture = getCapture(request);
+        if (capture != null) {
+            capture.complete();
+        }
+    }
+
+    /**
+     * Stops capturing the response of the current request and discards what was captured, e.g. because the action failed
+     *
+     * @param request The request
+     */
+    public static void abort(HttpServletRequest request) {
+        Capture capture = getCapture(request);
+        if (capture != null) {
+            capture.release();
+        }
+    }
+
+    /**
+     * Creates the key that identifies a representation of the resource rendered by an action
+     */
+    protected String createKey(Policy policy, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(policy.getName()).append('|').append(request.getRequestURI());
+        String query = request.getQueryString();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        key.append('|').append(request.getHeader(HttpHeaders.ACCEPT));
+        key.append('|').append(RequestContextUtils.getLocale(request).toLanguageTag());
+        return key.toString();
+    }
+
+    private static void addVary(HttpServletResponse response) {
+        Set<String> present = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String value : response.getHeaders(HttpHeaders.VARY)) {
+            for (String name : value.split(",")) {
+                present.add(name.trim());
+            }
+        }
+        if (present.contains("*")) {
+            return;
+        }
+        List<String> missing = new ArrayList<>(VARY_HEADERS.size());
+        for (String name : VARY_HEADERS) {
+            if (!present.contains(name)) {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            response.addHeader(HttpHeaders.VARY, String.join(", ", missing));
+        }
+    }
+
+    private static Map<String, List<String>> getStoredHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!UNSTORED_HEADERS.contains(name) && !headers.containsKey(name)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static long toLastModified(Object version) {
+        if (version instanceof Date) {
+            return ((Date) version).getTime();
+        }
+        if (version instanceof TemporalAccessor) {
+            try {
+                return Instant.from((TemporalAccessor) version).toEpochMilli();
+            }
+            catch (DateTimeException e) {
+                // a local date or time can't be converted to an instant
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean checkNotModified(HttpServletRequest request, HttpServletResponse response, String etag, long lastModified) {
+        // also sets the ETag and Last-Modified headers
+        return new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+    }
+
+    private Cache<String, Entry> createStore() {
+        return Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String key, Entry entry) -> key.length() + entry.body.length)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.timeToLive;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.timeToLive;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * The caching settings of an action, see {@link CachedResponse}
+     */
+    public static final class Policy {
+
+        private final String name;
+        private final Constructor<?> versionConstructor;
+        private final boolean store;
+        private final long timeToLive;
+
+        Policy(String name, CachedResponse annotation) {
+            this.name = name;
+            Constructor<?> constructor = null;
+            if (annotation != null && Closure.class.isAssignableFrom(annotation.version())) {
+                try {
+                    // the class generated for a closure in an annotation takes the owner and this object
+                    constructor = annotation.version().getConstructor(Object.class, Object.class);
+                }
+                catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException("The version of " + name + " must be a closure", e);
+                }
+            }
+            this.versionConstructor = constructor;
+            this.store = annotation != null && annotation.store();
+            this.timeToLive = annotation != null ? TimeUnit.SECONDS.toNanos(annotation.ttl()) : 0;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isStore() {
+            return store;
+        }
+
+        /**
+         * Calls the version closure of the action
+         *
+         * @param controller The controller, used as the owner of the closure
+         * @return The version or null if the action has no version closure
+         */
+        public Object getVersion(Object controller) {
+            if (versionConstructor == null) {
+                return null;
+            }
+            Closure<?> closure;
+            try {
+                closure = (Closure<?>) versionConstructor.newInstance(controller, controller);
+            }
+            catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Couldn't create the version closure of " + name, e);
+            }
+            return closure.call();
+        }
+    }
+
+    private static final class ControllerPolicies {
+
+        private final Class<?> controllerClass;
+        private final Map<String, Policy> actions = new ConcurrentHashMap<>();
+
+        ControllerPolicies(Class<?> controllerClass) {
+            this.controllerClass = controllerClass;
+        }
+    }
+
+    /**
+     * A stored response
+     */
+    public static final class Entry {
+
+        private final String etag;
+        private final long lastModified;
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+        private final long timeToLive;
+
+        Entry(String etag, long lastModified, String contentType, Map<String, List<String>> headers, byte[] body, long timeToLive) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+            this.headers = headers;
+            this.body = body;
+            this.timeToLive = timeToLive;
+        }
+
+        public String getETag() {
+            return etag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return The headers of the response, without cookies and the headers that are derived from the body
+         */
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                // headers set for the current request, e.g. by filters, take precedence
+                if (!response.containsHeader(header.getKey())) {
+                    for (String value : header.getValue()) {
+                        response.addHeader(header.getKey(), value);
+                    }
+                }
+            }
+            if (checkNotModified(request, response, etag, lastModified)) {
+                return;
+            }
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * Captures the body of the response of a cached action while it is being rendered
+     */
+    public static final class Capture extends ContentCachingResponseWrapper {
+
+        private final ActionResponseCache cache;
+        private final Policy policy;
+        private final String key;
+        private final String etag;
+        private final long lastModified;
+        private final GrailsWebRequest webRequest;
+        private final HttpServletResponse previousResponse;
+
+        Capture(ActionResponseCache cache, Policy policy, String key, String etag, long lastModified,
+                GrailsWebRequest webRequest, HttpServletResponse response) {
+            super(response);
+            this.cache = cache;
+            this.policy = policy;
+            this.key = key;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.webRequest = webRequest;
+            this.previousResponse = webRequest.getWrappedResponse();
+        }
+
+        void complete() throws IOException {
+            release();
+            HttpServletRequest request = webRequest.getCurrentRequest();
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (getStatus() == HttpServletResponse.SC_OK && !response.isCommitted()) {
+                byte[] body = getContentAsByteArray();
+                String tag = etag != null ? etag : '"' + DigestUtils.md5DigestAsHex(body) + '"';
+                long modified = lastModified;
+                if (policy.isStore()) {
+                    if (modified == -1) {
+                        modified = System.currentTimeMillis();
+                    }
+                    cache.store.put(key, new Entry(tag, modified, getContentType(), getStoredHeaders(response), body, policy.timeToLive));
+                }
+                if (checkNotModified(request, response, tag, modified)) {
+                    return;
+                }
+            }
+            copyBodyToResponse();
+        }
+
+        void release() {
+            webRequest.getCurrentRequest().removeAttribute(CAPTURE_ATTRIBUTE);
+            webRequest.setWrappedResponse(previousResponse);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.servlet.mvc;
+
+/**
+ * Notifies the registered {@link DispatchObserver} of the phases of dispatching a request.
+ *
+ * <p>Instrumentation is disabled unless an observer is registered, instrumented code is expected to check
+ * {@link #isEnabled()} before starting a phase so that the disabled path costs a single static field read:</p>
+ *
+ * <pre>
+ * DispatchInstrumentation.Sample sample = DispatchInstrumentation.isEnabled() ? DispatchInstrumentation.start(DispatchPhase.ACTION) : null;
+ * try {
+ *     ...
+ * }
+ * catch (Throwable e) {
+ *     if (sample != null) sample.error(e);
+ *     throw e;
+ * }
+ * finally {
+ *     if (sample != null) sample.stop();
+ * }
+ * </pre>
+ *
+ * <p>A phase that is started while the same phase is already active on the current thread isn't observed again, for
+ * example when a view rendered by <code>respond</code> calls <code>render</code>.</p>
+ *
+ * @since 7.0
+ */
+public final class DispatchInstrumentation {
+
+    private static final ThreadLocal<int[]> ACTIVE_PHASES = ThreadLocal.withInitial(() -> new int[DispatchPhase.values().length]);
+
+    private static volatile boolean enabled;
+    private static volatile DispatchObserver observer;
+
+    private DispatchInstrumentation() {
+    }
+
+    /**
+     * @return Whether an observer is registered
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers the observer, replacing any previously registered observer
+     *
+     * @param dispatchObserver The observer
+     */
+    public static synchronized void register(DispatchObserver dispatchObserver) {
+        observer = dispatchObserver;
+        enabled = dispatchObserver != null;
+    }
+
+    /**
+     * Removes the given observer if it is registered
+     *
+     * @param dispatchObserver The observer
+     */
+    public static synchronized void unregister(DispatchObserver dispatchObserver) {
+        if (observer == dispatchObserver) {
+            enabled = false;
+            observer = null;
+        }
+    }
+
+    /**
+     * Starts a phase, the returned sample must be stopped once the phase has ended
+     *
+     * @param phase The phase
+     * @return The sample
+     */
+    public static Sample start(DispatchPhase phase) {
+        int[] activePhases = ACTIVE_PHASES.get();
+        DispatchObserver current = activePhases[phase.ordinal()]++ == 0 ? observer : null;
+        Object context = null;
+        if (current != null) {
+            try {
+                context = current.onStart(phase);
+            }
+            catch (RuntimeException | Error e) {
+                activePhases[phase.ordinal()]--;
+                throw e;
+            }
+        }
+        return new Sample(phase, activePhases, current, context);
+    }
+
+    /**
+     * A started phase
+     */
+    public static final class Sample {
+
+        private final DispatchPhase phase;
+        private final int[] activePhases;
+        private final DispatchObserver observer;
+        private final Object context;
+        private Throwable error;
+        private boolean stopped;
+
+        private Sample(DispatchPhase phase, int[] activePhases, DispatchObserver observer, Object context) {
+            this.phase = phase;
+            this.activePhases = activePhases;
+            this.observer = observer;
+            this.context = context;
+        }
+
+        /**
+         * Records the exception that ended the phase
+         *
+         * @param error The exception
+         */
+        public void error(Throwable error) {
+            this.error = error;
+        }
+
+        /**
+         * Ends the phase
+         */
+        public void stop() {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            activePhases[phase.ordinal()]--;
+            if (observer != null) {
+                observer.onStop(phase, context, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.servlet.mvc;
+
+/**
+ * Observes the phases of dispatching a request, e.g. to record their durations. Observers are registered with
+ * {@link DispatchInstrumentation#register(DispatchObserver)} and are invoked on the request thread, the current request
+ * can be obtained with {@link GrailsWebRequest#lookup()}.
+ *
+ * @since 7.0
+ */
+public interface DispatchObserver {
+
+    /**
+     * Invoked when a phase starts
+     *
+     * @param phase The phase
+     * @return A context passed to {@link #onStop(DispatchPhase, Object, Throwable)}, e.g. the start time
+     */
+    Object onStart(DispatchPhase phase);
+
+    /**
+     * Invoked when a phase ends
+     *
+     * @param phase The phase
+     * @param context The context returned by {@link #onStart(DispatchPhase)}
+     * @param error The exception thrown by the phase or null if it completed normally
+     */
+    void onStop(DispatchPhase phase, Object context, Throwable error);
+}
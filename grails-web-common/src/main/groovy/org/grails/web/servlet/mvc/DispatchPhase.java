@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.servlet.mvc;
+
+/**
+ * The phases of dispatching a request to a controller action that can be observed with a {@link DispatchObserver}.
+ * Phases may be nested, for example rendering and data binding usually happen while an action is executed.
+ *
+ * @since 7.0
+ * @see DispatchInstrumentation
+ */
+public enum DispatchPhase {
+
+    /**
+     * Matching the request against the URL mappings
+     */
+    URL_MATCHING("url_matching"),
+
+    /**
+     * Executing the interceptors before and after an action and after the view was rendered
+     */
+    INTERCEPTORS("interceptors"),
+
+    /**
+     * Binding request data to domain classes and command objects
+     */
+    DATA_BINDING("data_binding"),
+
+    /**
+     * Executing a controller action
+     */
+    ACTION("action"),
+
+    /**
+     * Rendering a response with <code>render</code> or <code>respond</code>
+     */
+    RENDERING("rendering"),
+
+    /**
+     * Resolving a view name to a view
+     */
+    VIEW_RESOLUTION("view_resolution");
+
+    private final String tagValue;
+
+    DispatchPhase(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    /**
+     * @return The name of the phase used as the value of metric tags
+     */
+    public String getTagValue() {
+        return tagValue;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.servlet.mvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * A {@link DispatchObserver} that records the duration of each {@link DispatchPhase} with a Micrometer {@link Timer}
+ * named {@value #METRIC_NAME}, tagged by phase, controller, action, response status and exception.
+ *
+ * <p>The observer registers itself with {@link DispatchInstrumentation} once it is bound to a {@link MeterRegistry}
+ * and unregisters itself when it is destroyed.</p>
+ *
+ * @since 7.0
+ */
+public class MicrometerDispatchObserver implements DispatchObserver, MeterBinder, DisposableBean {
+
+    /**
+     * The name of the timer
+     */
+    public static final String METRIC_NAME = "grails.dispatch";
+
+    private static final String NONE = "none";
+
+    private volatile MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        DispatchInstrumentation.register(this);
+    }
+
+    @Override
+    public Object onStart(DispatchPhase phase) {
+        MeterRegistry meterRegistry = registry;
+        return meterRegistry != null ? Timer.start(meterRegistry) : null;
+    }
+
+    @Override
+    public void onStop(DispatchPhase phase, Object context, Throwable error) {
+        MeterRegistry meterRegistry = registry;
+        if (!(context instanceof Timer.Sample) || meterRegistry == null) {
+            return;
+        }
+        String controller = NONE;
+        String action = NONE;
+        String status = NONE;
+        GrailsWebRequest webRequest = GrailsWebRequest.lookup();
+        if (webRequest != null) {
+            controller = valueOrNone(webRequest.getControllerName());
+            action = valueOrNone(webRequest.getActionName());
+            HttpServletResponse response = webRequest.getCurrentResponse();
+            if (response != null) {
+                status = String.valueOf(response.getStatus());
+            }
+        }
+        Tags tags = Tags.of(
+                "phase", phase.getTagValue(),
+                "controller", controller,
+                "action", action,
+                "status", status,
+                "exception", error != null ? error.getClass().getSimpleName() : NONE);
+        ((Timer.Sample) context).stop(Timer.builder(METRIC_NAME)
+                .description("The duration of the phases of dispatching requests to controller actions")
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    @Override
+    public void destroy() {
+        DispatchInstrumentation.unregister(this);
+        registry = null;
+    }
+
+    private static String valueOrNone(String value) {
+        return value != null && !value.isEmpty() ? value : NONE;
+    }
+}
@@ -450,7 +450,18 @@ public class WebUtils extends org.springframework.web.util.WebUtils {
      * the current web request.
      */
     public static void storeGrailsWebRequest(GrailsWebRequest webRequest) {
-        RequestContextHolder.setRequestAttributes(webRequest);
+        storeGrailsWebRequest(webRequest, false);
+    }
+
+    /**
+     * Stores the given GrailsWebRequest like {@link #storeGrailsWebRequest(GrailsWebRequest)}.
+     *
+     * @param webRequest The web request
+     * @param inheritable Whether the web request is exposed to child threads, for example to virtual threads
+     * started while handling the request
+     */
+    public static void storeGrailsWebRequest(GrailsWebRequest webRequest, boolean inheritable) {
+        RequestContextHolder.setRequestAttributes(webRequest, inheritable);
         webRequest.getRequest().setAttribute(GrailsApplicationAttributes.WEB_REQUEST, webRequest);
     }
 
@@ -496,4 +496,52 @@ class GrailsParameterMapTests {
         assert '[a.b.c.d:1, a:[b.c.d:1, b:[c.d:1, c:[d:1], e:2], b.e:2], a.b.e:2]' == params.toString()
         assert params != null
     }
+
+    @Test
+    void testLookupsBeforeNestedKeysAreProcessed() {
+        def request = new MockHttpServletRequest()
+        request.addParameter("id", "1")
+        request.addParameter("tags", "a", "b")
+        request.addParameter("book.title", "The Stand")
+        request.addParameter("_author.active", "")
+        request.addParameter("publisher", "Doubleday")
+        request.addParameter("publisher.name", "ignored")
+        def lazy = new GrailsParameterMap(request)
+        def eager = new GrailsParameterMap(request)
+        eager.keySet()
+
+        for (key in ["id", "tags", "book", "book.title", "author", "_author.active", "publisher", "publisher.name", "missing"]) {
+            assertEquals(eager.containsKey(key), lazy.containsKey(key), key)
+            def expected = eager.get(key)
+            def actual = lazy.get(key)
+            if (expected instanceof Object[]) {
+                assertArrayEquals((Object[])expected, (Object[])actual, key)
+            }
+            else {
+                assertEquals(expected, actual, key)
+            }
+        }
+        assertEquals("Doubleday", lazy.publisher)
+        assertEquals("The Stand", lazy.book.title)
+        assertEquals(eager, lazy)
+        assertEquals(eager.toString(), lazy.toString())
+    }
+
+    @Test
+    void testCloneBeforeNestedKeysAreProcessed() {
+        def request = new MockHttpServletRequest()
+        request.addParameter("book.title", "The Stand")
+        def params = new GrailsParameterMap(request)
+
+        def clone = (GrailsParameterMap)params.clone()
+        clone.put("book.title", "It")
+        clone.put("id", "2")
+
+        assertEquals("The Stand", params.book.title)
+        assertFalse(params.containsKey("id"))
+        assertEquals("It", clone.book.title)
+        assertEquals("2", clone.id)
+        assertFalse(params.isEmpty())
+        assertTrue(new GrailsParameterMap(new MockHttpServletRequest()).isEmpty())
+    }
 }
@@ -0,0 +1,285 @@
+package org.grails.web.servlet.mvc
+
+import grails.web.controllers.CachedResponse
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.mock.web.MockServletContext
+import spock.lang.Specification
+
+class ActionResponseCacheSpec extends Specification {
+
+    ActionResponseCache cache = new ActionResponseCache()
+    CachingController controller = new CachingController()
+
+    void "test the policy of an action is read from its annotation"() {
+        expect:
+        cache.getPolicy(CachingController, 'show') != null
+        !cache.getPolicy(CachingController, 'show').store
+        cache.getPolicy(CachingController, 'list').store
+        cache.getPolicy(CachingController, 'index') == null
+        cache.getPolicy(CachingController, 'missing') == null
+    }
+
+    void "test the entity tag is computed from the rendered bytes"() {
+        when:
+        def response = execute('show', 'hello')
+
+        then:
+        response.status == 200
+        response.contentAsString == 'hello'
+        response.getHeader('ETag') ==~ /"[0-9a-f]{32}"/
+        response.contentLength == 5
+        controller.invocations == 1
+
+        when: "the client's copy is current"
+        def etag = response.getHeader('ETag')
+        response = execute('show', 'hello', ['If-None-Match': etag])
+
+        then: "the action is invoked but the body isn't sent"
+        response.status == 304
+        response.contentAsByteArray.length == 0
+        response.getHeader('ETag') == etag
+        controller.invocations == 2
+
+        when: "the response has changed"
+        response = execute('show', 'changed', ['If-None-Match': etag])
+
+        then:
+        response.status == 200
+        response.contentAsString == 'changed'
+        response.getHeader('ETag') != etag
+    }
+
+    void "test a request is answered before the action is invoked if the version matches"() {
+        given:
+        controller.revision = 3
+
+        when:
+        def response = execute('versioned', 'v3')
+
+        then:
+        response.status == 200
+        response.contentAsString == 'v3'
+        response.getHeader('ETag').startsWith('W/"')
+        controller.invocations == 1
+
+        when:
+        def etag = response.getHeader('ETag')
+        response = execute('versioned', 'v3', ['If-None-Match': etag])
+
+        then:
+        response.status == 304
+        controller.invocations == 1
+
+        when: "the version changes"
+        controller.revision = 4
+        response = execute('versioned', 'v4', ['If-None-Match': etag])
+
+        then:
+        response.status == 200
+        response.contentAsString == 'v4'
+        response.getHeader('ETag') != etag
+        controller.invocations == 2
+    }
+
+    void "test a date version is used for the Last-Modified header"() {
+        given:
+        controller.lastUpdated = new Date(1700000000000)
+
+        when:
+        def response = execute('dated', 'dated')
+
+        then:
+        response.getDateHeader('Last-Modified') == 1700000000000
+
+        when:
+        response = execute('dated', 'dated', ['If-Modified-Since': response.getHeader('Last-Modified')])
+
+        then:
+        response.status == 304
+        controller.invocations == 1
+    }
+
+    void "test stored bodies are keyed by the request"() {
+        when:
+        def response = execute('list', '[1, 2]', [Accept: 'application/json'], 'application/json;charset=UTF-8')
+
+        then:
+        response.contentAsString == '[1, 2]'
+        cache.store.estimatedSize() == 1
+
+        when:
+        response = execute('list', 'changed', [Accept: 'application/json'])
+
+        then: "the stored body is written without invoking the action"
+        response.status == 200
+        response.contentAsString == '[1, 2]'
+        response.contentType == 'application/json;charset=UTF-8'
+        response.getHeader('ETag') != null
+        controller.invocations == 1
+
+        when:
+        response = execute('list', '<list/>', [Accept: 'application/xml'])
+
+        then:
+        response.contentAsString == '<list/>'
+        controller.invocations == 2
+        cache.store.estimatedSize() == 2
+
+        when:
+        response = execute('list', 'changed', [Accept: 'application/json', 'If-None-Match': response.getHeader('ETag')])
+
+        then: "the entity tag of a different representation doesn't match"
+        response.status == 200
+        response.contentAsString == '[1, 2]'
+    }
+
+    void "test stored responses are replayed with their headers except for cookies"() {
+        when:
+        def response = execute('list', '[1, 2]', [:], 'application/json', 'GET') { response ->
+            response.setHeader('Cache-Control', 'max-age=60')
+            response.addHeader('Link', '</books?page=2>; rel="next"')
+            response.addHeader('Link', '</books?page=9>; rel="last"')
+            response.addHeader('Set-Cookie', 'session=secret')
+        }
+
+        then:
+        response.getHeader('Vary') == 'Accept, Accept-Language'
+        response.getHeader('Set-Cookie') == 'session=secret'
+
+        when:
+        response = execute('list', 'changed')
+
+        then: "the stored response is written with the headers it was rendered with"
+        controller.invocations == 1
+        response.contentAsString == '[1, 2]'
+        response.getHeader('Cache-Control') == 'max-age=60'
+        response.getHeaders('Link') == ['</books?page=2>; rel="next"', '</books?page=9>; rel="last"']
+        response.getHeader('Vary') == 'Accept, Accept-Language'
+        !response.containsHeader('Set-Cookie')
+    }
+
+    void "test the Vary header is only extended with the missing request headers"() {
+        given:
+        def webRequest = createWebRequest('GET', [:])
+        def response = (MockHttpServletResponse) webRequest.currentResponse
+        response.addHeader('Vary', vary)
+
+        when:
+        cache.begin(cache.getPolicy(CachingController, 'show'), controller, webRequest)
+
+        then:
+        response.getHeaders('Vary') == expected
+
+        where:
+        vary              | expected
+        'Origin'          | ['Origin', 'Accept, Accept-Language']
+        'origin, accept'  | ['origin, accept', 'Accept-Language']
+        '*'               | ['*']
+    }
+
+    void "test the policies of a reloaded controller class replace the previous ones"() {
+        given:
+        def source = """
+            class ReloadedController {
+                @grails.web.controllers.CachedResponse(store = true)
+                def list() {}
+            }
+        """
+        Class previous = new GroovyClassLoader().parseClass(source)
+        Class reloaded = new GroovyClassLoader().parseClass(source)
+
+        when:
+        def previousPolicy = cache.getPolicy(previous, 'list')
+        def reloadedPolicy = cache.getPolicy(reloaded, 'list')
+
+        then:
+        previousPolicy.store
+        reloadedPolicy.store
+        !reloadedPolicy.is(previousPolicy)
+        cache.@policies.size() == 1
+        cache.getPolicy(reloaded, 'list').is(reloadedPolicy)
+    }
+
+    void "test only successful GET and HEAD responses are handled"() {
+        when:
+        controller.status = 404
+        def response = execute('list', 'not found')
+
+        then:
+        response.status == 404
+        response.contentAsString == 'not found'
+        response.getHeader('ETag') == null
+        cache.store.estimatedSize() == 0
+
+        when:
+        controller.status = 200
+        response = execute('list', 'created', [:], null, 'POST')
+
+        then:
+        response.contentAsString == 'created'
+        response.getHeader('ETag') == null
+        cache.store.estimatedSize() == 0
+    }
+
+    void "test aborting discards the captured response"() {
+        given:
+        def webRequest = createWebRequest('GET', [:])
+        def response = (MockHttpServletResponse) webRequest.currentResponse
+
+        when:
+        cache.begin(cache.getPolicy(CachingController, 'show'), controller, webRequest)
+        webRequest.currentResponse.writer.write('partial')
+        ActionResponseCache.abort(webRequest.currentRequest)
+
+        then:
+        ActionResponseCache.getCapture(webRequest.currentRequest) == null
+        webRequest.currentResponse.is(response)
+        response.contentAsString == ''
+    }
+
+    private MockHttpServletResponse execute(String action, String body, Map<String, String> headers = [:], String contentType = null, String method = 'GET', Closure rendering = null) {
+        def webRequest = createWebRequest(method, headers)
+        def response = (MockHttpServletResponse) webRequest.currentResponse
+        if (!cache.begin(cache.getPolicy(CachingController, action), controller, webRequest)) {
+            controller.invocations++
+            def current = webRequest.currentResponse
+            current.status = controller.status
+            if (contentType) {
+                current.contentType = contentType
+            }
+            rendering?.call(current)
+            current.writer.write(body)
+            ActionResponseCache.complete(webRequest.currentRequest)
+        }
+        response
+    }
+
+    private static GrailsWebRequest createWebRequest(String method, Map<String, String> headers) {
+        def request = new MockHttpServletRequest(method, '/books/1')
+        headers.each { name, value -> request.addHeader(name, value) }
+        new GrailsWebRequest(request, new MockHttpServletResponse(), new MockServletContext())
+    }
+}
+
+class CachingController {
+
+    int invocations
+    int status = 200
+    int revision
+    Date lastUpdated
+
+    @CachedResponse
+    def show() {}
+
+    @CachedResponse(version = { revision })
+    def versioned() {}
+
+    @CachedResponse(version = { lastUpdated })
+    def dated() {}
+
+    @CachedResponse(store = true, ttl = 300)
+    def list() {}
+
+    def index() {}
+}
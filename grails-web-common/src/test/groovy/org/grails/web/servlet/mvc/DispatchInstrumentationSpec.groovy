@@ -0,0 +1,84 @@
+package org.grails.web.servlet.mvc
+
+import spock.lang.Specification
+
+class DispatchInstrumentationSpec extends Specification {
+
+    RecordingObserver observer = new RecordingObserver()
+
+    void cleanup() {
+        DispatchInstrumentation.unregister(observer)
+    }
+
+    void "test instrumentation is disabled without an observer"() {
+        expect:
+        !DispatchInstrumentation.isEnabled()
+
+        when:
+        DispatchInstrumentation.register(observer)
+
+        then:
+        DispatchInstrumentation.isEnabled()
+
+        when:
+        DispatchInstrumentation.unregister(new RecordingObserver())
+
+        then: "only the registered observer can be removed"
+        DispatchInstrumentation.isEnabled()
+
+        when:
+        DispatchInstrumentation.unregister(observer)
+
+        then:
+        !DispatchInstrumentation.isEnabled()
+    }
+
+    void "test phases are observed"() {
+        given:
+        DispatchInstrumentation.register(observer)
+        def error = new IllegalStateException()
+
+        when:
+        def action = DispatchInstrumentation.start(DispatchPhase.ACTION)
+        def rendering = DispatchInstrumentation.start(DispatchPhase.RENDERING)
+        rendering.error(error)
+        rendering.stop()
+        action.stop()
+
+        then:
+        observer.events == ['start action', 'start rendering', 'stop rendering IllegalStateException', 'stop action']
+    }
+
+    void "test nested phases of the same kind are observed once"() {
+        given:
+        DispatchInstrumentation.register(observer)
+
+        when:
+        def outer = DispatchInstrumentation.start(DispatchPhase.DATA_BINDING)
+        def inner = DispatchInstrumentation.start(DispatchPhase.DATA_BINDING)
+        inner.stop()
+        outer.stop()
+        outer.stop()
+        DispatchInstrumentation.start(DispatchPhase.DATA_BINDING).stop()
+
+        then:
+        observer.events == ['start data_binding', 'stop data_binding', 'start data_binding', 'stop data_binding']
+    }
+
+    static class RecordingObserver implements DispatchObserver {
+
+        List<String> events = []
+
+        @Override
+        Object onStart(DispatchPhase phase) {
+            events << "start ${phase.tagValue}".toString()
+            phase
+        }
+
+        @Override
+        void onStop(DispatchPhase phase, Object context, Throwable error) {
+            assert context == phase
+            events << "stop ${phase.tagValue}${error ? ' ' + error.class.simpleName : ''}".toString()
+        }
+    }
+}
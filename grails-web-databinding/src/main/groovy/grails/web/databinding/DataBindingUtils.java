@@ -45,6 +45,8 @@ import org.grails.web.databinding.DefaultASTDatabindingHelper;
 import org.grails.web.databinding.bindingsource.DataBindingSourceRegistry;
 import org.grails.web.databinding.bindingsource.DefaultDataBindingSourceRegistry;
 import org.grails.web.databinding.bindingsource.InvalidRequestBodyException;
+import org.grails.web.servlet.mvc.DispatchInstrumentation;
+import org.grails.web.servlet.mvc.DispatchPhase;
 import org.springframework.context.ApplicationContext;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
@@ -171,8 +173,7 @@ public class DataBindingUtils {
                 //no-op
             }
         }
-        final List<DataBindingSource> dataBindingSources = collectionBindingSource.getDataBindingSources();
-        for(final DataBindingSource dataBindingSource : dataBindingSources) {
+        for(final DataBindingSource dataBindingSource : collectionBindingSource) {
             final T newObject = targetType.newInstance();
             bindObjectToDomainInstance(entity, newObject, dataBindingSource, getBindingIncludeList(newObject), Collections.emptyList(), null);
             collectionToPopulate.add(newObject);
@@ -226,9 +227,27 @@ public class DataBindingUtils {
      *
      * @return A BindingResult if there were errors or null if it was successful
      */
-    @SuppressWarnings("unchecked")
     public static BindingResult bindObjectToDomainInstance(PersistentEntity entity, Object object,
                                                            Object source, List include, List exclude, String filter) {
+        if (!DispatchInstrumentation.isEnabled()) {
+            return doBindObjectToDomainInstance(entity, object, source, include, exclude, filter);
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.DATA_BINDING);
+        try {
+            return doBindObjectToDomainInstance(entity, object, source, include, exclude, filter);
+        }
+        catch (RuntimeException | Error e) {
+            sample.error(e);
+            throw e;
+        }
+        finally {
+            sample.stop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BindingResult doBindObjectToDomainInstance(PersistentEntity entity, Object object,
+                                                              Object source, List include, List exclude, String filter) {
         BindingResult bindingResult = null;
         GrailsApplication grailsApplication = Holders.findApplication();
 
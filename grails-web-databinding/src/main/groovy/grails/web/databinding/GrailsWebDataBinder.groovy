@@ -37,6 +37,7 @@ import org.grails.core.artefact.DomainClassArtefactHandler
 import org.grails.core.exceptions.GrailsConfigurationException
 import org.grails.databinding.IndexedPropertyReferenceDescriptor
 import org.grails.databinding.xml.GPathResultMap
+import org.grails.databinding.xml.XmlElementMap
 import org.grails.datastore.mapping.model.PersistentEntity
 import org.grails.datastore.mapping.model.PersistentProperty
 import org.grails.datastore.mapping.model.types.*
@@ -291,8 +292,8 @@ class GrailsWebDataBinder extends SimpleDataBinder {
                     def listValue
                     if(val instanceof List) {
                         listValue = (List)val
-                    } else if(val instanceof GPathResultMap && ((GPathResultMap)val).size() == 1) {
-                        def mapValue = (GPathResultMap)val
+                    } else if((val instanceof GPathResultMap || val instanceof XmlElementMap) && ((Map)val).size() == 1) {
+                        def mapValue = (Map)val
                         def valueInMap = mapValue[mapValue.keySet()[0]]
                         if(valueInMap instanceof List) {
                             listValue = (List)valueInMap
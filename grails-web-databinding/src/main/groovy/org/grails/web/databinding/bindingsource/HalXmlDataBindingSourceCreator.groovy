@@ -15,12 +15,10 @@
  */
 package org.grails.web.databinding.bindingsource
 
-import grails.databinding.DataBindingSource;
-import grails.databinding.SimpleMapDataBindingSource;
 import groovy.transform.CompileStatic
 
 import grails.web.mime.MimeType
-import org.grails.io.support.SpringIOUtils
+import org.grails.databinding.xml.XmlElement
 
 /**
  * @author Jeff Brown
@@ -35,9 +33,7 @@ class HalXmlDataBindingSourceCreator extends XmlDataBindingSourceCreator {
     }
 
     @Override
-    protected DataBindingSource createBindingSource(Reader reader) {
-        def gpath = SpringIOUtils.createXmlSlurper().parse(reader)
-        def gpathMap = new HalGPathResultMap(gpath)
-        return new SimpleMapDataBindingSource(gpathMap)
+    protected Map createXmlMap(XmlElement element) {
+        new HalXmlElementMap(element)
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.databinding.bindingsource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.grails.databinding.xml.XmlElement;
+import org.grails.databinding.xml.XmlElementMap;
+
+/**
+ * An {@link XmlElementMap} for HAL XML with the same keys and values as {@link HalGPathResultMap}, i.e.
+ * <code>resource</code> elements are keyed by their <code>rel</code> attribute.
+ *
+ * @since 7.0
+ */
+public class HalXmlElementMap extends XmlElementMap {
+
+    private static final String RESOURCE = "resource";
+    private static final String REL = "rel";
+
+    public HalXmlElementMap(XmlElement element) {
+        super(element);
+    }
+
+    @Override
+    public Object get(Object key) {
+        List<XmlElement> resourceElements = element.getChildren(RESOURCE);
+        if (!resourceElements.isEmpty() && key != null) {
+            String rel = key.toString();
+            List<XmlElement> matches = new ArrayList<>();
+            for (XmlElement resource : resourceElements) {
+                String resourceRel = resource.getAttribute(REL);
+                if (rel.equals(resourceRel != null ? resourceRel : "")) {
+                    matches.add(resource);
+                }
+            }
+            if (matches.size() == 1) {
+                return new HalXmlElementMap(matches.get(0));
+            }
+            if (matches.size() > 1) {
+                List<Object> list = new ArrayList<>(matches.size());
+                for (XmlElement match : matches) {
+                    list.add(new HalXmlElementMap(match));
+                }
+                return list;
+            }
+        }
+        return super.get(key);
+    }
+
+    @Override
+    protected String getPropertyName(XmlElement child) {
+        String propertyName = child.getName();
+        if (RESOURCE.equals(propertyName)) {
+            propertyName = child.getAttribute(REL);
+        }
+        return propertyName;
+    }
+}
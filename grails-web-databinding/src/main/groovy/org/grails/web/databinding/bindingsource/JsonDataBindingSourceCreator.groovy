@@ -23,6 +23,7 @@ import groovy.json.JsonParserType
 import groovy.json.JsonSlurper;
 import groovy.transform.CompileStatic
 
+import java.util.function.Function
 import java.util.regex.Pattern
 
 import org.grails.web.json.JSONObject
@@ -71,16 +72,22 @@ class JsonDataBindingSourceCreator extends AbstractRequestBodyDataBindingSourceC
 
     @Override
     protected CollectionDataBindingSource createCollectionBindingSource(Reader reader) {
+        PushbackReader pushbackReader = new PushbackReader(reader)
+        int first
+        while ((first = pushbackReader.read()) != -1 && Character.isWhitespace(first)) {
+            // skip leading whitespace
+        }
+        if (first != -1) {
+            pushbackReader.unread(first)
+        }
 
-        Object jsonElement = jsonSlurper.parse(reader)
-        def dataBindingSources = jsonElement.collect { element ->
-            if(element instanceof Map) {
-                new SimpleMapDataBindingSource(createJsonMap(element))
-            }
-            else {
-                new SimpleMapDataBindingSource(Collections.emptyMap())
-            }
+        if (first == ('[' as char)) {
+            // arrays are read one element at a time while the binding source is iterated
+            return new StreamingJsonCollectionDataBindingSource(pushbackReader, jsonSlurper, { Object element -> createElementBindingSource(element) } as Function<Object, DataBindingSource>)
         }
+
+        Object jsonElement = jsonSlurper.parse(pushbackReader)
+        def dataBindingSources = jsonElement.collect { element -> createElementBindingSource(element) }
         return new CollectionDataBindingSource() {
             List<DataBindingSource> getDataBindingSources() {
                 (List<DataBindingSource>)dataBindingSources
@@ -88,6 +95,22 @@ class JsonDataBindingSourceCreator extends AbstractRequestBodyDataBindingSourceC
         }
     }
 
+    /**
+     * Creates the binding source for a single element of a JSON array
+     *
+     * @param element The parsed element
+     * @return The binding source, which is empty unless the element is a JSON object
+     * @since 7.0
+     */
+    protected DataBindingSource createElementBindingSource(Object element) {
+        if(element instanceof Map) {
+            new SimpleMapDataBindingSource(createJsonMap(element))
+        }
+        else {
+            new SimpleMapDataBindingSource(Collections.emptyMap())
+        }
+    }
+
     @Override
     protected DataBindingSource createBindingSource(Reader reader) {
         final jsonElement = jsonSlurper.parse(reader)
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.databinding.bindingsource;
+
+import grails.databinding.CollectionDataBindingSource;
+import grails.databinding.DataBindingSource;
+import groovy.json.JsonException;
+import groovy.json.JsonSlurper;
+import org.grails.databinding.bindingsource.DataBindingSourceCreationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * A {@link CollectionDataBindingSource} for a JSON array that reads the array one element at a time while it is
+ * being iterated, so that only a single element is held in memory instead of the whole document.
+ *
+ * <p>The text of each element is located with a lightweight scan that tracks nesting and string literals, the
+ * element itself is then parsed with the configured {@link JsonSlurper} so that the resulting values are the same
+ * as when the whole document is parsed at once.</p>
+ *
+ * <p>The elements can only be iterated once. Calling {@link #getDataBindingSources()} before iterating reads and
+ * retains all of the remaining elements.</p>
+ *
+ * @since 7.0
+ * @see JsonDataBindingSourceCreator
+ */
+public class StreamingJsonCollectionDataBindingSource implements CollectionDataBindingSource {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final JsonSlurper jsonSlurper;
+    private final Function<Object, DataBindingSource> elementSourceFactory;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder element = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean opened;
+    private boolean finished;
+    private boolean iterated;
+    private List<DataBindingSource> dataBindingSources;
+
+    /**
+     * @param reader A reader positioned before the opening bracket of the array
+     * @param jsonSlurper The slurper used to parse each element
+     * @param elementSourceFactory Creates a data binding source from a parsed element
+     */
+    public StreamingJsonCollectionDataBindingSource(Reader reader, JsonSlurper jsonSlurper, Function<Object, DataBindingSource> elementSourceFactory) {
+        this.reader = reader;
+        this.jsonSlurper = jsonSlurper;
+        this.elementSourceFactory = elementSourceFactory;
+    }
+
+    @Override
+    public List<DataBindingSource> getDataBindingSources() {
+        if (dataBindingSources == null) {
+            List<DataBindingSource> sources = new ArrayList<>();
+            for (Iterator<DataBindingSource> i = iterator(); i.hasNext();) {
+                sources.add(i.next());
+            }
+            dataBindingSources = sources;
+        }
+        return dataBindingSources;
+    }
+
+    @Override
+    public Iterator<DataBindingSource> iterator() {
+        if (dataBindingSources != null) {
+            return dataBindingSources.iterator();
+        }
+        if (iterated) {
+            throw new IllegalStateException("The elements of a streaming JSON binding source can only be iterated once");
+        }
+        iterated = true;
+        return new Iterator<DataBindingSource>() {
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !finished) {
+                    next = readNextElement();
+                }
+                return next != null;
+            }
+
+            @Override
+            public DataBindingSource next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String text = next;
+                next = null;
+                return elementSourceFactory.apply(parse(text));
+            }
+        };
+    }
+
+    private Object parse(String text) {
+        // only objects can be bound, anything else results in an empty binding source
+        if (text.charAt(0) != '{') {
+            return null;
+        }
+        try {
+            return jsonSlurper.parseText(text);
+        }
+        catch (JsonException e) {
+            throw new InvalidRequestBodyException(e);
+        }
+    }
+
+    private String readNextElement() {
+        try {
+            int c = skipWhitespace();
+            if (!opened) {
+                if (c != '[') {
+                    throw invalid("Expected '[' at the start of a JSON array but found " + describe(c));
+                }
+                opened = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    return finish();
+                }
+            }
+            else {
+                if (c == ']') {
+                    return finish();
+                }
+                if (c != ',') {
+                    throw invalid("Expected ',' or ']' after an array element but found " + describe(c));
+                }
+                c = skipWhitespace();
+            }
+            element.setLength(0);
+            readValue(c);
+            return element.toString();
+        }
+        catch (IOException e) {
+            throw new DataBindingSourceCreationException(e);
+        }
+    }
+
+    private String finish() throws IOException {
+        finished = true;
+        int c = skipWhitespace();
+        if (c != EOF) {
+            throw invalid("Unexpected " + describe(c) + " after the end of the JSON array");
+        }
+        return null;
+    }
+
+    private void readValue(int first) throws IOException {
+        if (first == EOF || first == ',' || first == ']') {
+            throw invalid("Expected an array element but found " + describe(first));
+        }
+        element.append((char) first);
+        if (first == '{' || first == '[') {
+            readStructure();
+        }
+        else if (first == '"') {
+            readString();
+        }
+        else {
+            // a number or literal ends at the next separator, which is left for readNextElement
+            int c;
+            while ((c = peek()) != EOF && c != ',' && c != ']' && !isWhitespace(c)) {
+                element.append((char) read());
+            }
+        }
+    }
+
+    private void readStructure() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c == EOF) {
+                throw invalid("Unexpected end of JSON input");
+            }
+            element.append((char) c);
+            if (c == '"') {
+                readString();
+            }
+            else if (c == '{' || c == '[') {
+                depth++;
+            }
+            else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+    }
+
+    private void readString() throws IOException {
+        boolean escaped = false;
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                throw invalid("Unexpected end of JSON input inside a string");
+            }
+            element.append((char) c);
+            if (escaped) {
+                escaped = false;
+            }
+            else if (c == '\\') {
+                escaped = true;
+            }
+            else if (c == '"') {
+                return;
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != EOF && isWhitespace(c));
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != EOF) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            if (read == EOF) {
+                return EOF;
+            }
+            position = 0;
+            limit = read;
+        }
+        return buffer[position];
+    }
+
+    private static String describe(int c) {
+        return c == EOF ? "the end of the input" : "'" + (char) c + "'";
+    }
+
+    private static InvalidRequestBodyException invalid(String message) {
+        return new InvalidRequestBodyException(new JsonException(message));
+    }
+}
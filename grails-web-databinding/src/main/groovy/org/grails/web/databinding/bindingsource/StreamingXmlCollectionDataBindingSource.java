@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.databinding.bindingsource;
+
+import grails.databinding.CollectionDataBindingSource;
+import grails.databinding.DataBindingSource;
+import org.grails.databinding.xml.XmlElement;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A {@link CollectionDataBindingSource} for the child elements of the root element of an XML document that reads
+ * the children one at a time with StAX while they are being iterated, so that only a single child is held in memory
+ * instead of the whole document.
+ *
+ * <p>The elements can only be iterated once. Calling {@link #getDataBindingSources()} before iterating reads and
+ * retains all of the remaining elements.</p>
+ *
+ * @since 7.0
+ * @see XmlDataBindingSourceCreator
+ */
+public class StreamingXmlCollectionDataBindingSource implements CollectionDataBindingSource {
+
+    private final Reader reader;
+    private final Function<XmlElement, DataBindingSource> elementSourceFactory;
+    private XMLStreamReader xmlReader;
+    private boolean finished;
+    private boolean iterated;
+    private List<DataBindingSource> dataBindingSources;
+
+    /**
+     * @param reader The XML document
+     * @param elementSourceFactory Creates a data binding source from a child element of the root element
+     */
+    public StreamingXmlCollectionDataBindingSource(Reader reader, Function<XmlElement, DataBindingSource> elementSourceFactory) {
+        this.reader = reader;
+        this.elementSourceFactory = elementSourceFactory;
+    }
+
+    @Override
+    public List<DataBindingSource> getDataBindingSources() {
+        if (dataBindingSources == null) {
+            List<DataBindingSource> sources = new ArrayList<>();
+            for (Iterator<DataBindingSource> i = iterator(); i.hasNext();) {
+                sources.add(i.next());
+            }
+            dataBindingSources = sources;
+        }
+        return dataBindingSources;
+    }
+
+    @Override
+    public Iterator<DataBindingSource> iterator() {
+        if (dataBindingSources != null) {
+            return dataBindingSources.iterator();
+        }
+        if (iterated) {
+            throw new IllegalStateException("The elements of a streaming XML binding source can only be iterated once");
+        }
+        iterated = true;
+        return new Iterator<DataBindingSource>() {
+            private XmlElement next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !finished) {
+                    next = readNextElement();
+                }
+                return next != null;
+            }
+
+            @Override
+            public DataBindingSource next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                XmlElement element = next;
+                next = null;
+                return elementSourceFactory.apply(element);
+            }
+        };
+    }
+
+    private XmlElement readNextElement() {
+        try {
+            if (xmlReader == null) {
+                xmlReader = XmlElement.createXMLStreamReader(reader);
+                if (!nextElement()) {
+                    throw new XMLStreamException("The document doesn't have a root element");
+                }
+            }
+            if (nextElement()) {
+                return XmlElement.read(xmlReader);
+            }
+            // the end of the root element, the rest of the document is checked for well-formedness
+            while (xmlReader.hasNext()) {
+                xmlReader.next();
+            }
+            finish();
+            return null;
+        }
+        catch (XMLStreamException e) {
+            finish();
+            throw new InvalidRequestBodyException(e);
+        }
+    }
+
+    /**
+     * Advances to the next start element or to the next end element
+     *
+     * @return True if the reader is positioned at a start element
+     */
+    private boolean nextElement() throws XMLStreamException {
+        while (xmlReader.hasNext()) {
+            int event = xmlReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void finish() {
+        finished = true;
+        if (xmlReader == null) {
+            return;
+        }
+        try {
+            // doesn't close the underlying reader
+            xmlReader.close();
+        }
+        catch (XMLStreamException ignored) {
+        }
+    }
+}
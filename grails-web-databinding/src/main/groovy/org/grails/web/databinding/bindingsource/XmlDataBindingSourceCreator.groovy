@@ -25,12 +25,19 @@ import grails.web.mime.MimeType
 import org.grails.databinding.bindingsource.DataBindingSourceCreationException
 import org.grails.databinding.xml.GPathResultCollectionDataBindingSource
 import org.grails.databinding.xml.GPathResultMap
+import org.grails.databinding.xml.XmlElement
+import org.grails.databinding.xml.XmlElementMap
 import org.xml.sax.SAXParseException
-import org.grails.io.support.SpringIOUtils
+
+import javax.xml.stream.XMLStreamException
+import java.util.function.Function
 
 /**
  * Creates DataBindingSource objects from XML in the request body
  *
+ * The request body is read with StAX into compact {@link XmlElement}s that are bound through an {@link XmlElementMap},
+ * the child elements of the root element of a collection are read one at a time while they are being bound.
+ *
  * @since 2.3
  * @see DataBindingSource
  * @see DataBindingSourceCreator
@@ -54,9 +61,18 @@ class XmlDataBindingSourceCreator extends AbstractRequestBodyDataBindingSourceCr
 
     @Override
     protected DataBindingSource createBindingSource(Reader reader) {
-        def gpath = SpringIOUtils.createXmlSlurper().parse(reader)
-        def gpathMap = new GPathResultMap(gpath)
-        return new SimpleMapDataBindingSource(gpathMap)
+        return new SimpleMapDataBindingSource(createXmlMap(XmlElement.parse(reader)))
+    }
+
+    /**
+     * Creates the map that is bound for the root element of the request body
+     *
+     * @param element The root element
+     * @return The map
+     * @since 7.0
+     */
+    protected Map createXmlMap(XmlElement element) {
+        new XmlElementMap(element)
     }
 
     @Override
@@ -71,13 +87,23 @@ class XmlDataBindingSourceCreator extends AbstractRequestBodyDataBindingSourceCr
 
     @Override
     protected CollectionDataBindingSource createCollectionBindingSource(Reader reader) {
-        def gpath = SpringIOUtils.createXmlSlurper().parse(reader)
-        return new GPathResultCollectionDataBindingSource(gpath)
+        return new StreamingXmlCollectionDataBindingSource(reader, { XmlElement element -> createElementBindingSource(element) } as Function<XmlElement, DataBindingSource>)
     }
-    
+
+    /**
+     * Creates the binding source for a single child element of the root element of a collection
+     *
+     * @param element The child element
+     * @return The binding source
+     * @since 7.0
+     */
+    protected DataBindingSource createElementBindingSource(XmlElement element) {
+        new SimpleMapDataBindingSource(new XmlElementMap(element))
+    }
+
     @Override
     protected DataBindingSourceCreationException createBindingSourceCreationException(Exception e) {
-        if(e instanceof SAXParseException) {
+        if(e instanceof XMLStreamException || e instanceof SAXParseException) {
             return new InvalidRequestBodyException(e)
         }
         return super.createBindingSourceCreationException(e)
@@ -1,7 +1,9 @@
 package org.grails.web.databinding.bindingsource.json
 
 import groovy.json.JsonException
+import org.grails.web.databinding.bindingsource.InvalidRequestBodyException
 import org.grails.web.databinding.bindingsource.JsonDataBindingSourceCreator
+import org.grails.web.databinding.bindingsource.StreamingJsonCollectionDataBindingSource
 
 import spock.lang.Specification
 
@@ -59,4 +61,61 @@ class JsonDataBindingSourceCreatorSpec extends Specification {
         then:
         thrown JsonException
     }
+
+    void 'Test JSON array parsing for collection binding'() {
+        given:
+        def json = '''
+[ {"name": "Groovy", "tags": ["dynamic", "jvm"], "quote": "a ]} \\" {["},
+  {"name": "Java", "owner": {"name": "Oracle"}},
+  42,
+  {} ]'''
+
+        def inputStream = new ByteArrayInputStream(json.getBytes("UTF-8"))
+
+        when:
+        def collectionSource = new JsonDataBindingSourceCreator().createCollectionBindingSource(inputStream, "UTF-8")
+        def bindingSources = collectionSource.collect { it }
+
+        then:
+        collectionSource instanceof StreamingJsonCollectionDataBindingSource
+        bindingSources.size() == 4
+        bindingSources[0]['name'] == 'Groovy'
+        bindingSources[0]['tags'] == ['dynamic', 'jvm']
+        bindingSources[0]['quote'] == 'a ]} " {['
+        bindingSources[1]['owner']['name'] == 'Oracle'
+        bindingSources[2].propertyNames.isEmpty()
+        bindingSources[3].propertyNames.isEmpty()
+
+        when: 'the elements are iterated again'
+        collectionSource.iterator()
+
+        then:
+        thrown IllegalStateException
+    }
+
+    void 'Test JSON collection binding sources can be materialised'() {
+        given:
+        def inputStream = new ByteArrayInputStream('[{"name": "Groovy"}, {"name": "Java"}]'.getBytes("UTF-8"))
+        def collectionSource = new JsonDataBindingSourceCreator().createCollectionBindingSource(inputStream, "UTF-8")
+
+        expect:
+        collectionSource.dataBindingSources*.getPropertyValue('name') == ['Groovy', 'Java']
+        collectionSource.collect { it['name'] } == ['Groovy', 'Java']
+    }
+
+    void 'Test malformed JSON array parsing for collection binding'() {
+        given:
+        def inputStream = new ByteArrayInputStream(json.getBytes("UTF-8"))
+        def collectionSource = new JsonDataBindingSourceCreator().createCollectionBindingSource(inputStream, "UTF-8")
+
+        when:
+        collectionSource.collect { it }
+
+        then:
+        InvalidRequestBodyException e = thrown()
+        e.cause instanceof JsonException
+
+        where:
+        json << ['[{"name": "Groovy"} {"name": "Java"}]', '[{"name": "Groovy"', '[{"name": "Groovy"},]', '[{"name": }]', '[{}] trailing']
+    }
 }
@@ -0,0 +1,92 @@
+package org.grails.web.databinding.bindingsource.xml
+
+import org.grails.web.databinding.bindingsource.InvalidRequestBodyException
+import org.grails.web.databinding.bindingsource.StreamingXmlCollectionDataBindingSource
+import org.grails.web.databinding.bindingsource.XmlDataBindingSourceCreator
+
+import spock.lang.Specification
+
+import javax.xml.stream.XMLStreamException
+
+class XmlDataBindingSourceCreatorSpec extends Specification {
+
+    void 'Test XML parsing'() {
+        given:
+        def xml = '''<?xml version="1.0" encoding="UTF-8"?>
+<computer>
+  <name>MacBook</name>
+  <category id="2"><name>laptop</name></category>
+  <languages>
+    <language><name>Groovy</name></language>
+    <language><name>Java</name></language>
+  </languages>
+</computer>'''
+
+        def inputStream = new ByteArrayInputStream(xml.getBytes("UTF-8"))
+
+        when:
+        def bindingSource = new XmlDataBindingSourceCreator().createBindingSource(inputStream, "UTF-8")
+
+        then:
+        bindingSource.propertyNames == ['name', 'category', 'languages'] as Set
+        bindingSource['name'] == 'MacBook'
+        bindingSource['category']['id'] == '2'
+        bindingSource['category']['name'] == 'laptop'
+        bindingSource['languages']['language']*.name == ['Groovy', 'Java']
+    }
+
+    void 'Test XML parsing for collection binding'() {
+        given:
+        def xml = '''<books>
+  <book id="1"><title>Groovy in Action</title></book>
+  <!-- a comment -->
+  <book><title>Java Concurrency in Practice</title></book>
+</books>'''
+
+        def inputStream = new ByteArrayInputStream(xml.getBytes("UTF-8"))
+
+        when:
+        def collectionSource = new XmlDataBindingSourceCreator().createCollectionBindingSource(inputStream, "UTF-8")
+        def bindingSources = collectionSource.collect { it }
+
+        then:
+        collectionSource instanceof StreamingXmlCollectionDataBindingSource
+        bindingSources.size() == 2
+        bindingSources[0]['id'] == '1'
+        bindingSources[0]['title'] == 'Groovy in Action'
+        !bindingSources[1].containsProperty('id')
+        bindingSources[1]['title'] == 'Java Concurrency in Practice'
+
+        when: 'the elements are iterated again'
+        collectionSource.iterator()
+
+        then:
+        thrown IllegalStateException
+    }
+
+    void 'Test XML collection binding sources can be materialised'() {
+        given:
+        def inputStream = new ByteArrayInputStream('<books><book><title>A</title></book><book><title>B</title></book></books>'.getBytes("UTF-8"))
+        def collectionSource = new XmlDataBindingSourceCreator().createCollectionBindingSource(inputStream, "UTF-8")
+
+        expect:
+        collectionSource.dataBindingSources*.getPropertyValue('title') == ['A', 'B']
+        collectionSource.collect { it['title'] } == ['A', 'B']
+    }
+
+    void 'Test malformed XML for collection binding'() {
+        given:
+        def inputStream = new ByteArrayInputStream(xml.getBytes("UTF-8"))
+        def collectionSource = new XmlDataBindingSourceCreator().createCollectionBindingSource(inputStream, "UTF-8")
+
+        when:
+        collectionSource.collect { it }
+
+        then:
+        InvalidRequestBodyException e = thrown()
+        e.cause instanceof XMLStreamException
+
+        where:
+        xml << ['<books><book><title>A</title></book><book>', '<books><book></books>', '<books/><extra/>']
+    }
+}
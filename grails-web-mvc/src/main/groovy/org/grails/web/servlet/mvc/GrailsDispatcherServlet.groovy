@@ -26,6 +26,8 @@ import org.springframework.web.context.request.RequestAttributes
 import org.springframework.web.context.request.ServletRequestAttributes
 import org.springframework.web.multipart.MultipartException
 import org.springframework.web.servlet.DispatcherServlet
+import org.springframework.web.servlet.ModelAndView
+import org.springframework.web.servlet.View
 
 import jakarta.servlet.ServletContext
 import jakarta.servlet.http.HttpServletRequest
@@ -84,6 +86,52 @@ class GrailsDispatcherServlet extends DispatcherServlet implements ServletContex
         return request
     }
 
+    @Override
+    protected void doDispatch(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        super.doDispatch(request, response)
+        if (request.isAsyncStarted()) {
+            ActionResponseCache.abort(request)
+        }
+        else {
+            // writes the captured response of a cached action, see ActionResponseCache
+            ActionResponseCache.complete(request)
+        }
+    }
+
+    @Override
+    protected void render(ModelAndView mv, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        ActionResponseCache.Capture capture = ActionResponseCache.getCapture(request)
+        if (capture == null) {
+            super.render(mv, request, response)
+            return
+        }
+        try {
+            super.render(mv, request, capture)
+        }
+        catch (Throwable e) {
+            ActionResponseCache.abort(request)
+            throw e
+        }
+    }
+
+    @Override
+    protected View resolveViewName(String viewName, Map<String, Object> model, Locale locale, HttpServletRequest request) throws Exception {
+        if (!DispatchInstrumentation.isEnabled()) {
+            return super.resolveViewName(viewName, model, locale, request)
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.VIEW_RESOLUTION)
+        try {
+            return super.resolveViewName(viewName, model, locale, request)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
+
     @Override
     void setServletContext(ServletContext servletContext) {
         Holders.setServletContext(servletContext);
@@ -40,6 +40,23 @@ import org.springframework.web.filter.OncePerRequestFilter;
  */
 public class GrailsWebRequestFilter extends OncePerRequestFilter implements ApplicationContextAware {
     Collection<ParameterCreationListener> paramListenerBeans;
+    private boolean threadContextInheritable = false;
+
+    /**
+     * Set whether to expose the GrailsWebRequest and the locale as inheritable for child threads
+     * (using an {@link java.lang.InheritableThreadLocal}), like
+     * {@link org.springframework.web.servlet.FrameworkServlet#setThreadContextInheritable(boolean)}.
+     *
+     * <p>Default is "false". Useful when requests are handled on virtual threads that start further virtual
+     * threads. Don't enable it if requests start tasks on a pool of platform threads, since those threads would
+     * keep a reference to the request.</p>
+     *
+     * @param threadContextInheritable Whether the request context is inherited by child threads
+     * @since 7.0
+     */
+    public void setThreadContextInheritable(boolean threadContextInheritable) {
+        this.threadContextInheritable = threadContextInheritable;
+    }
 
     /* (non-Javadoc)
      * @see org.springframework.web.filter.OncePerRequestFilter#doFilterInternal(
@@ -49,7 +66,7 @@ public class GrailsWebRequestFilter extends OncePerRequestFilter implements Appl
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        LocaleContextHolder.setLocale(request.getLocale());
+        LocaleContextHolder.setLocale(request.getLocale(), threadContextInheritable);
         response = new OutputAwareHttpServletResponse(response);
 
         boolean isIncludeOrForward = WebUtils.isForwardOrInclude(request);
@@ -62,7 +79,7 @@ public class GrailsWebRequestFilter extends OncePerRequestFilter implements Appl
         }
 
         try {
-            WebUtils.storeGrailsWebRequest(webRequest);
+            WebUtils.storeGrailsWebRequest(webRequest, threadContextInheritable);
 
             if(!isIncludeOrForward) {
                 // Set the flash scope instance to its next state. We do
@@ -81,7 +98,7 @@ public class GrailsWebRequestFilter extends OncePerRequestFilter implements Appl
 
             if(isIncludeOrForward) {
                 if(previous != null) {
-                    WebUtils.storeGrailsWebRequest(previous);
+                    WebUtils.storeGrailsWebRequest(previous, threadContextInheritable);
                 }
             }
             else {
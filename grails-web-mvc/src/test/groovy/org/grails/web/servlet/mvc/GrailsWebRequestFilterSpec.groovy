@@ -0,0 +1,107 @@
+package org.grails.web.servlet.mvc
+
+import jakarta.servlet.FilterChain
+import jakarta.servlet.ServletRequest
+import jakarta.servlet.ServletResponse
+import org.springframework.context.support.StaticApplicationContext
+import org.springframework.mock.web.MockFilterConfig
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.mock.web.MockServletContext
+import org.springframework.web.context.request.RequestContextHolder
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class GrailsWebRequestFilterSpec extends Specification {
+
+    GrailsWebRequestFilter filter
+
+    void setup() {
+        filter = new GrailsWebRequestFilter()
+        filter.applicationContext = new StaticApplicationContext()
+        filter.init(new MockFilterConfig(new MockServletContext()))
+    }
+
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes()
+    }
+
+    void "the web request is bound while the request is handled and cleared afterwards"() {
+        given:
+        def request = new MockHttpServletRequest()
+        GrailsWebRequest bound = null
+        FilterChain chain = { ServletRequest req, ServletResponse res -> bound = GrailsWebRequest.lookup() } as FilterChain
+
+        when:
+        filter.doFilter(request, new MockHttpServletResponse(), chain)
+
+        then:
+        bound != null
+        bound.currentRequest.is(request)
+        GrailsWebRequest.lookup() == null
+    }
+
+    void "the web request is only inherited by child threads if enabled"() {
+        given:
+        filter.threadContextInheritable = inheritable
+        GrailsWebRequest inChild = null
+        FilterChain chain = { ServletRequest req, ServletResponse res ->
+            def child = new Thread({ inChild = GrailsWebRequest.lookup() })
+            child.start()
+            child.join()
+        } as FilterChain
+
+        when:
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain)
+
+        then:
+        (inChild != null) == inheritable
+
+        where:
+        inheritable << [true, false]
+    }
+
+    @Requires({ Runtime.version().feature() >= 21 })
+    void "concurrent blocking requests on virtual threads each see their own web request"() {
+        given: "a filter that lets virtual threads started by a request see the request"
+        filter.threadContextInheritable = true
+        int requestCount = 10000
+        def handled = new AtomicInteger()
+        def mismatches = new AtomicInteger()
+        FilterChain chain = { ServletRequest req, ServletResponse res ->
+            Thread.sleep(10)
+            GrailsWebRequest webRequest = GrailsWebRequest.lookup()
+            GrailsWebRequest inChild = null
+            def child = Thread.startVirtualThread({ inChild = GrailsWebRequest.lookup() })
+            child.join()
+            if (webRequest == null || !webRequest.currentRequest.is(req) || !inChild.is(webRequest)) {
+                mismatches.incrementAndGet()
+            }
+            handled.incrementAndGet()
+        } as FilterChain
+
+        when: "the requests are handled concurrently, each on its own virtual thread"
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+        try {
+            for (int i = 0; i < requestCount; i++) {
+                executor.submit({
+                    filter.doFilter(new MockHttpServletRequest('GET', "/request/$i"), new MockHttpServletResponse(), chain)
+                } as Callable)
+            }
+        }
+        finally {
+            executor.shutdown()
+            executor.awaitTermination(2, TimeUnit.MINUTES)
+        }
+
+        then:
+        handled.get() == requestCount
+        mismatches.get() == 0
+    }
+}
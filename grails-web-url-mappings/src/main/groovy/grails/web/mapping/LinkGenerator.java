@@ -17,6 +17,7 @@ package grails.web.mapping;
 
 import grails.util.CollectionUtils;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 
@@ -160,6 +161,21 @@ public interface LinkGenerator {
      */
     String link(@SuppressWarnings("rawtypes") Map params, String encoding);
 
+    /**
+     * Appends a link to a controller, action or URI for the given named parameters to the given target, which avoids
+     * creating the link as a String when it is written to a response. See {@link #link(Map, String)} for the possible
+     * named parameters.
+     *
+     * @param params The named parameters
+     * @param encoding The character encoding to use
+     * @param target The target to append the link to
+     * @throws IOException If the target can't be appended to
+     * @since 7.0
+     */
+    default void appendLink(@SuppressWarnings("rawtypes") Map params, String encoding, Appendable target) throws IOException {
+        target.append(link(params, encoding));
+    }
+
     /**
      * Obtains the context path from which this link generator is operating.
      *
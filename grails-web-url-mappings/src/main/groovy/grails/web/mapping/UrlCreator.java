@@ -15,6 +15,7 @@
  */
 package grails.web.mapping;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -146,6 +147,27 @@ public interface UrlCreator {
      */
     String createRelativeURL(String controller, String action, String namespace, String pluginName, Map parameterValues, String encoding, String fragment);
 
+    /**
+     * Appends a URL for the given parameters values, controller and action names without the context path information
+     * to the given target. Implementations may write to the target directly instead of creating the URL as a String first,
+     * in which case part of the URL may have been appended if it can't be created.
+     *
+     * @param target The target to append the URL to
+     * @param controller The controller name
+     * @param action The action name
+     * @param namespace The controller namespace
+     * @param pluginName The name of the plugin which provides the controller
+     * @param parameterValues The parameter values
+     * @param encoding The encoding to use for parameters
+     * @param fragment The fragment to append to the end
+     * @throws IOException If the target can't be appended to
+     * @since 7.0
+     */
+    default void appendRelativeURL(Appendable target, String controller, String action, String namespace, String pluginName,
+                                   Map parameterValues, String encoding, String fragment) throws IOException {
+        target.append(createRelativeURL(controller, action, namespace, pluginName, parameterValues, encoding, fragment));
+    }
+
     /**
      * Creates a URL for the given parameters values, controller and action names
      *
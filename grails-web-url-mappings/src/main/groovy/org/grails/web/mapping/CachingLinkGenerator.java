@@ -15,11 +15,13 @@
  */
 package org.grails.web.mapping;
 
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
 import grails.util.GrailsStringUtils;
 import grails.web.mapping.LinkGenerator;
 import grails.web.mapping.UrlMapping;
@@ -31,13 +33,19 @@ import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 /**
  * A link generator that uses a LRU cache to cache generated links.
  *
+ * <p>The cache is bounded by the number of links, see {@link #setMaximumSize(long)}, or by their total length, see
+ * {@link #setMaximumWeight(long)}. Links are looked up by a key created by the configured {@link KeyStrategy}.</p>
+ *
  * @since 2.0
  * @author Graeme Rocher
  */
 @SuppressWarnings("rawtypes")
 public class CachingLinkGenerator extends DefaultLinkGenerator {
 
-    private static final int MAX_SIZE = 5000;
+    /**
+     * The default maximum number of cached links
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 5000;
     public static final String LINK_PREFIX = "link";
     public static final String RESOURCE_PREFIX = "resource";
     public static final String USED_ATTRIBUTES_SUFFIX = "-used-attributes";
@@ -48,16 +56,114 @@ public class CachingLinkGenerator extends DefaultLinkGenerator {
     private static final String KEY_VALUE_SEPARATOR = ":";
     private static final String THIS_MAP = "(this Map)";
 
-    private Cache<String, Object> linkCache;
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private long maximumWeight = -1;
+    private boolean recordStats;
+    private KeyStrategy keyStrategy = KeyStrategy.STRUCTURAL;
+    private volatile Cache<Object, String> linkCache;
 
     public CachingLinkGenerator(String serverBaseURL, String contextPath) {
         super(serverBaseURL, contextPath);
-        this.linkCache = createDefaultCache();
+        this.linkCache = createCache();
     }
 
     public CachingLinkGenerator(String serverBaseURL) {
         super(serverBaseURL);
-        this.linkCache = createDefaultCache();
+        this.linkCache = createCache();
+    }
+
+    /**
+     * Creates the keys of cached links
+     *
+     * @since 7.0
+     */
+    @FunctionalInterface
+    public interface KeyStrategy {
+
+        /**
+         * Creates keys from the attributes themselves, see {@link CachingLinkGenerator#makeStructuralKey(String, Map)}
+         */
+        KeyStrategy STRUCTURAL = CachingLinkGenerator::makeStructuralKey;
+
+        /**
+         * Creates String keys, see {@link CachingLinkGenerator#makeKey(String, Map)}
+         */
+        KeyStrategy STRING = CachingLinkGenerator::makeKey;
+
+        /**
+         * @param generator The link generator
+         * @param prefix Either {@link #LINK_PREFIX} or {@link #RESOURCE_PREFIX}
+         * @param attrs The attributes of the link
+         * @return The key, which must implement equals and hashCode and must not change when the attributes do
+         */
+        Object createKey(CachingLinkGenerator generator, String prefix, Map attrs);
+    }
+
+    /**
+     * Sets the maximum number of cached links, ignored if a maximum weight is set. Clears the cache.
+     *
+     * @param maximumSize The maximum number of links
+     * @since 7.0
+     */
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+        this.linkCache = createCache();
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum total length of the cached links, a negative value bounds the cache by
+     * {@link #setMaximumSize(long) size} instead. Clears the cache.
+     *
+     * @param maximumWeight The maximum number of characters
+     * @since 7.0
+     */
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+        this.linkCache = createCache();
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Sets whether the statistics of the cache are recorded, see {@link #getLinkCache()}. Clears the cache.
+     *
+     * @param recordStats True if statistics should be recorded
+     * @since 7.0
+     */
+    public void setRecordStats(boolean recordStats) {
+        this.recordStats = recordStats;
+        this.linkCache = createCache();
+    }
+
+    public boolean isRecordStats() {
+        return recordStats;
+    }
+
+    /**
+     * @param keyStrategy Creates the keys of cached links. Clears the cache.
+     * @since 7.0
+     */
+    public void setKeyStrategy(KeyStrategy keyStrategy) {
+        this.keyStrategy = keyStrategy != null ? keyStrategy : KeyStrategy.STRUCTURAL;
+        this.linkCache = createCache();
+    }
+
+    public KeyStrategy getKeyStrategy() {
+        return keyStrategy;
+    }
+
+    /**
+     * @return The cache of links, e.g. to monitor its statistics
+     * @since 7.0
+     */
+    public Cache<Object, String> getLinkCache() {
+        return linkCache;
     }
 
     @Override
@@ -66,13 +172,18 @@ public class CachingLinkGenerator extends DefaultLinkGenerator {
             return super.link(attrs, encoding);
         }
 
-        final String key = makeKey(LINK_PREFIX, attrs);
-        Object resourceLink = linkCache.getIfPresent(key);
-        if (resourceLink == null) {
-            resourceLink = super.link(attrs, encoding);
-            linkCache.put(key, resourceLink);
+        Object key = keyStrategy.createKey(this, LINK_PREFIX, attrs);
+        return linkCache.get(key, k -> super.link(attrs, encoding));
+    }
+
+    @Override
+    public void appendLink(Map attrs, String encoding, Appendable target) throws IOException {
+        if (!isCacheable(attrs)) {
+            super.appendLink(attrs, encoding, target);
+        }
+        else {
+            target.append(link(attrs, encoding));
         }
-        return resourceLink.toString();
     }
 
     protected boolean isCacheable(Map attrs) {
@@ -159,13 +270,8 @@ public class CachingLinkGenerator extends DefaultLinkGenerator {
 
     @Override
     public String resource(Map attrs) {
-        final String key = makeKey(RESOURCE_PREFIX, attrs);
-        Object resourceLink = linkCache.getIfPresent(key);
-        if (resourceLink == null) {
-            resourceLink = super.resource(attrs);
-            linkCache.put(key, resourceLink);
-        }
-        return resourceLink.toString();
+        Object key = keyStrategy.createKey(this, RESOURCE_PREFIX, attrs);
+        return linkCache.get(key, k -> super.resource(attrs));
     }
 
     protected String makeKey(String prefix, Map attrs) {
@@ -185,10 +291,102 @@ public class CachingLinkGenerator extends DefaultLinkGenerator {
         return sb.toString();
     }
 
-    private Cache<String, Object> createDefaultCache() {
-        return Caffeine.newBuilder()
-                                .maximumSize(MAX_SIZE)
-                                .build();
+    /**
+     * Creates a key with the same normalization as {@link #makeKey(String, Map)}, but from the attribute values themselves.
+     * Values that aren't immutable are copied or converted to Strings, see {@link LinkCacheKey}.
+     *
+     * @param prefix Either {@link #LINK_PREFIX} or {@link #RESOURCE_PREFIX}
+     * @param attrs The attributes of the link
+     * @return The key
+     * @since 7.0
+     */
+    protected Object makeStructuralKey(String prefix, Map attrs) {
+        Object base = null;
+        if (getConfiguredServerBaseURL() == null && isAbsolute(attrs)) {
+            Object baseAttr = attrs.get(ATTRIBUTE_BASE);
+            if (baseAttr != null) {
+                base = LinkCacheKey.snapshot(baseAttr);
+            } else {
+                GrailsWebRequest webRequest = GrailsWebRequest.lookup();
+                if (webRequest != null) {
+                    base = webRequest.getBaseUrl();
+                }
+            }
+        }
+
+        Object[] entries = new Object[(attrs.size() + 2) * 2];
+        int i = 0;
+        if (!attrs.isEmpty()) {
+            String requestControllerName = getRequestStateLookupStrategy().getControllerName();
+            Object action = attrs.get(UrlMapping.ACTION);
+            Object controller = attrs.get(UrlMapping.CONTROLLER);
+            boolean defaultController = action != null && controller == null && attrs.get(RESOURCE_PREFIX) == null;
+            if (defaultController) {
+                controller = requestControllerName;
+            }
+            for (Object o : attrs.entrySet()) {
+                Map.Entry entry = (Map.Entry) o;
+                Object key = entry.getKey();
+                Object value = entry.getValue();
+                if (value == null || (defaultController && UrlMapping.ACTION.equals(key))) {
+                    continue;
+                }
+                if (i > entries.length - 6) {
+                    // the attributes were changed concurrently, don't cache a partial key
+                    return makeKey(prefix, attrs);
+                }
+                entries[i++] = LinkCacheKey.snapshot(key);
+                if (RESOURCE_PREFIX.equals(key)) {
+                    entries[i++] = getCacheKeyValueForResource(value);
+                } else {
+                    entries[i++] = value == attrs ? THIS_MAP : LinkCacheKey.snapshot(value);
+                }
+            }
+            if (defaultController) {
+                if (controller != null) {
+                    entries[i++] = UrlMapping.CONTROLLER;
+                    entries[i++] = controller;
+                }
+                entries[i++] = UrlMapping.ACTION;
+                entries[i++] = LinkCacheKey.snapshot(action);
+            }
+            if (attrs.get(UrlMapping.NAMESPACE) == null && controller == requestControllerName) {
+                String namespace = getRequestStateLookupStrategy().getControllerNamespace();
+                if (GrailsStringUtils.isNotEmpty(namespace)) {
+                    entries[i++] = UrlMapping.NAMESPACE;
+                    entries[i++] = namespace;
+                }
+            }
+        }
+        if (i < entries.length) {
+            Object[] trimmed = new Object[i];
+            System.arraycopy(entries, 0, trimmed, 0, i);
+            entries = trimmed;
+        }
+        return new LinkCacheKey(prefix, base, entries);
+    }
+
+    private Cache<Object, String> createCache() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (recordStats) {
+            builder.recordStats();
+        }
+        if (maximumWeight >= 0) {
+            return builder.maximumWeight(maximumWeight).weigher(LinkWeigher.INSTANCE).build();
+        }
+        return builder.maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Weighs links by their length
+     */
+    private enum LinkWeigher implements Weigher<Object, String> {
+        INSTANCE;
+
+        @Override
+        public int weigh(Object key, String value) {
+            return value.length() + 1;
+        }
     }
 
     public void clearCache() {
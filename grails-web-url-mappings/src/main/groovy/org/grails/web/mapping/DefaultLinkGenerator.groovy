@@ -105,7 +105,28 @@ class DefaultLinkGenerator implements LinkGenerator, PluginManagerAware {
      * {@inheritDoc}
      */
     String link(Map attrs, String encoding = 'UTF-8') {
-        def writer = new StringBuilder()
+        StringBuilder writer = new StringBuilder()
+        writeLink(attrs, encoding, writer)
+        return writer.toString()
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void appendLink(Map attrs, String encoding, Appendable target) throws IOException {
+        writeLink(attrs, encoding, target)
+    }
+
+    /**
+     * Writes the link for the given attributes to the target. The URL created by a URL mapping is appended to the
+     * target directly.
+     *
+     * @param attrs The link attributes
+     * @param encoding The character encoding to use
+     * @param writer The target to write to
+     */
+    protected void writeLink(Map attrs, String encoding, Appendable writer) throws IOException {
         // prefer URI attribute
         boolean includeContext = GrailsClassUtils.getBooleanFromMap(ATTRIBUTE_INCLUDE_CONTEXT, attrs, true)
 
@@ -114,14 +135,14 @@ class DefaultLinkGenerator implements LinkGenerator, PluginManagerAware {
             if(!isUriAbsolute(uri)){
                 final base = handleAbsolute(attrs)
                 if (base != null) {
-                    writer.append base
+                    writer.append String.valueOf(base)
                 }
                 else if(includeContext) {
 
                     def cp = attrs.get(ATTRIBUTE_CONTEXT_PATH)
                     if (cp == null) cp = getContextPath()
                     if (cp != null)
-                        writer.append cp
+                        writer.append String.valueOf(cp)
                 }
             }
             writer.append uri
@@ -129,14 +150,18 @@ class DefaultLinkGenerator implements LinkGenerator, PluginManagerAware {
             def params = attrs.get(ATTRIBUTE_PARAMS)
 
             if(params instanceof Map) {
-                def charset = GrailsWebUtil.DEFAULT_ENCODING
-                def paramString = params.collect { Map.Entry entry ->
-                    def encodedKey = URLEncoder.encode(entry.key as String, charset)
-                    def encodedValue = URLEncoder.encode(entry.value as String, charset)
-                    "$encodedKey=$encodedValue"
-                }.join('&')
+                String charset = GrailsWebUtil.DEFAULT_ENCODING
                 writer.append(uri.indexOf('?') >= 0 ? '&' : '?')
-                      .append paramString
+                boolean first = true
+                for (Map.Entry entry in ((Map) params).entrySet()) {
+                    if (!first) {
+                        writer.append('&')
+                    }
+                    first = false
+                    writer.append(UrlTemplate.encodeQueryComponent(entry.key as String, charset))
+                          .append('=')
+                          .append(UrlTemplate.encodeQueryComponent(entry.value as String, charset))
+                }
             }
         }
         else if (attrs.get(ATTRIBUTE_RELATIVE_URI) != null) {
@@ -243,7 +268,6 @@ class DefaultLinkGenerator implements LinkGenerator, PluginManagerAware {
                 if (mappingName != null) {
                     params.mappingName = mappingName
                 }
-                def url
                 if (id != null) {
                     params.put(ATTRIBUTE_ID, id)
                 }
@@ -265,28 +289,24 @@ class DefaultLinkGenerator implements LinkGenerator, PluginManagerAware {
                 boolean absolute = isAbsolute(attrs)
 
                 if (!absolute) {
-                    url = mapping.createRelativeURL(convertedControllerName, convertedActionName, namespace, pluginName, params, encoding, frag)
                     final contextPathAttribute = attrs.get(ATTRIBUTE_CONTEXT_PATH)
                     final cp = contextPathAttribute == null ? getContextPath() : contextPathAttribute
                     if (attrs.get(ATTRIBUTE_BASE) || cp == null) {
                         attrs.put(ATTRIBUTE_ABSOLUTE, true)
-                        writer.append handleAbsolute(attrs)
+                        writer.append String.valueOf(handleAbsolute(attrs))
                     }
                     else if(includeContext) {
-                        writer.append cp
+                        writer.append String.valueOf(cp)
                     }
-                    writer.append url
                 }
                 else {
-                    url = mapping.createRelativeURL(convertedControllerName, convertedActionName, namespace, pluginName, params, encoding, frag)
-                    writer.append handleAbsolute(attrs)
-                    writer.append url
+                    writer.append String.valueOf(handleAbsolute(attrs))
                 }
+                mapping.appendRelativeURL(writer, convertedControllerName, convertedActionName, namespace, pluginName, params, encoding, frag)
             } else {
-                writer.append urlAttribute
+                writer.append String.valueOf(urlAttribute)
             }
         }
-        return writer.toString()
     }
 
     @CompileStatic(TypeCheckingMode.SKIP)
@@ -86,6 +86,7 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
 
     private List<UrlMapping> urlMappings = new ArrayList<>();
     private UrlMapping[] mappings;
+    private UrlMappingTrie mappingTrie;
     private UrlCreatorCache urlCreatorCache;
     // capacity of the UrlCreatoreCache is the estimated number of char's stored in cached objects
     private int urlCreatorMaxWeightedCacheCapacity = 160000;
@@ -143,6 +144,7 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
         }
 
         mappings = urlMappings.toArray(new UrlMapping[urlMappings.size()]);
+        mappingTrie = UrlMappingTrie.build(mappings);
 
         for (UrlMapping mapping : mappings) {
             String mappingName = mapping.getMappingName();
@@ -510,7 +512,8 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
             return info;
         }
 
-        for (UrlMapping mapping : mappings) {
+        for (int index : mappingTrie.candidates(uri)) {
+            UrlMapping mapping = mappings[index];
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Attempting to match URI [" + uri + "] with pattern [" + mapping.getUrlData().getUrlPattern() + "]");
             }
@@ -537,7 +540,8 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
         List<UrlMappingInfo> matchingUrls = cachedListMatches.getIfPresent(cacheKey);
         if (matchingUrls == null) {
             matchingUrls = new ArrayList<>();
-            for (UrlMapping mapping : mappings) {
+            for (int index : mappingTrie.candidates(uri)) {
+                UrlMapping mapping = mappings[index];
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Attempting to match URI [" + uri + "] with pattern [" + mapping.getUrlData().getUrlPattern() + "]");
                 }
@@ -578,7 +582,8 @@ public class DefaultUrlMappingsHolder implements UrlMappings {
             matchingUrls = new ArrayList<>();
             boolean anyHttpMethod = httpMethod != null && httpMethod.equals(UrlMapping.ANY_HTTP_METHOD);
             boolean anyVersion = version != null && version.equals(UrlMapping.ANY_VERSION);
-            for (UrlMapping mapping : mappings) {
+            for (int index : mappingTrie.candidates(uri)) {
+                UrlMapping mapping = mappings[index];
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Attempting to match URI [" + uri + "] with pattern [" + mapping.getUrlData().getUrlPattern() + "]");
                 }
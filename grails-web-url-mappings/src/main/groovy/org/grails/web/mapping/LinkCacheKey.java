@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.mapping;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import org.codehaus.groovy.runtime.DefaultGroovyMethods;
+
+/**
+ * A key for {@link CachingLinkGenerator} made from the link attributes themselves instead of their String representation.
+ *
+ * <p>Immutable values are used as they are, strings are only created for values of other types. Maps, collections and
+ * arrays are copied, so that changing them after a link was created doesn't affect the cache. The order of the entries
+ * is retained since the order of the params determines the order of the query string.</p>
+ *
+ * @since 7.0
+ * @see CachingLinkGenerator.KeyStrategy#STRUCTURAL
+ */
+final class LinkCacheKey {
+
+    private static final int MAX_DEPTH = 8;
+
+    private final String prefix;
+    private final Object base;
+    private final Object[] entries;
+    private final int hash;
+
+    /**
+     * @param prefix The type of link
+     * @param base The base URL of absolute links, if it isn't configured
+     * @param entries The keys and values of the attributes, alternating, as created by {@link #snapshot(Object)}
+     */
+    LinkCacheKey(String prefix, Object base, Object[] entries) {
+        this.prefix = prefix;
+        this.base = base;
+        this.entries = entries;
+        int h = prefix.hashCode();
+        h = 31 * h + (base != null ? base.hashCode() : 0);
+        this.hash = 31 * h + Arrays.hashCode(entries);
+    }
+
+    /**
+     * Creates a value that can be used as part of a key
+     *
+     * @param value The value of an attribute
+     * @return The value itself if it is immutable, otherwise a copy or its String representation
+     */
+    static Object snapshot(Object value) {
+        return snapshot(value, 0);
+    }
+
+    private static Object snapshot(Object value, int depth) {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+        if (value instanceof CharSequence) {
+            return value.toString();
+        }
+        if (depth < MAX_DEPTH) {
+            if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                Object[] values = new Object[map.size() * 2];
+                int i = 0;
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (i == values.length) {
+                        // the map was changed concurrently
+                        break;
+                    }
+                    values[i++] = snapshot(entry.getKey(), depth + 1);
+                    values[i++] = entry.getValue() == map ? map.getClass() : snapshot(entry.getValue(), depth + 1);
+                }
+                return new Values(true, values);
+            }
+            if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                Object[] values = new Object[collection.size()];
+                int i = 0;
+                for (Object element : collection) {
+                    if (i == values.length) {
+                        break;
+                    }
+                    values[i++] = snapshot(element, depth + 1);
+                }
+                return new Values(false, values);
+            }
+            if (value instanceof Object[]) {
+                Object[] array = (Object[]) value;
+                Object[] values = new Object[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    values[i] = snapshot(array[i], depth + 1);
+                }
+                return new Values(false, values);
+            }
+        }
+        return DefaultGroovyMethods.toString(value);
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Integer || value instanceof Long || value instanceof Boolean ||
+                value instanceof Enum || value instanceof Class || value instanceof Short || value instanceof Byte ||
+                value instanceof Character || value instanceof Double || value instanceof Float ||
+                value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LinkCacheKey)) {
+            return false;
+        }
+        LinkCacheKey other = (LinkCacheKey) o;
+        return hash == other.hash && prefix.equals(other.prefix) &&
+                (base == null ? other.base == null : base.equals(other.base)) &&
+                Arrays.equals(entries, other.entries);
+    }
+
+    @Override
+    public String toString() {
+        return prefix + (base != null ? base : "") + Arrays.toString(entries);
+    }
+
+    /**
+     * The copied values of a map or collection
+     */
+    private static final class Values {
+
+        private final boolean map;
+        private final Object[] values;
+        private final int hash;
+
+        Values(boolean map, Object[] values) {
+            this.map = map;
+            this.values = values;
+            this.hash = 31 * Boolean.hashCode(map) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Values)) {
+                return false;
+            }
+            Values other = (Values) o;
+            return map == other.map && hash == other.hash && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
+    }
+}
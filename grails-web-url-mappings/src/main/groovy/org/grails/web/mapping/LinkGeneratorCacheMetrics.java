@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.mapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Binds the statistics of the cache of a {@link CachingLinkGenerator}, i.e. its hits, misses, evictions and load
+ * times, to a Micrometer {@link MeterRegistry}. The statistics are only available if they are
+ * {@link CachingLinkGenerator#setRecordStats(boolean) recorded}.
+ *
+ * @since 7.0
+ */
+public class LinkGeneratorCacheMetrics implements MeterBinder {
+
+    /**
+     * The name of the cache, used as the value of the <code>cache</code> tag
+     */
+    public static final String CACHE_NAME = "grailsLinkGenerator";
+
+    private final CachingLinkGenerator linkGenerator;
+
+    public LinkGeneratorCacheMetrics(CachingLinkGenerator linkGenerator) {
+        this.linkGenerator = linkGenerator;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, linkGenerator.getLinkCache(), CACHE_NAME);
+    }
+}
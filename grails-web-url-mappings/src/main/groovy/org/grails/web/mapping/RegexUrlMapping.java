@@ -35,9 +35,9 @@ import org.springframework.validation.Errors;
 import org.springframework.validation.MapBindingResult;
 import org.springframework.web.context.request.RequestContextHolder;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLEncoder;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -66,6 +66,7 @@ public class RegexUrlMapping extends AbstractUrlMapping {
     private Pattern[] patterns;
     private Map<Integer, List<Pattern>> patternByTokenCount = new HashMap<Integer, List<Pattern>>();
     private UrlMappingData urlData;
+    private UrlTemplate urlTemplate;
     private static final String DEFAULT_ENCODING = "UTF-8";
     private static final Logger LOG = LoggerFactory.getLogger(RegexUrlMapping.class);
     public static final Pattern DOUBLE_WILDCARD_PATTERN = Pattern.compile("\\(\\*\\*?\\)\\??");
@@ -118,6 +119,7 @@ public class RegexUrlMapping extends AbstractUrlMapping {
 
         String[] urls = data.getLogicalUrls();
         urlData = data;
+        urlTemplate = UrlTemplate.compile(data.getTokens(), data.hasOptionalExtension());
         patterns = new Pattern[urls.length];
 
         for (int i = 0; i < urls.length; i++) {
@@ -279,108 +281,101 @@ public class RegexUrlMapping extends AbstractUrlMapping {
         return createURLInternal(paramValues, encoding, true);
     }
 
-    @SuppressWarnings({"unchecked"})
     private String createURLInternal(Map paramValues, String encoding, boolean includeContextPath) {
+        StringBuilder uri = new StringBuilder();
+        try {
+            appendURLInternal(uri, paramValues, encoding, includeContextPath);
+        }
+        catch (IOException e) {
+            // can't happen when appending to a StringBuilder
+            throw new IllegalStateException(e);
+        }
+        return uri.toString();
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private void appendURLInternal(Appendable uri, Map paramValues, String encoding, boolean includeContextPath) throws IOException {
 
         if (encoding == null) encoding = "utf-8";
 
-        String contextPath = "";
         if (includeContextPath) {
             GrailsWebRequest webRequest = (GrailsWebRequest) RequestContextHolder.getRequestAttributes();
-            if (webRequest != null) {
-                contextPath = webRequest.getContextPath();
+            String contextPath = webRequest != null ? webRequest.getContextPath() : null;
+            if (contextPath != null) {
+                uri.append(contextPath);
             }
         }
         if (paramValues == null) paramValues = Collections.emptyMap();
-        StringBuilder uri = new StringBuilder(contextPath);
         Set usedParams = new HashSet();
 
+        appendPath(uri, paramValues, encoding, usedParams);
+        populateParameterList(paramValues, encoding, uri, usedParams);
 
-        String[] tokens = urlData.getTokens();
-        int paramIndex = 0;
-        for (int i = 0; i < tokens.length; i++) {
-            String token = tokens[i];
-            if (i == tokens.length - 1 && urlData.hasOptionalExtension()) {
-                token += OPTIONAL_EXTENSION_WILDCARD;
-            }
-            Matcher m = OPTIONAL_EXTENSION_WILDCARD_PATTERN.matcher(token);
-            if (m.find()) {
-
-                boolean tokenSet = false;
-                if (token.startsWith(CAPTURED_WILDCARD)) {
-                    ConstrainedProperty prop = constraints[paramIndex++];
-                    String propName = prop.getPropertyName();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Created reverse URL mapping [" + uri + "] for parameters [" + paramValues + "]");
+        }
+    }
 
-                    Object value = paramValues.get(propName);
+    @SuppressWarnings({"unchecked"})
+    private void appendPath(Appendable uri, Map paramValues, String encoding, Set usedParams) throws IOException {
+        for (UrlTemplate.Segment segment : urlTemplate.segments) {
+            if (segment.type == UrlTemplate.LITERAL) {
+                uri.append(segment.parts[0]);
+            }
+            else if (segment.type == UrlTemplate.EXTENSION) {
+                int paramIndex = segment.constraintIndex;
+                Object value = null;
+                if (segment.capturedWildcard) {
+                    String propName = constraints[paramIndex++].getPropertyName();
+                    value = paramValues.get(propName);
                     usedParams.add(propName);
-
-                    if (value != null) {
-                        token = token.replaceFirst(DOUBLE_WILDCARD_PATTERN.pattern(), Matcher.quoteReplacement(value.toString()));
-                        tokenSet = true;
-                    }
-                    else {
-                        token = token.replaceFirst(DOUBLE_WILDCARD_PATTERN.pattern(), "");
-                    }
-                }
-                else {
-                    tokenSet = true;
                 }
-                if(tokenSet) {
-
+                if (value != null || !segment.capturedWildcard) {
                     uri.append(SLASH);
                 }
-                ConstrainedProperty prop = constraints[paramIndex++];
-                String propName = prop.getPropertyName();
-                Object value = paramValues.get(propName);
-                usedParams.add(propName);
                 if (value != null) {
-                    String ext = "." + value;
-                    uri.append(token.replace(OPTIONAL_EXTENSION_WILDCARD+'?', ext).replace(OPTIONAL_EXTENSION_WILDCARD, ext));
+                    uri.append(value.toString());
                 }
-                else {
-                    uri.append(token.replace(OPTIONAL_EXTENSION_WILDCARD+'?', "").replace(OPTIONAL_EXTENSION_WILDCARD, ""));
+                String propName = constraints[paramIndex].getPropertyName();
+                Object extension = paramValues.get(propName);
+                usedParams.add(propName);
+                String ext = extension != null ? "." + extension : "";
+                String[] parts = segment.parts;
+                uri.append(parts[0]);
+                for (int i = 1; i < parts.length; i++) {
+                    uri.append(ext).append(parts[i]);
                 }
-
-                continue;
             }
-            if (token.endsWith("?")) {
-                token = token.substring(0,token.length()-1);
-            }
-            m = DOUBLE_WILDCARD_PATTERN.matcher(token);
-            if (m.find()) {
-                StringBuffer buf = new StringBuffer();
-                do {
-                    ConstrainedProperty prop = constraints[paramIndex++];
-                    String propName = prop.getPropertyName();
-                    Object value = paramValues.get(propName);
-                    usedParams.add(propName);
-                    if (value == null && !prop.isNullable()) {
-                        throw new UrlMappingException("Unable to create URL for mapping [" + this +
-                                "] and parameters [" + paramValues + "]. Parameter [" +
-                                prop.getPropertyName() + "] is required, but was not specified!");
-                    }
-                    else if (value == null) {
-                        m.appendReplacement(buf, "");
-                    }
-                    else {
-                        m.appendReplacement(buf, Matcher.quoteReplacement(value.toString()));
+            else {
+                String v;
+                if (segment.singleWildcard) {
+                    Object value = getWildcardValue(paramValues, segment.constraintIndex, usedParams);
+                    v = value != null ? value.toString() : "";
+                }
+                else {
+                    String[] parts = segment.parts;
+                    StringBuilder buf = new StringBuilder();
+                    for (int i = 0; i < segment.constraintCount; i++) {
+                        buf.append(parts[i]);
+                        Object value = getWildcardValue(paramValues, segment.constraintIndex + i, usedParams);
+                        if (value != null) {
+                            buf.append(value);
+                        }
                     }
+                    buf.append(parts[parts.length - 1]);
+                    v = buf.toString();
                 }
-                while (m.find());
-
-                m.appendTail(buf);
 
                 try {
-                    String v = buf.toString();
-                    if (v.indexOf(SLASH) > -1 && CAPTURED_DOUBLE_WILDCARD.equals(token)) {
+                    if (v.indexOf(SLASH) > -1 && segment.capturedDoubleWildcard) {
                         // individually URL encode path segments
                         if (v.startsWith(SLASH)) {
                             // get rid of leading slash
                             v = v.substring(SLASH.length());
                         }
                         String[] segs = v.split(SLASH);
-                        for (String segment : segs) {
-                            uri.append(SLASH).append(encode(segment, encoding));
+                        for (String seg : segs) {
+                            uri.append(SLASH).append(encode(seg, encoding));
                         }
                     }
                     else if (v.length() > 0) {
@@ -394,23 +389,28 @@ public class RegexUrlMapping extends AbstractUrlMapping {
                 }
                 catch (UnsupportedEncodingException e) {
                     throw new ControllerExecutionException("Error creating URL for parameters [" +
-                            paramValues + "], problem encoding URL part [" + buf + "]: " + e.getMessage(), e);
+                            paramValues + "], problem encoding URL part [" + v + "]: " + e.getMessage(), e);
                 }
             }
-            else {
-                uri.append(SLASH).append(token);
-            }
         }
-        populateParameterList(paramValues, encoding, uri, usedParams);
+    }
 
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Created reverse URL mapping [" + uri.toString() + "] for parameters [" + paramValues + "]");
+    @SuppressWarnings({"unchecked"})
+    private Object getWildcardValue(Map paramValues, int paramIndex, Set usedParams) {
+        ConstrainedProperty prop = constraints[paramIndex];
+        String propName = prop.getPropertyName();
+        Object value = paramValues.get(propName);
+        usedParams.add(propName);
+        if (value == null && !prop.isNullable()) {
+            throw new UrlMappingException("Unable to create URL for mapping [" + this +
+                    "] and parameters [" + paramValues + "]. Parameter [" +
+                    prop.getPropertyName() + "] is required, but was not specified!");
         }
-        return uri.toString();
+        return value;
     }
 
     protected String encode(String s, String encoding) throws UnsupportedEncodingException {
-        return URLEncoder.encode(s, encoding).replaceAll("\\+", "%20");
+        return UrlTemplate.encodePathSegment(s, encoding);
     }
 
     public String createURL(Map paramValues, String encoding, String fragment) {
@@ -430,9 +430,22 @@ public class RegexUrlMapping extends AbstractUrlMapping {
         return createURLInternal(controller, action, namespace, pluginName, paramValues, encoding, true);
     }
 
-    @SuppressWarnings("unchecked")
     private String createURLInternal(String controller, String action, String namespace, String pluginName, Map paramValues,
                                      String encoding, boolean includeContextPath) {
+        StringBuilder uri = new StringBuilder();
+        try {
+            appendURLInternal(uri, controller, action, namespace, pluginName, paramValues, encoding, includeContextPath);
+        }
+        catch (IOException e) {
+            // can't happen when appending to a StringBuilder
+            throw new IllegalStateException(e);
+        }
+        return uri.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void appendURLInternal(Appendable uri, String controller, String action, String namespace, String pluginName, Map paramValues,
+                                   String encoding, boolean includeContextPath) throws IOException {
 
         if (paramValues == null) paramValues = new HashMap();
 
@@ -455,7 +468,7 @@ public class RegexUrlMapping extends AbstractUrlMapping {
                 paramValues.put(NAMESPACE, namespace);
             }
 
-            return createURLInternal(paramValues, encoding, includeContextPath);
+            appendURLInternal(uri, paramValues, encoding, includeContextPath);
         }
         finally {
             if (hasController) {
@@ -491,6 +504,13 @@ public class RegexUrlMapping extends AbstractUrlMapping {
         return createUrlWithFragment(url, fragment, encoding);
     }
 
+    @Override
+    public void appendRelativeURL(Appendable target, String controller, String action, String namespace, String pluginName, Map paramValues,
+                                  String encoding, String fragment) throws IOException {
+        appendURLInternal(target, controller, action, namespace, pluginName, paramValues, encoding, false);
+        appendFragment(target, fragment, encoding);
+    }
+
     public String createURL(String controller, String action, Map paramValues,
                             String encoding, String fragment) {
         return createURL(controller, action, null, null, paramValues, encoding, fragment);
@@ -503,6 +523,22 @@ public class RegexUrlMapping extends AbstractUrlMapping {
     }
 
     private String createUrlWithFragment(String url, String fragment, String encoding) {
+        if (fragment != null) {
+            StringBuilder uri = new StringBuilder(url);
+            try {
+                appendFragment(uri, fragment, encoding);
+            }
+            catch (IOException e) {
+                // can't happen when appending to a StringBuilder
+                throw new IllegalStateException(e);
+            }
+            return uri.toString();
+        }
+
+        return url;
+    }
+
+    private void appendFragment(Appendable uri, String fragment, String encoding) throws IOException {
         if (fragment != null) {
             // A 'null' encoding will cause an exception, so default to 'UTF-8'.
             if (encoding == null) {
@@ -510,19 +546,17 @@ public class RegexUrlMapping extends AbstractUrlMapping {
             }
 
             try {
-                return url + '#' + URLEncoder.encode(fragment, encoding);
+                uri.append('#').append(UrlTemplate.encodeQueryComponent(fragment, encoding));
             }
             catch (UnsupportedEncodingException ex) {
-                throw new ControllerExecutionException("Error creating URL  [" + url +
+                throw new ControllerExecutionException("Error creating URL  [" + uri +
                         "], problem encoding URL fragment [" + fragment + "]: " + ex.getMessage(), ex);
             }
         }
-
-        return url;
     }
 
     @SuppressWarnings("unchecked")
-    private void populateParameterList(Map paramValues, String encoding, StringBuilder uri, Set usedParams) {
+    private void populateParameterList(Map paramValues, String encoding, Appendable uri, Set usedParams) throws IOException {
         boolean addedParams = false;
         usedParams.add("controller");
         usedParams.add("action");
@@ -572,10 +606,10 @@ public class RegexUrlMapping extends AbstractUrlMapping {
         }
     }
 
-    private void appendValueToURI(String encoding, StringBuilder uri, String name, Object value) {
+    private void appendValueToURI(String encoding, Appendable uri, String name, Object value) throws IOException {
         try {
-            uri.append(URLEncoder.encode(name, encoding)).append('=')
-                    .append(URLEncoder.encode(value != null ? value.toString() : "", encoding));
+            uri.append(UrlTemplate.encodeQueryComponent(name, encoding)).append('=')
+                    .append(UrlTemplate.encodeQueryComponent(value != null ? value.toString() : "", encoding));
         }
         catch (UnsupportedEncodingException e) {
             throw new ControllerExecutionException("Error redirecting request for url [" + name + ":" +
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.mapping;
+
+import grails.web.mapping.UrlMapping;
+import grails.web.mapping.UrlMappingData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A precompiled segment trie over a sorted array of {@link UrlMapping} instances that is used to narrow down
+ * the mappings that can possibly match a URI before their regular expressions are evaluated.</p>
+ *
+ * <p>Each logical URL of a {@link RegexUrlMapping} is split on '/' and every token is classified as either a static
+ * segment, a single segment wildcard or a token that may span or omit segments (optional tokens, double wildcards and
+ * anything else that cannot be reasoned about safely). The latter turn the mapping into a candidate for any remainder
+ * of the URI below that node. Lookups therefore only ever return a superset of the matching mappings and their indices
+ * are returned in ascending order, so evaluating the candidates preserves the precedence established by
+ * {@link RegexUrlMapping#compareTo(Object)}.</p>
+ *
+ * @since 7.0
+ */
+final class UrlMappingTrie {
+
+    private static final char SLASH = '/';
+    private static final int[] NO_INDICES = new int[0];
+
+    private final Node root;
+    private final int[] unindexed;
+    private final int mappingCount;
+
+    private UrlMappingTrie(Node root, int mappingCount, int[] unindexed) {
+        this.root = root;
+        this.mappingCount = mappingCount;
+        this.unindexed = unindexed;
+    }
+
+    /**
+     * Builds a trie for the given mappings. The indices returned by {@link #candidates(String)} refer to positions
+     * within this array.
+     *
+     * @param mappings The sorted mappings
+     * @return The trie
+     */
+    static UrlMappingTrie build(UrlMapping[] mappings) {
+        List<Integer> unindexed = new ArrayList<>();
+        Node root = new Node();
+        for (int i = 0; i < mappings.length; i++) {
+            UrlMapping mapping = mappings[i];
+            if (mapping instanceof ResponseCodeUrlMapping) {
+                // response code mappings never match a URI
+                continue;
+            }
+            UrlMappingData urlData = mapping.getUrlData();
+            String[] logicalUrls = (mapping instanceof RegexUrlMapping) && urlData != null ? urlData.getLogicalUrls() : null;
+            if (logicalUrls == null || !isIndexable(logicalUrls)) {
+                unindexed.add(i);
+                continue;
+            }
+            for (String logicalUrl : logicalUrls) {
+                insert(root, i, logicalUrl);
+            }
+        }
+        root.compact();
+        return new UrlMappingTrie(root, mappings.length, toArray(unindexed));
+    }
+
+    /**
+     * Returns the indices of the mappings that may match the given URI in ascending order.
+     *
+     * @param uri The URI
+     * @return The candidate indices, never null
+     */
+    int[] candidates(String uri) {
+        if (uri == null || uri.isEmpty() || uri.charAt(0) != SLASH) {
+            return all();
+        }
+        int end = uri.length();
+        if (end > 1 && uri.charAt(end - 1) == SLASH) {
+            // the compiled patterns accept a single trailing slash
+            end--;
+        }
+        String[] segments = end > 1 ? uri.substring(1, end).split("/", -1) : new String[0];
+
+        IndexBuffer buffer = new IndexBuffer(unindexed);
+        collect(root, segments, 0, buffer);
+        return buffer.sortedDistinct();
+    }
+
+    private int[] all() {
+        int[] all = new int[mappingCount];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    private void collect(Node node, String[] segments, int depth, IndexBuffer buffer) {
+        buffer.addAll(node.tail);
+        if (depth == segments.length) {
+            buffer.addAll(node.terminal);
+            return;
+        }
+        String segment = segments[depth];
+        if (segment.isEmpty()) {
+            return;
+        }
+        if (node.statics != null) {
+            Node child = node.statics.get(segment);
+            if (child != null) {
+                collect(child, segments, depth + 1, buffer);
+            }
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, depth + 1, buffer);
+        }
+    }
+
+    private static void insert(Node root, int index, String logicalUrl) {
+        Node current = root;
+        String[] tokens = logicalUrl.length() > 1 ? logicalUrl.substring(1).split("/", -1) : new String[0];
+        for (String token : tokens) {
+            switch (classify(token)) {
+                case STATIC:
+                    current = current.staticChild(token);
+                    break;
+                case WILDCARD:
+                    current = current.wildcardChild();
+                    break;
+                default:
+                    current.addTail(index);
+                    return;
+            }
+        }
+        current.addTerminal(index);
+    }
+
+    private static boolean isIndexable(String[] logicalUrls) {
+        for (String logicalUrl : logicalUrls) {
+            // a logical URL only lacks a leading slash when the whole pattern is optional
+            if (!logicalUrl.isEmpty() && logicalUrl.charAt(0) != SLASH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static SegmentType classify(String token) {
+        if (token.isEmpty()) {
+            return SegmentType.TAIL;
+        }
+        if (token.indexOf('*') > -1) {
+            if (token.contains("**") || token.indexOf('?') > -1) {
+                return SegmentType.TAIL;
+            }
+            return SegmentType.WILDCARD;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            switch (token.charAt(i)) {
+                case '?': case '(': case ')': case '[': case ']': case '{': case '}':
+                case '|': case '^': case '$': case '\\':
+                    return SegmentType.TAIL;
+                default:
+                    break;
+            }
+        }
+        return SegmentType.STATIC;
+    }
+
+    private static int[] toArray(List<Integer> indices) {
+        if (indices.isEmpty()) {
+            return NO_INDICES;
+        }
+        int[] array = new int[indices.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = indices.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * The type of a URL pattern segment
+     */
+    enum SegmentType {
+        /** A literal segment that must be matched exactly */
+        STATIC,
+        /** A wildcard that consumes exactly one non-empty segment */
+        WILDCARD,
+        /** A token that may consume any remainder of the URI, including nothing */
+        TAIL
+    }
+
+    private static final class Node {
+        Map<String, Node> statics;
+        Node wildcard;
+        int[] terminal = NO_INDICES;
+        int[] tail = NO_INDICES;
+        private List<Integer> terminalList;
+        private List<Integer> tailList;
+
+        Node staticChild(String segment) {
+            if (statics == null) {
+                statics = new HashMap<>();
+            }
+            return statics.computeIfAbsent(segment, s -> new Node());
+        }
+
+        Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        void addTerminal(int index) {
+            if (terminalList == null) {
+                terminalList = new ArrayList<>();
+            }
+            terminalList.add(index);
+        }
+
+        void addTail(int index) {
+            if (tailList == null) {
+                tailList = new ArrayList<>();
+            }
+            tailList.add(index);
+        }
+
+        void compact() {
+            if (terminalList != null) {
+                terminal = toArray(terminalList);
+                terminalList = null;
+            }
+            if (tailList != null) {
+                tail = toArray(tailList);
+                tailList = null;
+            }
+            if (statics != null) {
+                for (Node child : statics.values()) {
+                    child.compact();
+                }
+            }
+            if (wildcard != null) {
+                wildcard.compact();
+            }
+        }
+    }
+
+    private static final class IndexBuffer {
+        int[] values;
+        int size;
+
+        IndexBuffer(int[] initial) {
+            values = Arrays.copyOf(initial, Math.max(initial.length, 8));
+            size = initial.length;
+        }
+
+        void addAll(int[] indices) {
+            if (indices.length == 0) {
+                return;
+            }
+            if (size + indices.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + indices.length));
+            }
+            System.arraycopy(indices, 0, values, size, indices.length);
+            size += indices.length;
+        }
+
+        int[] sortedDistinct() {
+            if (size == 0) {
+                return NO_INDICES;
+            }
+            Arrays.sort(values, 0, size);
+            int distinct = 1;
+            for (int i = 1; i < size; i++) {
+                if (values[i] != values[distinct - 1]) {
+                    values[distinct++] = values[i];
+                }
+            }
+            return Arrays.copyOf(values, distinct);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.grails.web.mapping;
+
+import grails.web.mapping.UrlMapping;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The tokens of a URL mapping compiled once into segments, so that reverse mapping a URL doesn't have to match
+ * regular expressions against the tokens every time a link is created.
+ *
+ * <p>Also provides a percent-encoder that returns strings that don't need encoding as they are.</p>
+ *
+ * @since 7.0
+ * @see RegexUrlMapping
+ */
+final class UrlTemplate {
+
+    /**
+     * A token without wildcards, appended as it is
+     */
+    static final int LITERAL = 0;
+
+    /**
+     * A token with one or more wildcards, replaced with the encoded parameter values
+     */
+    static final int WILDCARDS = 1;
+
+    /**
+     * A token with an optional extension, e.g. <code>(*)(.(*))</code>
+     */
+    static final int EXTENSION = 2;
+
+    private static final Pattern EXTENSION_PLACEHOLDER_PATTERN = Pattern.compile(
+            Pattern.quote(UrlMapping.OPTIONAL_EXTENSION_WILDCARD) + "\\??");
+
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        // the characters that java.net.URLEncoder leaves as they are
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+    }
+
+    final Segment[] segments;
+
+    private UrlTemplate(Segment[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the tokens of a URL mapping
+     *
+     * @param tokens The tokens, see {@link grails.web.mapping.UrlMappingData#getTokens()}
+     * @param hasOptionalExtension Whether the last token has an optional extension
+     * @return The template
+     */
+    static UrlTemplate compile(String[] tokens, boolean hasOptionalExtension) {
+        Segment[] segments = new Segment[tokens.length];
+        int constraintIndex = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (i == tokens.length - 1 && hasOptionalExtension) {
+                token += UrlMapping.OPTIONAL_EXTENSION_WILDCARD;
+            }
+            Segment segment;
+            if (RegexUrlMapping.OPTIONAL_EXTENSION_WILDCARD_PATTERN.matcher(token).find()) {
+                segment = compileExtension(token, constraintIndex);
+            }
+            else {
+                if (token.endsWith("?")) {
+                    token = token.substring(0, token.length() - 1);
+                }
+                segment = compileWildcards(token, constraintIndex);
+            }
+            segments[i] = segment;
+            constraintIndex += segment.constraintCount;
+        }
+        return new UrlTemplate(segments);
+    }
+
+    private static Segment compileExtension(String token, int constraintIndex) {
+        boolean capturedWildcard = token.startsWith(UrlMapping.CAPTURED_WILDCARD);
+        String tail = token;
+        if (capturedWildcard) {
+            // the wildcard at the start of the token is replaced with the value of the parameter
+            Matcher m = RegexUrlMapping.DOUBLE_WILDCARD_PATTERN.matcher(token);
+            m.lookingAt();
+            tail = token.substring(m.end());
+        }
+        String[] parts = EXTENSION_PLACEHOLDER_PATTERN.split(tail, -1);
+        return new Segment(EXTENSION, parts, capturedWildcard ? 2 : 1, constraintIndex, capturedWildcard, false);
+    }
+
+    private static Segment compileWildcards(String token, int constraintIndex) {
+        Matcher m = RegexUrlMapping.DOUBLE_WILDCARD_PATTERN.matcher(token);
+        List<String> literals = new ArrayList<>();
+        int end = 0;
+        while (m.find()) {
+            literals.add(token.substring(end, m.start()));
+            end = m.end();
+        }
+        if (literals.isEmpty()) {
+            return new Segment(LITERAL, new String[] { UrlMapping.SLASH + token }, 0, constraintIndex, false, false);
+        }
+        literals.add(token.substring(end));
+        return new Segment(WILDCARDS, literals.toArray(new String[0]), literals.size() - 1, constraintIndex, false,
+                UrlMapping.CAPTURED_DOUBLE_WILDCARD.equals(token));
+    }
+
+    /**
+     * Encodes a path segment, spaces are encoded as <code>%20</code>
+     */
+    static String encodePathSegment(String s, String encoding) throws UnsupportedEncodingException {
+        if (isUnreserved(s)) {
+            return s;
+        }
+        return URLEncoder.encode(s, encoding).replace("+", "%20");
+    }
+
+    /**
+     * Encodes the name or value of a query parameter like {@link URLEncoder}, spaces are encoded as <code>+</code>
+     */
+    static String encodeQueryComponent(String s, String encoding) throws UnsupportedEncodingException {
+        if (isUnreserved(s)) {
+            return s;
+        }
+        return URLEncoder.encode(s, encoding);
+    }
+
+    private static boolean isUnreserved(String s) {
+        for (int i = 0, length = s.length(); i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 128 || !UNRESERVED[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static final class Segment {
+
+        /**
+         * One of {@link #LITERAL}, {@link #WILDCARDS} or {@link #EXTENSION}
+         */
+        final int type;
+
+        /**
+         * For literals the text to append including the leading slash, for wildcards the text around the
+         * wildcards and for extensions the text around the extension placeholders
+         */
+        final String[] parts;
+
+        /**
+         * The number of constraints consumed by this segment
+         */
+        final int constraintCount;
+
+        /**
+         * The index of the first constraint consumed by this segment
+         */
+        final int constraintIndex;
+
+        /**
+         * Whether an extension token starts with a captured wildcard
+         */
+        final boolean capturedWildcard;
+
+        /**
+         * Whether the token is a captured double wildcard, the path segments of which are encoded individually
+         */
+        final boolean capturedDoubleWildcard;
+
+        /**
+         * Whether a wildcard token consists of a single wildcard only
+         */
+        final boolean singleWildcard;
+
+        Segment(int type, String[] parts, int constraintCount, int constraintIndex, boolean capturedWildcard, boolean capturedDoubleWildcard) {
+            this.type = type;
+            this.parts = parts;
+            this.constraintCount = constraintCount;
+            this.constraintIndex = constraintIndex;
+            this.capturedWildcard = capturedWildcard;
+            this.capturedDoubleWildcard = capturedDoubleWildcard;
+            this.singleWildcard = type == WILDCARDS && parts.length == 2 && parts[0].isEmpty() && parts[1].isEmpty();
+        }
+    }
+}
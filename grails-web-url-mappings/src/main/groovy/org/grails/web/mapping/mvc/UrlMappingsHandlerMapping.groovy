@@ -25,6 +25,8 @@ import grails.web.mime.MimeType
 import grails.web.mime.MimeTypeResolver
 import grails.web.http.HttpHeaders
 import org.grails.exceptions.ExceptionUtils
+import org.grails.web.servlet.mvc.DispatchInstrumentation
+import org.grails.web.servlet.mvc.DispatchPhase
 import org.grails.web.servlet.mvc.GrailsWebRequest
 import org.grails.web.util.GrailsApplicationAttributes
 import org.grails.web.util.WebUtils
@@ -119,6 +121,29 @@ class UrlMappingsHandlerMapping extends AbstractHandlerMapping {
 
     @Override
     protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
+        if(!DispatchInstrumentation.isEnabled()) {
+            return matchHandler(request)
+        }
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.URL_MATCHING)
+        try {
+            return matchHandler(request)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
+
+    /**
+     * Matches the request against the URL mappings
+     *
+     * @param request The request
+     * @return The matched {@link UrlMappingInfo} or null if there is none
+     */
+    protected Object matchHandler(HttpServletRequest request) throws Exception {
 
         def matchedInfo = request.getAttribute(MATCHED_REQUEST)
         def errorStatus = request.getAttribute(WebUtils.ERROR_STATUS_CODE_ATTRIBUTE)
@@ -22,7 +22,10 @@ import grails.web.mapping.ResponseRedirector
 import grails.web.mapping.UrlMappingInfo
 import grails.web.mvc.FlashScope
 import groovy.transform.CompileStatic
+import org.grails.web.servlet.mvc.ActionResponseCache
 import org.grails.web.servlet.mvc.ActionResultTransformer
+import org.grails.web.servlet.mvc.DispatchInstrumentation
+import org.grails.web.servlet.mvc.DispatchPhase
 import org.grails.web.servlet.mvc.GrailsWebRequest
 import org.grails.web.util.GrailsApplicationAttributes
 import org.grails.web.util.WebUtils
@@ -51,9 +54,11 @@ class UrlMappingsInfoHandlerAdapter implements HandlerAdapter, ApplicationContex
     protected Collection<ActionResultTransformer> actionResultTransformers = Collections.emptyList();
     protected Map<String, Object> controllerCache = new ConcurrentHashMap<>()
     protected ResponseRedirector redirector
+    protected ActionResponseCache responseCache
 
     void setApplicationContext(ApplicationContext applicationContext) {
         this.actionResultTransformers = applicationContext.getBeansOfType(ActionResultTransformer.class).values();
+        this.responseCache = applicationContext.getBeanProvider(ActionResponseCache).getIfAvailable()
         this.applicationContext = applicationContext
         this.redirector = new ResponseRedirector(applicationContext.getBean(LinkGenerator))
     }
@@ -102,37 +107,21 @@ class UrlMappingsInfoHandlerAdapter implements HandlerAdapter, ApplicationContex
                 }
                 webRequest.controllerNamespace = controllerClass.namespace
                 request.setAttribute(GrailsApplicationAttributes.CONTROLLER, controller)
-                def result = controllerClass.invoke(controller, action)
 
-                if(actionResultTransformers) {
-                    for(transformer in actionResultTransformers) {
-                        result = transformer.transformActionResult(webRequest, action, result)
-                    }
+                ActionResponseCache.Policy cachePolicy = responseCache?.getPolicy(controllerClass.clazz, controllerClass.actionUriToViewName(action))
+                if(cachePolicy == null) {
+                    return invokeAction(request, webRequest, controllerClass, controller, action)
                 }
-
-                def modelAndView = request.getAttribute(GrailsApplicationAttributes.MODEL_AND_VIEW)
-                if(modelAndView instanceof ModelAndView) {
-                    return (ModelAndView) modelAndView
+                if(responseCache.begin(cachePolicy, controller, webRequest)) {
+                    return null
                 }
-                else if(result instanceof Map) {
-                    String viewName = controllerClass.actionUriToViewName(action)
-                    def finalModel = new HashMap<String, Object>()
-                    def flashScope = webRequest.getFlashScope()
-                    if(!flashScope.isEmpty()) {
-                        def chainModel = flashScope.get(FlashScope.CHAIN_MODEL)
-                        if(chainModel instanceof Map) {
-                            finalModel.putAll((Map)chainModel)
-                        }
-                    }
-                    finalModel.putAll((Map)result)
-
-                    return new ModelAndView(viewName, finalModel)
+                try {
+                    // the captured response is completed by the dispatcher servlet once the view has been rendered
+                    return invokeAction(request, webRequest, controllerClass, controller, action)
                 }
-                else if(result instanceof ModelAndView) {
-                    return (ModelAndView) result
-                } else if(result == null &&
-                          webRequest.renderView) {
-                    return new ModelAndView(controllerClass.actionUriToViewName(action))
+                catch (Throwable e) {
+                    ActionResponseCache.abort(request)
+                    throw e
                 }
             }
             else if(info.viewName) {
@@ -153,6 +142,56 @@ class UrlMappingsInfoHandlerAdapter implements HandlerAdapter, ApplicationContex
         return null
     }
 
+    private ModelAndView invokeAction(HttpServletRequest request, GrailsWebRequest webRequest, GrailsControllerClass controllerClass, Object controller, String action) {
+        def result = DispatchInstrumentation.isEnabled() ? invokeInstrumented(controllerClass, controller, action) : controllerClass.invoke(controller, action)
+
+        if(actionResultTransformers) {
+            for(transformer in actionResultTransformers) {
+                result = transformer.transformActionResult(webRequest, action, result)
+            }
+        }
+
+        def modelAndView = request.getAttribute(GrailsApplicationAttributes.MODEL_AND_VIEW)
+        if(modelAndView instanceof ModelAndView) {
+            return (ModelAndView) modelAndView
+        }
+        else if(result instanceof Map) {
+            String viewName = controllerClass.actionUriToViewName(action)
+            def finalModel = new HashMap<String, Object>()
+            def flashScope = webRequest.getFlashScope()
+            if(!flashScope.isEmpty()) {
+                def chainModel = flashScope.get(FlashScope.CHAIN_MODEL)
+                if(chainModel instanceof Map) {
+                    finalModel.putAll((Map)chainModel)
+                }
+            }
+            finalModel.putAll((Map)result)
+
+            return new ModelAndView(viewName, finalModel)
+        }
+        else if(result instanceof ModelAndView) {
+            return (ModelAndView) result
+        } else if(result == null &&
+                  webRequest.renderView) {
+            return new ModelAndView(controllerClass.actionUriToViewName(action))
+        }
+        return null
+    }
+
+    private static Object invokeInstrumented(GrailsControllerClass controllerClass, Object controller, String action) {
+        DispatchInstrumentation.Sample sample = DispatchInstrumentation.start(DispatchPhase.ACTION)
+        try {
+            return controllerClass.invoke(controller, action)
+        }
+        catch (Throwable e) {
+            sample.error(e)
+            throw e
+        }
+        finally {
+            sample.stop()
+        }
+    }
+
     @Override
     long getLastModified(HttpServletRequest request, Object handler) { -1 }
 }
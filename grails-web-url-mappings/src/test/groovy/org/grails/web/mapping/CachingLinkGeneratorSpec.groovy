@@ -100,6 +100,75 @@ class CachingLinkGeneratorSpec extends Specification {
         key == "link[resource:org.grails.web.mapping.CachingLinkGeneratorSpec\$Resource->1, action:bar]"
     }
 
+    void "test structural key"() {
+        given:
+        request.setControllerNamespace("fooReq")
+        request.setControllerName("foo")
+        Map params = [q: "grails", page: 2]
+
+        when: "the key is created"
+        def key = linkGenerator.makeStructuralKey([action: "bar", params: params])
+
+        then: "equal attributes create equal keys"
+        key == linkGenerator.makeStructuralKey([action: "bar", params: [q: "grails", page: 2]])
+        key.hashCode() == linkGenerator.makeStructuralKey([action: "bar", params: [q: "grails", page: 2]]).hashCode()
+        key == linkGenerator.makeStructuralKey([params: [q: "grails", page: 2], controller: "foo", action: "bar"])
+
+        and: "the order of the params matters since it determines the query string"
+        key != linkGenerator.makeStructuralKey([action: "bar", params: [page: 2, q: "grails"]])
+
+        and: "the request namespace is part of the key"
+        key != linkGenerator.makeStructuralKey([controller: "foo", action: "bar", namespace: "other", params: params])
+
+        when: "the params are changed after the key was created"
+        def copy = linkGenerator.makeStructuralKey([action: "bar", params: params])
+        params.page = 3
+
+        then: "the key doesn't change"
+        key == copy
+        key != linkGenerator.makeStructuralKey([action: "bar", params: params])
+    }
+
+    void "test cached links"() {
+        given:
+        linkGenerator.recordStats = true
+
+        when: "the same link is created twice"
+        String first = linkGenerator.link(uri: "/foo", params: [q: "grails"])
+        String second = linkGenerator.link(uri: "/foo", params: [q: "grails"])
+
+        then: "the second link is cached"
+        first.endsWith("/foo?q=grails")
+        second == first
+        linkGenerator.linkCache.stats().hitCount() == 1
+        linkGenerator.linkCache.stats().missCount() == 1
+
+        when: "String keys are used"
+        linkGenerator.keyStrategy = CachingLinkGenerator.KeyStrategy.STRING
+        linkGenerator.link(uri: "/foo", params: [q: "grails"])
+
+        then: "the link is cached by the String key"
+        linkGenerator.linkCache.asMap().keySet() == ["link[uri:/foo, params:[q:grails]]"] as Set
+    }
+
+    void "test maximum size and weight"() {
+        when: "the maximum size is set"
+        linkGenerator.maximumSize = 2
+        (1..10).each { linkGenerator.link(uri: "/foo/$it") }
+        linkGenerator.linkCache.cleanUp()
+
+        then: "the cache is bounded by the number of links"
+        linkGenerator.linkCache.estimatedSize() <= 2
+
+        when: "the maximum weight is set"
+        linkGenerator.maximumWeight = 14
+        (1..10).each { linkGenerator.link(uri: "/foo/$it") }
+        linkGenerator.linkCache.cleanUp()
+
+        then: "the cache is bounded by the length of the links"
+        linkGenerator.linkCache.policy().eviction().get().weightedSize().asLong <= 14
+    }
+
 
     class MyCachingLinkGenerator extends CachingLinkGenerator {
         public MyCachingLinkGenerator(String serverBaseURL) {
@@ -109,6 +178,10 @@ class CachingLinkGeneratorSpec extends Specification {
         String makeKey(Map attrs) {
             super.makeKey(LINK_PREFIX, attrs)
         }
+
+        Object makeStructuralKey(Map attrs) {
+            super.makeStructuralKey(LINK_PREFIX, attrs)
+        }
     }
 
     class Resource {
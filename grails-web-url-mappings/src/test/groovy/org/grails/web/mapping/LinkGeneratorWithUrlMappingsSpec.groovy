@@ -70,4 +70,30 @@ class LinkGeneratorWithUrlMappingsSpec extends Specification{
         then:
             uri == "$baseUrl/$path"
     }
+
+    void "links appended to a target are the same as created links"() {
+        given:
+            context = "/bar"
+            mappings = {
+                "/book/$id/$title?(.$format)?"(controller: 'book', action: 'show')
+                "/files/$path**"(controller: 'file', action: 'download')
+            }
+            def generator = getGenerator()
+
+        when:
+            def target = new StringBuilder('<a href="')
+            generator.appendLink(attrs, 'UTF-8', target)
+
+        then:
+            target.toString() == '<a href="' + generator.link(attrs)
+            generator.link(attrs) == expected
+
+        where:
+            attrs                                                                                                    | expected
+            [controller: 'book', action: 'show', id: 1]                                                              | '/bar/book/1'
+            [controller: 'book', action: 'show', id: 1, params: [title: 'intro', format: 'json']]                    | '/bar/book/1/intro.json'
+            [controller: 'book', action: 'show', id: 1, params: [q: 'x y', tag: ['a', 'b&c']], fragment: 'top part'] | '/bar/book/1?q=x+y&tag=a&tag=b%26c#top+part'
+            [controller: 'file', action: 'download', params: [path: 'docs/read me.txt']]                            | '/bar/files/docs/read%20me.txt'
+            [uri: '/static/page', params: [a: '1', b: 'c d']]                                                        | '/bar/static/page?a=1&b=c+d'
+    }
 }
@@ -0,0 +1,73 @@
+package org.grails.web.mapping
+
+import grails.web.mapping.AbstractUrlMappingsSpec
+import grails.web.mapping.UrlMapping
+import grails.web.mapping.UrlMappingInfo
+import spock.lang.Unroll
+
+class UrlMappingTrieSpec extends AbstractUrlMappingsSpec {
+
+    static final Closure MAPPINGS = {
+        "/"(view: "/index")
+        "/books"(controller: "book", action: "index", method: "GET")
+        "/books"(controller: "book", action: "save", method: "POST")
+        "/books/$id"(controller: "book", action: "show")
+        "/books/$id/edit"(controller: "book", action: "edit")
+        "/books/$id(.$format)?"(controller: "book", action: "show")
+        "/list/type/${type}_filter"(controller: "index", action: "index")
+        "/authors/$id?"(controller: "author", action: "show")
+        "/files/$path**"(controller: "file", action: "download")
+        "/api/v1/**"(controller: "api")
+        "/$controller/$action?/$id?(.$format)?"()
+        "500"(view: "/error")
+    }
+
+    @Unroll
+    void "Test that the segment trie returns the same matches as a linear scan for #uri"() {
+        given:
+        DefaultUrlMappingsHolder holder = (DefaultUrlMappingsHolder) getUrlMappingsHolder(MAPPINGS)
+
+        expect:
+        holder.matchAll(uri, UrlMapping.ANY_HTTP_METHOD, UrlMapping.ANY_VERSION).toList() == linearMatchAll(holder, uri)
+
+        where:
+        uri << ['/', '', '/books', '/books/', '/books/1', '/books/1.json', '/books/1/edit', '/list/type/x_filter',
+                '/authors', '/authors/', '/authors/2', '/files/a/b/c.txt', '/api/v1/things/1', '/book/show/1',
+                '/unknown/path/that/is/deep', '//', '/books//1']
+    }
+
+    void "Test that candidates are returned in ascending mapping order"() {
+        given:
+        DefaultUrlMappingsHolder holder = (DefaultUrlMappingsHolder) getUrlMappingsHolder(MAPPINGS)
+        UrlMappingTrie trie = UrlMappingTrie.build(holder.urlMappings)
+
+        when:
+        int[] candidates = trie.candidates('/books/1')
+
+        then:
+        candidates.toList() == candidates.toList().sort()
+        candidates.toList().unique().size() == candidates.length
+        !candidates.any { holder.urlMappings[it] instanceof ResponseCodeUrlMapping }
+    }
+
+    void "Test segment classification"() {
+        expect:
+        UrlMappingTrie.classify(token) == type
+
+        where:
+        token          | type
+        'books'        | UrlMappingTrie.SegmentType.STATIC
+        'robots.txt'   | UrlMappingTrie.SegmentType.STATIC
+        '(*)'          | UrlMappingTrie.SegmentType.WILDCARD
+        '(*)_filter'   | UrlMappingTrie.SegmentType.WILDCARD
+        '(*)(.(*))'    | UrlMappingTrie.SegmentType.WILDCARD
+        '(*)?'         | UrlMappingTrie.SegmentType.TAIL
+        '(**)'         | UrlMappingTrie.SegmentType.TAIL
+        '**'           | UrlMappingTrie.SegmentType.TAIL
+        ''             | UrlMappingTrie.SegmentType.TAIL
+    }
+
+    private static List<UrlMappingInfo> linearMatchAll(DefaultUrlMappingsHolder holder, String uri) {
+        holder.urlMappings.collect { UrlMapping mapping -> mapping.match(uri) }.findAll { it != null }
+    }
+}
@@ -0,0 +1,43 @@
+package org.grails.web.mapping
+
+import spock.lang.Specification
+
+class UrlTemplateSpec extends Specification {
+
+    void "tokens are compiled into segments"() {
+        when:
+        def template = UrlTemplate.compile(['book', '(*)', '(*)-(*)?', '(*)?'] as String[], true)
+        def segments = template.segments
+
+        then:
+        segments*.type == [UrlTemplate.LITERAL, UrlTemplate.WILDCARDS, UrlTemplate.WILDCARDS, UrlTemplate.EXTENSION]
+        segments[0].parts == ['/book'] as String[]
+        segments[1].singleWildcard
+        segments[1].constraintIndex == 0
+        segments[2].parts == ['', '-', ''] as String[]
+        !segments[2].singleWildcard
+        segments[2].constraintIndex == 1
+        segments[3].capturedWildcard
+        segments[3].constraintIndex == 3
+        segments[3].constraintCount == 2
+        segments[3].parts == ['', ''] as String[]
+    }
+
+    void "strings are encoded like URLEncoder"() {
+        expect:
+        UrlTemplate.encodeQueryComponent(value, 'UTF-8') == URLEncoder.encode(value, 'UTF-8')
+        UrlTemplate.encodePathSegment(value, 'UTF-8') == URLEncoder.encode(value, 'UTF-8').replace('+', '%20')
+
+        where:
+        value << ['', 'abc-DEF_1.2*', 'a b', 'a+b', 'ä/ö?', 'x=y&z', '~']
+    }
+
+    void "strings that don't need to be encoded are returned as they are"() {
+        given:
+        def value = new String('safe-value_1.0')
+
+        expect:
+        UrlTemplate.encodePathSegment(value, 'UTF-8').is(value)
+        UrlTemplate.encodeQueryComponent(value, 'UTF-8').is(value)
+    }
+}